@@ -2,7 +2,9 @@ package com.chantierpro.controller;
 
 import com.chantierpro.entity.Category;
 import com.chantierpro.dto.CategoryDTO;
+import com.chantierpro.dto.TeamAssignmentResultDTO;
 import com.chantierpro.service.CategoryService;
+import com.chantierpro.service.TeamAssignmentService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -18,6 +20,9 @@ public class CategoryController {
     @Autowired
     private CategoryService categoryService;
 
+    @Autowired
+    private TeamAssignmentService teamAssignmentService;
+
     @GetMapping
     public ResponseEntity<List<Category>> getAllCategories(@RequestParam(required = false) Long villaId) {
         List<Category> categories;
@@ -109,4 +114,16 @@ public class CategoryController {
             return ResponseEntity.notFound().build();
         }
     }
+
+    /**
+     * Assigns the best free team of the specialty to every task of the category without a team.
+     */
+    @PostMapping("/{id}/assign-teams")
+    public ResponseEntity<TeamAssignmentResultDTO> assignTeams(@PathVariable Long id, @RequestParam String specialty) {
+        try {
+            return ResponseEntity.ok(teamAssignmentService.assignTeamsToCategory(id, specialty));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.chantierpro.controller;
+
+import com.chantierpro.entity.ProjectSummary;
+import com.chantierpro.service.ProjectSummaryService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/dashboard")
+@CrossOrigin(origins = "http://localhost:3000")
+public class DashboardController {
+
+    @Autowired
+    private ProjectSummaryService projectSummaryService;
+
+    /**
+     * Portfolio view: progress, villa and delay counts, total and paid amounts for every project,
+     * read from the project_summary table only.
+     */
+    @GetMapping("/projects")
+    public ResponseEntity<List<ProjectSummary>> getProjectSummaries() {
+        return ResponseEntity.ok(projectSummaryService.getAllSummaries());
+    }
+
+    @PostMapping("/projects/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuildProjectSummaries() {
+        int projects = projectSummaryService.rebuild();
+        return ResponseEntity.ok(Map.of("projects", projects));
+    }
+}
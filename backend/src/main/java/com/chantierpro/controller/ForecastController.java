@@ -0,0 +1,39 @@
+package com.chantierpro.controller;
+
+import com.chantierpro.dto.ProjectForecastDTO;
+import com.chantierpro.service.ForecastService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/forecasts")
+@CrossOrigin(origins = "http://localhost:3000")
+public class ForecastController {
+
+    @Autowired
+    private ForecastService forecastService;
+
+    /**
+     * Optimistic, expected and pessimistic completion dates of every active project and its villas.
+     */
+    @GetMapping("/projects")
+    public ResponseEntity<List<ProjectForecastDTO>> getActiveProjectForecasts() {
+        return ResponseEntity.ok(forecastService.getActiveProjectForecasts());
+    }
+
+    @GetMapping("/projects/{projectId}")
+    public ResponseEntity<ProjectForecastDTO> getProjectForecast(@PathVariable Long projectId) {
+        return forecastService.getProjectForecast(projectId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refreshForecasts() {
+        forecastService.refreshAll();
+        return ResponseEntity.ok().build();
+    }
+}
@@ -0,0 +1,66 @@
+package com.chantierpro.controller;
+
+import com.chantierpro.dto.ProgressSeriesDTO;
+import com.chantierpro.entity.ProgressSnapshot;
+import com.chantierpro.service.ProgressHistoryService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Burn-up chart data read from the progress_snapshots table only.
+ * Ranges default to the last 90 days and are limited to 2 years.
+ */
+@RestController
+@RequestMapping("/progress-history")
+@CrossOrigin(origins = "http://localhost:3000")
+public class ProgressHistoryController {
+
+    private static final long MAX_RANGE_DAYS = 731;
+
+    @Autowired
+    private ProgressHistoryService progressHistoryService;
+
+    @GetMapping("/{entityType}/{entityId}")
+    public ResponseEntity<ProgressSeriesDTO> getSeries(
+            @PathVariable ProgressSnapshot.EntityType entityType,
+            @PathVariable Long entityId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(90);
+        if (start.isAfter(end) || ChronoUnit.DAYS.between(start, end) > MAX_RANGE_DAYS) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(progressHistoryService.getSeries(entityType, entityId, start, end));
+    }
+
+    /**
+     * Series of all villas of a project (childType=VILLA) or all categories of a villa (childType=CATEGORY).
+     */
+    @GetMapping("/{childType}/parent/{parentId}")
+    public ResponseEntity<List<ProgressSeriesDTO>> getChildSeries(
+            @PathVariable ProgressSnapshot.EntityType childType,
+            @PathVariable Long parentId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(90);
+        if (childType == ProgressSnapshot.EntityType.PROJECT || start.isAfter(end)
+                || ChronoUnit.DAYS.between(start, end) > MAX_RANGE_DAYS) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(progressHistoryService.getChildSeries(childType, parentId, start, end));
+    }
+
+    @PostMapping("/snapshots")
+    public ResponseEntity<Map<String, Integer>> takeSnapshots() {
+        return ResponseEntity.ok(Map.of("rows", progressHistoryService.takeSnapshots()));
+    }
+}
@@ -1,13 +1,31 @@
 package com.chantierpro.controller;
 
+import com.chantierpro.dto.DeletionJobDTO;
+import com.chantierpro.dto.ProjectEvmDTO;
+import com.chantierpro.dto.TeamConflictDTO;
+import com.chantierpro.entity.EvmSnapshot;
 import com.chantierpro.entity.Project;
+import com.chantierpro.service.EvmService;
+import com.chantierpro.service.ProjectDeletionJobService;
 import com.chantierpro.service.ProjectService;
+import com.chantierpro.service.ProjectSnapshotService;
+import com.chantierpro.service.TeamAvailabilityService;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/projects")
@@ -17,6 +35,18 @@ public class ProjectController {
     @Autowired
     private ProjectService projectService;
 
+    @Autowired
+    private ProjectDeletionJobService projectDeletionJobService;
+
+    @Autowired
+    private ProjectSnapshotService projectSnapshotService;
+
+    @Autowired
+    private EvmService evmService;
+
+    @Autowired
+    private TeamAvailabilityService teamAvailabilityService;
+
     @GetMapping
     public ResponseEntity<List<Project>> getAllProjects() {
         List<Project> projects = projectService.getAllProjects();
@@ -47,15 +77,103 @@ public class ProjectController {
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> deleteProject(@PathVariable Long id) {
+    public ResponseEntity<?> deleteProject(@PathVariable Long id, @RequestParam(defaultValue = "false") boolean purge) {
         try {
+            // Soft delete returns immediately; rows are purged off-peak unless purge=true
+            // starts a background job right away (poll /projects/deletion-jobs/{jobId})
             projectService.deleteProject(id);
+            if (purge) {
+                DeletionJobDTO job = projectDeletionJobService.submit(id);
+                return ResponseEntity.accepted().body(job);
+            }
             return ResponseEntity.ok().build();
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
     }
 
+    @GetMapping("/deletion-jobs/{jobId}")
+    public ResponseEntity<DeletionJobDTO> getDeletionJob(@PathVariable String jobId) {
+        return projectDeletionJobService.getJob(jobId)
+                .map(job -> ResponseEntity.ok().body(job))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Streams a JSON snapshot of the project (villas, categories, tasks, team and template links).
+     */
+    @GetMapping("/{id}/snapshot")
+    public ResponseEntity<StreamingResponseBody> exportSnapshot(@PathVariable Long id) {
+        if (projectService.getProjectById(id).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        StreamingResponseBody body = out -> projectSnapshotService.writeSnapshot(id, out);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"project-" + id + ".json\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    /**
+     * Creates a new project from a snapshot sent as the raw request body.
+     * With reset=true (default) the copy starts from scratch, which is how projects are cloned;
+     * reset=false restores progress and payment flags, for backups.
+     */
+    @PostMapping("/snapshot")
+    public ResponseEntity<?> importSnapshot(@RequestParam(required = false) String name,
+                                            @RequestParam(defaultValue = "true") boolean reset,
+                                            HttpServletRequest request) throws IOException {
+        try {
+            Project project = projectSnapshotService.importSnapshot(request.getInputStream(), name, reset);
+            return ResponseEntity.status(HttpStatus.CREATED).body(project);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (JsonProcessingException e) {
+            return ResponseEntity.badRequest().body("Malformed snapshot: " + e.getOriginalMessage());
+        }
+    }
+
+    /**
+     * Earned-value metrics (PV, EV, AC, SPI, CPI, EAC) of the project with villa and team
+     * breakdowns, as of the given date (today by default).
+     */
+    @GetMapping("/{id}/evm")
+    public ResponseEntity<ProjectEvmDTO> getProjectEvm(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf) {
+        if (projectService.getProjectById(id).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(evmService.getProjectEvm(id, asOf != null ? asOf : LocalDate.now()));
+    }
+
+    /**
+     * Daily EVM snapshots for trend charts; the last 90 days by default.
+     */
+    @GetMapping("/{id}/evm/history")
+    public ResponseEntity<List<EvmSnapshot>> getProjectEvmHistory(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "PROJECT") EvmSnapshot.Scope scope,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(90);
+        return ResponseEntity.ok(evmService.getHistory(id, scope, start, end));
+    }
+
+    @PostMapping("/evm/snapshots")
+    public ResponseEntity<Map<String, Integer>> takeEvmSnapshots() {
+        return ResponseEntity.ok(Map.of("rows", evmService.takeSnapshots()));
+    }
+
+    /**
+     * Teams booked on overlapping planned dates by a task of this project and another task.
+     */
+    @GetMapping("/{id}/team-conflicts")
+    public ResponseEntity<List<TeamConflictDTO>> getTeamConflicts(@PathVariable Long id) {
+        return ResponseEntity.ok(teamAvailabilityService.getProjectConflicts(id));
+    }
+
     @GetMapping("/search")
     public ResponseEntity<List<Project>> searchProjects(@RequestParam String q) {
         List<Project> projects = projectService.searchProjects(q);
@@ -71,7 +189,7 @@ public class ProjectController {
     @PutMapping("/{id}/stats")
     public ResponseEntity<?> updateProjectStats(@PathVariable Long id) {
         try {
-            projectService.updateProjectStats(id);
+            projectService.updateProjectStatsAndRecountTasks(id);
             return ResponseEntity.ok().build();
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
@@ -0,0 +1,48 @@
+package com.chantierpro.controller;
+
+import com.chantierpro.entity.DeletionLog;
+import com.chantierpro.service.DeletionLogService;
+import com.chantierpro.service.SyncService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/sync")
+@CrossOrigin(origins = "http://localhost:3000")
+public class SyncController {
+
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private DeletionLogService deletionLogService;
+
+    /**
+     * Incremental change feed for offline clients. Clients store the returned
+     * {@code watermark} and send it back as {@code since} on the next call.
+     */
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> getChanges(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestParam(required = false) Long projectId) {
+        StreamingResponseBody body = out -> syncService.writeChanges(since, projectId, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    @GetMapping("/deletions")
+    public ResponseEntity<List<DeletionLog>> getDeletions(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestParam(required = false) Long projectId) {
+        List<DeletionLog> deletions = deletionLogService.getDeletionsSince(projectId, since);
+        return ResponseEntity.ok(deletions);
+    }
+}
@@ -1,14 +1,31 @@
 package com.chantierpro.controller;
 
+import com.chantierpro.dto.ProjectFinancialsDTO;
+import com.chantierpro.dto.TaskGenerationResultDTO;
+import com.chantierpro.dto.TaskImportResultDTO;
 import com.chantierpro.entity.Task;
+import com.chantierpro.entity.TaskDependency;
 import com.chantierpro.entity.TaskTemplate;
+import com.chantierpro.service.ProjectFinancialsService;
+import com.chantierpro.service.SchedulingService;
+import com.chantierpro.service.TaskExportService;
+import com.chantierpro.service.TaskImportService;
 import com.chantierpro.service.TaskService;
 import com.chantierpro.service.TaskTemplateService;
+import com.chantierpro.service.TeamTaskGenerationService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -23,6 +40,21 @@ public class TaskController {
     @Autowired
     private TaskTemplateService taskTemplateService;
 
+    @Autowired
+    private TaskExportService taskExportService;
+
+    @Autowired
+    private TaskImportService taskImportService;
+
+    @Autowired
+    private ProjectFinancialsService projectFinancialsService;
+
+    @Autowired
+    private SchedulingService schedulingService;
+
+    @Autowired
+    private TeamTaskGenerationService teamTaskGenerationService;
+
     @GetMapping
     public ResponseEntity<List<Task>> getAllTasks(@RequestParam(required = false) Long categoryId) {
         List<Task> tasks;
@@ -34,6 +66,53 @@ public class TaskController {
         return ResponseEntity.ok(tasks);
     }
 
+    /**
+     * Streaming export of tasks and payment flags, as CSV (default) or NDJSON.
+     * All filters are optional and combined with AND.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(required = false) Long villaId,
+            @RequestParam(required = false) Long teamId,
+            @RequestParam(required = false) Task.TaskStatus status,
+            @RequestParam(required = false) Boolean isPaid,
+            @RequestParam(required = false) Boolean isReceived) {
+        if ("ndjson".equalsIgnoreCase(format)) {
+            StreamingResponseBody body = out -> taskExportService.writeNdjson(projectId, villaId, teamId, status, isPaid, isReceived, out);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                    .body(body);
+        }
+        if (!"csv".equalsIgnoreCase(format)) {
+            return ResponseEntity.badRequest().build();
+        }
+        StreamingResponseBody body = out -> taskExportService.writeCsv(projectId, villaId, teamId, status, isPaid, isReceived, out);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tasks.csv\"")
+                .contentType(new MediaType("text", "csv"))
+                .body(body);
+    }
+
+    /**
+     * Bulk import of tasks into a project. The request body is the raw CSV (with header row)
+     * or NDJSON document; it is read as a stream, so large files are never fully buffered.
+     */
+    @PostMapping("/import")
+    public ResponseEntity<TaskImportResultDTO> importTasks(
+            @RequestParam Long projectId,
+            @RequestParam(defaultValue = "csv") String format,
+            HttpServletRequest request) throws IOException {
+        if ("ndjson".equalsIgnoreCase(format)) {
+            return ResponseEntity.ok(taskImportService.importNdjson(projectId, request.getInputStream()));
+        }
+        if (!"csv".equalsIgnoreCase(format)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(taskImportService.importCsv(projectId, request.getInputStream()));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Task> getTaskById(@PathVariable Long id) {
         return taskService.getTaskById(id)
@@ -52,10 +131,12 @@ public class TaskController {
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Task> updateTask(@PathVariable Long id, @Valid @RequestBody Task taskDetails) {
+    public ResponseEntity<?> updateTask(@PathVariable Long id, @Valid @RequestBody Task taskDetails) {
         try {
             Task updatedTask = taskService.updateTask(id, taskDetails);
             return ResponseEntity.ok(updatedTask);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
@@ -71,6 +152,40 @@ public class TaskController {
         }
     }
 
+    @GetMapping("/{id}/dependencies")
+    public ResponseEntity<List<TaskDependency>> getTaskDependencies(@PathVariable Long id) {
+        return ResponseEntity.ok(schedulingService.getDependencies(id));
+    }
+
+    /**
+     * Makes the task wait for another one (finish-to-start, optional lag in days).
+     * Rejects links across villas and links that would create a cycle.
+     */
+    @PostMapping("/{id}/dependencies")
+    public ResponseEntity<?> addTaskDependency(
+            @PathVariable Long id,
+            @RequestParam Long predecessorId,
+            @RequestParam(defaultValue = "0") Integer lagDays) {
+        try {
+            TaskDependency dependency = schedulingService.addDependency(id, predecessorId, lagDays);
+            return ResponseEntity.status(HttpStatus.CREATED).body(dependency);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @DeleteMapping("/dependencies/{dependencyId}")
+    public ResponseEntity<?> deleteTaskDependency(@PathVariable Long dependencyId) {
+        try {
+            schedulingService.removeDependency(dependencyId);
+            return ResponseEntity.ok().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     @GetMapping("/villa/{villaId}")
     public ResponseEntity<List<Task>> getTasksByVillaId(@PathVariable Long villaId) {
         List<Task> tasks = taskService.getTasksByVillaId(villaId);
@@ -124,10 +239,14 @@ public class TaskController {
     }
     
     @PostMapping("/generate-from-templates/{teamId}")
-    public ResponseEntity<?> generateTasksFromTemplates(@PathVariable Long teamId) {
+    public ResponseEntity<?> generateTasksFromTemplates(
+            @PathVariable Long teamId,
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(required = false) Long villaId,
+            @RequestParam(required = false) Long categoryId) {
         try {
             System.out.println("Generating tasks from templates for team ID: " + teamId);
-            List<Task> generatedTasks = taskService.generateTasksFromTemplates(teamId);
+            List<Task> generatedTasks = taskService.generateTasksFromTemplates(teamId, projectId, villaId, categoryId);
             return ResponseEntity.ok(generatedTasks);
         } catch (Exception e) {
             System.err.println("Error generating tasks from templates: " + e.getMessage());
@@ -136,6 +255,25 @@ public class TaskController {
         }
     }
 
+    @PostMapping("/generate-from-templates/{teamId}/batch")
+    public ResponseEntity<?> generateTasksFromTemplatesInBatch(
+            @PathVariable Long teamId,
+            @RequestParam(required = false) List<Long> villaIds,
+            @RequestParam(required = false) List<Long> categoryIds,
+            @RequestParam(required = false) String categoryName,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(defaultValue = "false") boolean dryRun) {
+        try {
+            TaskGenerationResultDTO result = teamTaskGenerationService.generate(
+                    teamId, villaIds, categoryIds, categoryName, startDate, dryRun);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     @GetMapping("/status/{status}")
     public ResponseEntity<List<Task>> getTasksByStatus(@PathVariable Task.TaskStatus status) {
         List<Task> tasks = taskService.getTasksByStatus(status);
@@ -193,16 +331,24 @@ public class TaskController {
 
     @GetMapping("/project/{projectId}/amounts")
     public ResponseEntity<Map<String, Double>> getProjectAmounts(@PathVariable Long projectId) {
-        Double totalAmount = taskService.getTotalAmountByProjectId(projectId);
-        Double paidAmount = taskService.getPaidAmountByProjectId(projectId);
+        ProjectFinancialsDTO.Figures totals = projectFinancialsService.getProjectFinancials(projectId).getTotals();
         
         Map<String, Double> amounts = Map.of(
-            "totalAmount", totalAmount != null ? totalAmount : 0.0,
-            "paidAmount", paidAmount != null ? paidAmount : 0.0
+            "totalAmount", totals.getTotalAmount().doubleValue(),
+            "paidAmount", totals.getPaidAmount().doubleValue()
         );
         
         return ResponseEntity.ok(amounts);
     }
+
+    /**
+     * Total, paid, unpaid, received-but-unpaid and per-status amounts of a project,
+     * with the same figures per villa, category and team, from a single grouped query.
+     */
+    @GetMapping("/project/{projectId}/financials")
+    public ResponseEntity<ProjectFinancialsDTO> getProjectFinancials(@PathVariable Long projectId) {
+        return ResponseEntity.ok(projectFinancialsService.getProjectFinancials(projectId));
+    }
     
     // TaskTemplate integration endpoints
     
@@ -9,6 +9,7 @@ import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/task-templates")
@@ -83,4 +84,9 @@ public class TaskTemplateController {
         List<TaskTemplate> templates = teamTaskTemplateService.getTaskTemplatesByTeamId(teamId);
         return ResponseEntity.ok(templates);
     }
+    
+    @GetMapping("/teams")
+    public ResponseEntity<Map<Long, List<TaskTemplate>>> getTaskTemplatesByTeamIds(@RequestParam List<Long> teamIds) {
+        return ResponseEntity.ok(teamTaskTemplateService.getTaskTemplatesByTeamIds(teamIds));
+    }
 }
@@ -1,15 +1,29 @@
 package com.chantierpro.controller;
 
+import com.chantierpro.dto.LeaderboardEntryDTO;
+import com.chantierpro.dto.TeamAvailabilityDTO;
+import com.chantierpro.dto.TeamCalendarDTO;
+import com.chantierpro.dto.TeamCandidateDTO;
+import com.chantierpro.dto.TeamTrendDTO;
 import com.chantierpro.dto.TeamWithTasksDTO;
 import com.chantierpro.entity.Team;
+import com.chantierpro.service.TeamAssignmentService;
+import com.chantierpro.service.TeamAvailabilityService;
+import com.chantierpro.service.TeamCalendarService;
+import com.chantierpro.service.TeamLeaderboardService;
+import com.chantierpro.service.TeamPerformanceHistoryService;
 import com.chantierpro.service.TeamService;
+import com.chantierpro.service.TeamTaskGenerationService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/teams")
@@ -19,6 +33,24 @@ public class TeamController {
     @Autowired
     private TeamService teamService;
 
+    @Autowired
+    private TeamAvailabilityService teamAvailabilityService;
+
+    @Autowired
+    private TeamAssignmentService teamAssignmentService;
+
+    @Autowired
+    private TeamCalendarService teamCalendarService;
+
+    @Autowired
+    private TeamLeaderboardService teamLeaderboardService;
+
+    @Autowired
+    private TeamPerformanceHistoryService teamPerformanceHistoryService;
+
+    @Autowired
+    private TeamTaskGenerationService teamTaskGenerationService;
+
     @GetMapping
     public ResponseEntity<List<Team>> getAllTeams() {
         List<Team> teams = teamService.getAllTeams();
@@ -32,6 +64,75 @@ public class TeamController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Whether the team is free between two dates (inclusive), with the planned tasks in the way.
+     */
+    @GetMapping("/{id}/availability")
+    public ResponseEntity<?> getTeamAvailability(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            TeamAvailabilityDTO availability = teamAvailabilityService.getAvailability(id, from, to);
+            return ResponseEntity.ok(availability);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Best teams of a specialty for a date window: free teams first, then teams already in the
+     * villa, then the least loaded and best performing.
+     */
+    @GetMapping("/available")
+    public ResponseEntity<?> getAvailableTeams(
+            @RequestParam String specialty,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long villaId,
+            @RequestParam(defaultValue = "10") int limit) {
+        try {
+            List<TeamCandidateDTO> teams = teamAssignmentService.findAvailableTeams(specialty, from, to, villaId, limit);
+            return ResponseEntity.ok(teams);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Planned task count per day for one team; load[i] is the day from + i.
+     */
+    @GetMapping("/{id}/calendar")
+    public ResponseEntity<?> getTeamCalendar(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            TeamCalendarDTO calendar = teamCalendarService.getCalendar(id, from, to);
+            return ResponseEntity.ok(calendar);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Same for several teams (all teams when teamIds is omitted), computed from one query.
+     */
+    @GetMapping("/calendar")
+    public ResponseEntity<?> getTeamCalendars(
+            @RequestParam(required = false) List<Long> teamIds,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            List<TeamCalendarDTO> calendars = teamCalendarService.getCalendars(teamIds, from, to);
+            return ResponseEntity.ok(calendars);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @PostMapping
     public ResponseEntity<Team> createTeam(@Valid @RequestBody Team team) {
         Team createdTeam = teamService.createTeam(team);
@@ -46,7 +147,7 @@ public class TeamController {
             System.out.println("Default tasks count: " + 
                              (teamWithTasksDTO.getDefaultTasks() != null ? teamWithTasksDTO.getDefaultTasks().size() : 0));
             
-            Team createdTeam = teamService.createTeamWithDefaultTasks(teamWithTasksDTO);
+            Team createdTeam = teamTaskGenerationService.createTeamWithDefaultTasks(teamWithTasksDTO);
             System.out.println("TeamController: Team created successfully with ID: " + createdTeam.getId());
             return ResponseEntity.ok(createdTeam);
         } catch (Exception e) {
@@ -100,6 +201,49 @@ public class TeamController {
         return ResponseEntity.ok(teams);
     }
 
+    /**
+     * Top teams by performance, served from the in-memory leaderboard.
+     */
+    @GetMapping("/leaderboard")
+    public ResponseEntity<List<LeaderboardEntryDTO>> getLeaderboard(@RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(teamLeaderboardService.getTop(limit));
+    }
+
+    @GetMapping("/{id}/rank")
+    public ResponseEntity<LeaderboardEntryDTO> getTeamRank(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(teamLeaderboardService.getRank(id));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Weekly completed / on-time / late counts of several teams (all teams when teamIds is
+     * omitted); the last 12 weeks by default.
+     */
+    @GetMapping("/performance-history")
+    public ResponseEntity<?> getPerformanceHistory(
+            @RequestParam(required = false) List<Long> teamIds,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusWeeks(11);
+        List<Long> ids = teamIds != null && !teamIds.isEmpty() ? teamIds
+                : teamService.getAllTeams().stream().map(Team::getId).collect(Collectors.toList());
+        try {
+            List<TeamTrendDTO> trends = teamPerformanceHistoryService.getTrends(ids, start, end);
+            return ResponseEntity.ok(trends);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/performance-history/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuildPerformanceHistory() {
+        return ResponseEntity.ok(Map.of("rows", teamPerformanceHistoryService.rebuild()));
+    }
+
     @GetMapping("/stats/performance")
     public ResponseEntity<Map<String, Double>> getPerformanceStats() {
         Double averagePerformance = teamService.getAveragePerformance();
@@ -119,6 +263,14 @@ public class TeamController {
         }
     }
 
+    /**
+     * Recomputes active task counts and performance of all teams with one grouped query.
+     */
+    @PostMapping("/stats/recompute")
+    public ResponseEntity<Map<String, Integer>> recomputeTeamStats() {
+        return ResponseEntity.ok(Map.of("teams", teamService.recomputeAllTeamStats()));
+    }
+
     @PutMapping("/{id}/activity")
     public ResponseEntity<Team> updateTeamActivity(@PathVariable Long id) {
         try {
@@ -1,13 +1,21 @@
 package com.chantierpro.controller;
 
+import com.chantierpro.dto.VillaDashboardDTO;
 import com.chantierpro.entity.Villa;
+import com.chantierpro.service.SchedulingService;
+import com.chantierpro.service.VillaCloneService;
 import com.chantierpro.service.VillaService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/villas")
@@ -17,6 +25,12 @@ public class VillaController {
     @Autowired
     private VillaService villaService;
 
+    @Autowired
+    private VillaCloneService villaCloneService;
+
+    @Autowired
+    private SchedulingService schedulingService;
+
     @GetMapping
     public ResponseEntity<List<Villa>> getAllVillas(@RequestParam(required = false) Long projectId) {
         List<Villa> villas;
@@ -65,6 +79,51 @@ public class VillaController {
         }
     }
 
+    /**
+     * Villa stats, categories and tasks grouped by category in a single call.
+     * fields is an optional comma-separated subset of villa,categories,tasks (all by default).
+     */
+    @GetMapping("/{id}/dashboard")
+    public ResponseEntity<VillaDashboardDTO> getVillaDashboard(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "villa,categories,tasks") String fields) {
+        Set<String> sections = Arrays.stream(fields.split(","))
+                .map(field -> field.trim().toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+        try {
+            return ResponseEntity.ok(villaService.getVillaDashboard(id, sections));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Critical-path schedule of the villa's tasks: early/late dates, slack and critical flag.
+     */
+    @GetMapping("/{id}/schedule")
+    public ResponseEntity<?> getVillaSchedule(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(schedulingService.getVillaSchedule(id));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Creates count copies of the villa with its categories and tasks, reset to a fresh start.
+     */
+    @PostMapping("/{id}/clone")
+    public ResponseEntity<?> cloneVilla(@PathVariable Long id, @RequestParam(defaultValue = "1") int count) {
+        try {
+            List<Villa> clones = villaCloneService.cloneVilla(id, count);
+            return ResponseEntity.status(HttpStatus.CREATED).body(clones);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     @GetMapping("/search")
     public ResponseEntity<List<Villa>> searchVillas(
             @RequestParam(required = false) Long projectId,
@@ -0,0 +1,84 @@
+package com.chantierpro.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a background project deletion.
+ */
+public class DeletionJobDTO {
+
+    public enum Status {
+        PENDING, RUNNING, COMPLETED, FAILED
+    }
+
+    private String id;
+    private Long projectId;
+    private volatile Status status = Status.PENDING;
+    private volatile int totalVillas;
+    private volatile int deletedVillas;
+    private volatile String error;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+    private volatile LocalDateTime finishedAt;
+
+    public DeletionJobDTO(String id, Long projectId) {
+        this.id = id;
+        this.projectId = projectId;
+    }
+
+    // Getters and setters
+    public String getId() {
+        return id;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public int getTotalVillas() {
+        return totalVillas;
+    }
+
+    public void setTotalVillas(int totalVillas) {
+        this.totalVillas = totalVillas;
+    }
+
+    public int getDeletedVillas() {
+        return deletedVillas;
+    }
+
+    public void setDeletedVillas(int deletedVillas) {
+        this.deletedVillas = deletedVillas;
+    }
+
+    public int getProgress() {
+        return totalVillas > 0 ? (deletedVillas * 100) / totalVillas : (status == Status.COMPLETED ? 100 : 0);
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+}
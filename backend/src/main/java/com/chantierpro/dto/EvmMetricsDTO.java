@@ -0,0 +1,104 @@
+package com.chantierpro.dto;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Earned-value figures for a set of tasks, accumulated one task at a time.
+ *
+ * BAC (budget at completion) is the sum of task amounts; PV (planned value) spreads each
+ * amount linearly over its planned dates up to the reference date; EV (earned value) is
+ * amount x progress. Tasks carry no actual cost, so AC uses the amount already paid.
+ * SPI = EV / PV, CPI = EV / AC and EAC (estimate at completion) = BAC / CPI; ratios are
+ * null while their denominator is zero, and EAC then falls back to BAC.
+ */
+public class EvmMetricsDTO {
+
+    private static final int AMOUNT_SCALE = 2;
+    private static final int INDEX_SCALE = 4;
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private long tasksCount;
+    private BigDecimal budgetAtCompletion = BigDecimal.ZERO;
+    private BigDecimal plannedValue = BigDecimal.ZERO;
+    private BigDecimal earnedValue = BigDecimal.ZERO;
+    private BigDecimal actualCost = BigDecimal.ZERO;
+
+    public void add(EvmTaskRow task, LocalDate asOf) {
+        tasksCount++;
+        BigDecimal amount = task.getAmount();
+        if (amount == null || amount.signum() == 0) {
+            return;
+        }
+        budgetAtCompletion = budgetAtCompletion.add(amount);
+        plannedValue = plannedValue.add(amount.multiply(plannedFraction(task.getPlannedStartDate(), task.getPlannedEndDate(), asOf)));
+        int progress = task.getProgress() != null ? Math.max(0, Math.min(100, task.getProgress())) : 0;
+        earnedValue = earnedValue.add(amount.multiply(BigDecimal.valueOf(progress)).divide(HUNDRED));
+        if (Boolean.TRUE.equals(task.getIsPaid())) {
+            actualCost = actualCost.add(amount);
+        }
+    }
+
+    /**
+     * Share of the task's planned duration elapsed at the reference date, between 0 and 1.
+     */
+    static BigDecimal plannedFraction(LocalDate start, LocalDate end, LocalDate asOf) {
+        if (start == null || end == null || asOf.isBefore(start)) {
+            return BigDecimal.ZERO;
+        }
+        if (!asOf.isBefore(end)) {
+            return BigDecimal.ONE;
+        }
+        long total = ChronoUnit.DAYS.between(start, end);
+        long elapsed = ChronoUnit.DAYS.between(start, asOf);
+        return BigDecimal.valueOf(elapsed).divide(BigDecimal.valueOf(total), 6, RoundingMode.HALF_UP);
+    }
+
+    public long getTasksCount() { return tasksCount; }
+
+    public BigDecimal getBudgetAtCompletion() { return budgetAtCompletion.setScale(AMOUNT_SCALE, RoundingMode.HALF_UP); }
+
+    public BigDecimal getPlannedValue() { return plannedValue.setScale(AMOUNT_SCALE, RoundingMode.HALF_UP); }
+
+    public BigDecimal getEarnedValue() { return earnedValue.setScale(AMOUNT_SCALE, RoundingMode.HALF_UP); }
+
+    public BigDecimal getActualCost() { return actualCost.setScale(AMOUNT_SCALE, RoundingMode.HALF_UP); }
+
+    public BigDecimal getScheduleVariance() { return getEarnedValue().subtract(getPlannedValue()); }
+
+    public BigDecimal getCostVariance() { return getEarnedValue().subtract(getActualCost()); }
+
+    public BigDecimal getSchedulePerformanceIndex() { return ratio(earnedValue, plannedValue); }
+
+    public BigDecimal getCostPerformanceIndex() { return ratio(earnedValue, actualCost); }
+
+    public BigDecimal getEstimateAtCompletion() {
+        BigDecimal cpi = getCostPerformanceIndex();
+        if (cpi == null || cpi.signum() == 0) {
+            return getBudgetAtCompletion();
+        }
+        return budgetAtCompletion.divide(cpi, AMOUNT_SCALE, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal ratio(BigDecimal numerator, BigDecimal denominator) {
+        return denominator.signum() == 0 ? null : numerator.divide(denominator, INDEX_SCALE, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Metrics of one villa or team.
+     */
+    public static class Breakdown extends EvmMetricsDTO {
+        private final Long id;
+        private final String name;
+
+        public Breakdown(Long id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        public Long getId() { return id; }
+        public String getName() { return name; }
+    }
+}
@@ -0,0 +1,53 @@
+package com.chantierpro.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * The task columns earned-value metrics need, read by a streaming constructor-expression query.
+ */
+public class EvmTaskRow {
+    private final Long projectId;
+    private final Long villaId;
+    private final String villaName;
+    private final Long teamId;
+    private final String teamName;
+    private final BigDecimal amount;
+    private final Integer progress;
+    private final LocalDate plannedStartDate;
+    private final LocalDate plannedEndDate;
+    private final Boolean isPaid;
+
+    public EvmTaskRow(Long projectId,
+                      Long villaId,
+                      String villaName,
+                      Long teamId,
+                      String teamName,
+                      BigDecimal amount,
+                      Integer progress,
+                      LocalDate plannedStartDate,
+                      LocalDate plannedEndDate,
+                      Boolean isPaid) {
+        this.projectId = projectId;
+        this.villaId = villaId;
+        this.villaName = villaName;
+        this.teamId = teamId;
+        this.teamName = teamName;
+        this.amount = amount;
+        this.progress = progress;
+        this.plannedStartDate = plannedStartDate;
+        this.plannedEndDate = plannedEndDate;
+        this.isPaid = isPaid;
+    }
+
+    public Long getProjectId() { return projectId; }
+    public Long getVillaId() { return villaId; }
+    public String getVillaName() { return villaName; }
+    public Long getTeamId() { return teamId; }
+    public String getTeamName() { return teamName; }
+    public BigDecimal getAmount() { return amount; }
+    public Integer getProgress() { return progress; }
+    public LocalDate getPlannedStartDate() { return plannedStartDate; }
+    public LocalDate getPlannedEndDate() { return plannedEndDate; }
+    public Boolean getIsPaid() { return isPaid; }
+}
@@ -0,0 +1,52 @@
+package com.chantierpro.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Completion forecast of a villa or project, extrapolated from its recent progress velocity.
+ * Dates are null when the entity is completed or has not progressed recently.
+ */
+public class ForecastDTO {
+
+    public enum Status {
+        COMPLETED, ON_TRACK, LATE, STALLED, NO_DATA
+    }
+
+    private final Long id;
+    private final String name;
+    private final int progress;
+    private final LocalDate plannedEndDate;
+    private final BigDecimal velocityPerDay;
+    private final LocalDate optimisticDate;
+    private final LocalDate expectedDate;
+    private final LocalDate pessimisticDate;
+    private final Long delayDays;
+    private final Status status;
+
+    public ForecastDTO(Long id, String name, int progress, LocalDate plannedEndDate, BigDecimal velocityPerDay,
+                       LocalDate optimisticDate, LocalDate expectedDate, LocalDate pessimisticDate,
+                       Long delayDays, Status status) {
+        this.id = id;
+        this.name = name;
+        this.progress = progress;
+        this.plannedEndDate = plannedEndDate;
+        this.velocityPerDay = velocityPerDay;
+        this.optimisticDate = optimisticDate;
+        this.expectedDate = expectedDate;
+        this.pessimisticDate = pessimisticDate;
+        this.delayDays = delayDays;
+        this.status = status;
+    }
+
+    public Long getId() { return id; }
+    public String getName() { return name; }
+    public int getProgress() { return progress; }
+    public LocalDate getPlannedEndDate() { return plannedEndDate; }
+    public BigDecimal getVelocityPerDay() { return velocityPerDay; }
+    public LocalDate getOptimisticDate() { return optimisticDate; }
+    public LocalDate getExpectedDate() { return expectedDate; }
+    public LocalDate getPessimisticDate() { return pessimisticDate; }
+    public Long getDelayDays() { return delayDays; }
+    public Status getStatus() { return status; }
+}
@@ -0,0 +1,36 @@
+package com.chantierpro.dto;
+
+/**
+ * A team's position on the performance leaderboard. Teams with the same performance share a rank.
+ */
+public class LeaderboardEntryDTO {
+    private final int rank;
+    private final Long teamId;
+    private final String name;
+    private final String specialty;
+    private final int performance;
+    private final long completedTasks;
+    private final long totalTasks;
+    private final long activeTasks;
+
+    public LeaderboardEntryDTO(int rank, Long teamId, String name, String specialty, int performance,
+                               long completedTasks, long totalTasks, long activeTasks) {
+        this.rank = rank;
+        this.teamId = teamId;
+        this.name = name;
+        this.specialty = specialty;
+        this.performance = performance;
+        this.completedTasks = completedTasks;
+        this.totalTasks = totalTasks;
+        this.activeTasks = activeTasks;
+    }
+
+    public int getRank() { return rank; }
+    public Long getTeamId() { return teamId; }
+    public String getName() { return name; }
+    public String getSpecialty() { return specialty; }
+    public int getPerformance() { return performance; }
+    public long getCompletedTasks() { return completedTasks; }
+    public long getTotalTasks() { return totalTasks; }
+    public long getActiveTasks() { return activeTasks; }
+}
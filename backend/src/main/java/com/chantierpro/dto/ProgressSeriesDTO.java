@@ -0,0 +1,48 @@
+package com.chantierpro.dto;
+
+import com.chantierpro.entity.ProgressSnapshot;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Daily progress series of one entity, ready to plot: one entry per day in the requested range,
+ * values carried forward from the last change and null before the first snapshot.
+ */
+public class ProgressSeriesDTO {
+
+    private final ProgressSnapshot.EntityType entityType;
+    private final Long entityId;
+    private final List<LocalDate> dates = new ArrayList<>();
+    private final List<Integer> progress = new ArrayList<>();
+    private final List<Integer> totalCount = new ArrayList<>();
+    private final List<Integer> completedCount = new ArrayList<>();
+
+    /**
+     * @param rows Snapshot rows of the entity in date order, possibly starting before {@code from}
+     */
+    public ProgressSeriesDTO(ProgressSnapshot.EntityType entityType, Long entityId, List<ProgressSnapshot> rows,
+                             LocalDate from, LocalDate to) {
+        this.entityType = entityType;
+        this.entityId = entityId;
+        int next = 0;
+        ProgressSnapshot current = null;
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            while (next < rows.size() && !rows.get(next).getSnapshotDate().isAfter(day)) {
+                current = rows.get(next++);
+            }
+            dates.add(day);
+            progress.add(current != null ? current.getProgress() : null);
+            totalCount.add(current != null ? current.getTotalCount() : null);
+            completedCount.add(current != null ? current.getCompletedCount() : null);
+        }
+    }
+
+    public ProgressSnapshot.EntityType getEntityType() { return entityType; }
+    public Long getEntityId() { return entityId; }
+    public List<LocalDate> getDates() { return dates; }
+    public List<Integer> getProgress() { return progress; }
+    public List<Integer> getTotalCount() { return totalCount; }
+    public List<Integer> getCompletedCount() { return completedCount; }
+}
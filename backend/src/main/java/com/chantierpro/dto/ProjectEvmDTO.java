@@ -0,0 +1,36 @@
+package com.chantierpro.dto;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Earned-value metrics of a project at a reference date, with villa and team breakdowns.
+ */
+public class ProjectEvmDTO {
+
+    private final Long projectId;
+    private final LocalDate asOf;
+    private final EvmMetricsDTO totals = new EvmMetricsDTO();
+    private final Map<Long, EvmMetricsDTO.Breakdown> villas = new LinkedHashMap<>();
+    private final Map<Long, EvmMetricsDTO.Breakdown> teams = new LinkedHashMap<>();
+
+    public ProjectEvmDTO(Long projectId, LocalDate asOf) {
+        this.projectId = projectId;
+        this.asOf = asOf;
+    }
+
+    public void add(EvmTaskRow task) {
+        totals.add(task, asOf);
+        villas.computeIfAbsent(task.getVillaId(), id -> new EvmMetricsDTO.Breakdown(id, task.getVillaName())).add(task, asOf);
+        // Unassigned tasks are grouped under a null team id
+        teams.computeIfAbsent(task.getTeamId(), id -> new EvmMetricsDTO.Breakdown(id, task.getTeamName())).add(task, asOf);
+    }
+
+    public Long getProjectId() { return projectId; }
+    public LocalDate getAsOf() { return asOf; }
+    public EvmMetricsDTO getTotals() { return totals; }
+    public Collection<EvmMetricsDTO.Breakdown> getVillas() { return villas.values(); }
+    public Collection<EvmMetricsDTO.Breakdown> getTeams() { return teams.values(); }
+}
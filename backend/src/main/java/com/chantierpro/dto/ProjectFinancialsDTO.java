@@ -0,0 +1,73 @@
+package com.chantierpro.dto;
+
+import com.chantierpro.entity.Task;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Financial figures of a project, overall and broken down by villa, category and team.
+ */
+public class ProjectFinancialsDTO {
+
+    private final Long projectId;
+    private final Figures totals = new Figures();
+    private final List<Breakdown> villas = new ArrayList<>();
+    private final List<Breakdown> categories = new ArrayList<>();
+    private final List<Breakdown> teams = new ArrayList<>();
+
+    public ProjectFinancialsDTO(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    public Long getProjectId() { return projectId; }
+    public Figures getTotals() { return totals; }
+    public List<Breakdown> getVillas() { return villas; }
+    public List<Breakdown> getCategories() { return categories; }
+    public List<Breakdown> getTeams() { return teams; }
+
+    /**
+     * Amounts for a set of tasks. Received-but-unpaid is work accepted on site that still has to be paid.
+     */
+    public static class Figures {
+        private long tasksCount;
+        private BigDecimal totalAmount = BigDecimal.ZERO;
+        private BigDecimal paidAmount = BigDecimal.ZERO;
+        private BigDecimal receivedUnpaidAmount = BigDecimal.ZERO;
+        private final Map<Task.TaskStatus, BigDecimal> amountByStatus = new EnumMap<>(Task.TaskStatus.class);
+
+        public void add(TaskAmountGroupRow row) {
+            tasksCount += row.getTasksCount();
+            totalAmount = totalAmount.add(row.getAmount());
+            if (Boolean.TRUE.equals(row.getIsPaid())) {
+                paidAmount = paidAmount.add(row.getAmount());
+            } else if (Boolean.TRUE.equals(row.getIsReceived())) {
+                receivedUnpaidAmount = receivedUnpaidAmount.add(row.getAmount());
+            }
+            amountByStatus.merge(row.getStatus(), row.getAmount(), BigDecimal::add);
+        }
+
+        public long getTasksCount() { return tasksCount; }
+        public BigDecimal getTotalAmount() { return totalAmount; }
+        public BigDecimal getPaidAmount() { return paidAmount; }
+        public BigDecimal getUnpaidAmount() { return totalAmount.subtract(paidAmount); }
+        public BigDecimal getReceivedUnpaidAmount() { return receivedUnpaidAmount; }
+        public Map<Task.TaskStatus, BigDecimal> getAmountByStatus() { return amountByStatus; }
+    }
+
+    public static class Breakdown extends Figures {
+        private final Long id;
+        private final String name;
+
+        public Breakdown(Long id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        public Long getId() { return id; }
+        public String getName() { return name; }
+    }
+}
@@ -0,0 +1,23 @@
+package com.chantierpro.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Completion forecast of a project and each of its villas.
+ */
+public class ProjectForecastDTO {
+
+    private final ForecastDTO project;
+    private final List<ForecastDTO> villas;
+    private final LocalDateTime computedAt = LocalDateTime.now();
+
+    public ProjectForecastDTO(ForecastDTO project, List<ForecastDTO> villas) {
+        this.project = project;
+        this.villas = villas;
+    }
+
+    public ForecastDTO getProject() { return project; }
+    public List<ForecastDTO> getVillas() { return villas; }
+    public LocalDateTime getComputedAt() { return computedAt; }
+}
@@ -0,0 +1,59 @@
+package com.chantierpro.dto;
+
+import com.chantierpro.entity.Task;
+
+import java.math.BigDecimal;
+
+/**
+ * One group of a project's tasks sharing villa, category, team, status and payment flags,
+ * with its task count and summed amount. Built by a JPQL constructor expression.
+ */
+public class TaskAmountGroupRow {
+    private final Long villaId;
+    private final String villaName;
+    private final Long categoryId;
+    private final String categoryName;
+    private final Long teamId;
+    private final String teamName;
+    private final Task.TaskStatus status;
+    private final Boolean isPaid;
+    private final Boolean isReceived;
+    private final long tasksCount;
+    private final BigDecimal amount;
+
+    public TaskAmountGroupRow(Long villaId,
+                              String villaName,
+                              Long categoryId,
+                              String categoryName,
+                              Long teamId,
+                              String teamName,
+                              Task.TaskStatus status,
+                              Boolean isPaid,
+                              Boolean isReceived,
+                              Long tasksCount,
+                              BigDecimal amount) {
+        this.villaId = villaId;
+        this.villaName = villaName;
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+        this.teamId = teamId;
+        this.teamName = teamName;
+        this.status = status;
+        this.isPaid = isPaid;
+        this.isReceived = isReceived;
+        this.tasksCount = tasksCount != null ? tasksCount : 0;
+        this.amount = amount != null ? amount : BigDecimal.ZERO;
+    }
+
+    public Long getVillaId() { return villaId; }
+    public String getVillaName() { return villaName; }
+    public Long getCategoryId() { return categoryId; }
+    public String getCategoryName() { return categoryName; }
+    public Long getTeamId() { return teamId; }
+    public String getTeamName() { return teamName; }
+    public Task.TaskStatus getStatus() { return status; }
+    public Boolean getIsPaid() { return isPaid; }
+    public Boolean getIsReceived() { return isReceived; }
+    public long getTasksCount() { return tasksCount; }
+    public BigDecimal getAmount() { return amount; }
+}
@@ -0,0 +1,149 @@
+package com.chantierpro.dto;
+
+import com.chantierpro.entity.Task;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Flat, read-only view of a task used by the streaming exports.
+ * Built directly by a JPQL constructor expression so no entity is materialised.
+ */
+public class TaskExportRow {
+    private final Long id;
+    private final Long projectId;
+    private final String projectName;
+    private final Long villaId;
+    private final String villaName;
+    private final Long categoryId;
+    private final String categoryName;
+    private final Long teamId;
+    private final String teamName;
+    private final String name;
+    private final Task.TaskStatus status;
+    private final Integer progress;
+    private final LocalDate plannedStartDate;
+    private final LocalDate plannedEndDate;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final BigDecimal amount;
+    private final Boolean isReceived;
+    private final Boolean isPaid;
+
+    public TaskExportRow(Long id,
+                         Long projectId,
+                         String projectName,
+                         Long villaId,
+                         String villaName,
+                         Long categoryId,
+                         String categoryName,
+                         Long teamId,
+                         String teamName,
+                         String name,
+                         Task.TaskStatus status,
+                         Integer progress,
+                         LocalDate plannedStartDate,
+                         LocalDate plannedEndDate,
+                         LocalDate startDate,
+                         LocalDate endDate,
+                         BigDecimal amount,
+                         Boolean isReceived,
+                         Boolean isPaid) {
+        this.id = id;
+        this.projectId = projectId;
+        this.projectName = projectName;
+        this.villaId = villaId;
+        this.villaName = villaName;
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+        this.teamId = teamId;
+        this.teamName = teamName;
+        this.name = name;
+        this.status = status;
+        this.progress = progress;
+        this.plannedStartDate = plannedStartDate;
+        this.plannedEndDate = plannedEndDate;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.amount = amount;
+        this.isReceived = isReceived;
+        this.isPaid = isPaid;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+    
+    public Long getProjectId() {
+        return projectId;
+    }
+    
+    public String getProjectName() {
+        return projectName;
+    }
+    
+    public Long getVillaId() {
+        return villaId;
+    }
+    
+    public String getVillaName() {
+        return villaName;
+    }
+    
+    public Long getCategoryId() {
+        return categoryId;
+    }
+    
+    public String getCategoryName() {
+        return categoryName;
+    }
+    
+    public Long getTeamId() {
+        return teamId;
+    }
+    
+    public String getTeamName() {
+        return teamName;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public Task.TaskStatus getStatus() {
+        return status;
+    }
+    
+    public Integer getProgress() {
+        return progress;
+    }
+    
+    public LocalDate getPlannedStartDate() {
+        return plannedStartDate;
+    }
+    
+    public LocalDate getPlannedEndDate() {
+        return plannedEndDate;
+    }
+    
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+    
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+    
+    public BigDecimal getAmount() {
+        return amount;
+    }
+    
+    public Boolean getIsReceived() {
+        return isReceived;
+    }
+    
+    public Boolean getIsPaid() {
+        return isPaid;
+    }
+}
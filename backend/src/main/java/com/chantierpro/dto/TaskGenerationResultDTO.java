@@ -0,0 +1,57 @@
+package com.chantierpro.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome (or preview, for a dry run) of generating a team's template tasks across categories.
+ */
+public class TaskGenerationResultDTO {
+
+    private final Long teamId;
+    private final boolean dryRun;
+    private int templatesCount;
+    private int tasksCount;
+    private final List<Target> targets = new ArrayList<>();
+    private final List<Long> skippedVillaIds = new ArrayList<>();
+
+    public TaskGenerationResultDTO(Long teamId, boolean dryRun) {
+        this.teamId = teamId;
+        this.dryRun = dryRun;
+    }
+
+    public Long getTeamId() { return teamId; }
+    public boolean isDryRun() { return dryRun; }
+
+    public int getTemplatesCount() { return templatesCount; }
+    public void setTemplatesCount(int templatesCount) { this.templatesCount = templatesCount; }
+
+    /** Tasks created, or that would be created for a dry run. */
+    public int getTasksCount() { return tasksCount; }
+    public void setTasksCount(int tasksCount) { this.tasksCount = tasksCount; }
+
+    /** Categories receiving one task per template. */
+    public List<Target> getTargets() { return targets; }
+
+    /** Requested villas without a matching category. */
+    public List<Long> getSkippedVillaIds() { return skippedVillaIds; }
+
+    public static class Target {
+        private final Long villaId;
+        private final String villaName;
+        private final Long categoryId;
+        private final String categoryName;
+
+        public Target(Long villaId, String villaName, Long categoryId, String categoryName) {
+            this.villaId = villaId;
+            this.villaName = villaName;
+            this.categoryId = categoryId;
+            this.categoryName = categoryName;
+        }
+
+        public Long getVillaId() { return villaId; }
+        public String getVillaName() { return villaName; }
+        public Long getCategoryId() { return categoryId; }
+        public String getCategoryName() { return categoryName; }
+    }
+}
@@ -0,0 +1,63 @@
+package com.chantierpro.dto;
+
+import com.chantierpro.entity.Task;
+
+import java.math.BigDecimal;
+
+/**
+ * What one task adds to its project's summary row. Captured before and after a change, the
+ * difference is the delta the row is patched by (see ProjectSummaryService.applyTaskChange).
+ */
+public class TaskSummaryFigures {
+    private final Long projectId;
+    private final int tasks;
+    private final int completedTasks;
+    private final int delayedTasks;
+    private final BigDecimal totalAmount;
+    private final BigDecimal paidAmount;
+
+    public TaskSummaryFigures(Long projectId,
+                              int tasks,
+                              int completedTasks,
+                              int delayedTasks,
+                              BigDecimal totalAmount,
+                              BigDecimal paidAmount) {
+        this.projectId = projectId;
+        this.tasks = tasks;
+        this.completedTasks = completedTasks;
+        this.delayedTasks = delayedTasks;
+        this.totalAmount = totalAmount;
+        this.paidAmount = paidAmount;
+    }
+
+    public TaskSummaryFigures(Task task) {
+        this(task.getVilla() != null && task.getVilla().getProject() != null ? task.getVilla().getProject().getId() : null,
+                1,
+                task.getStatus() == Task.TaskStatus.COMPLETED ? 1 : 0,
+                task.getStatus() == Task.TaskStatus.DELAYED ? 1 : 0,
+                task.getAmount() != null ? task.getAmount() : BigDecimal.ZERO,
+                Boolean.TRUE.equals(task.getIsPaid()) && task.getAmount() != null ? task.getAmount() : BigDecimal.ZERO);
+    }
+
+    public TaskSummaryFigures plus(TaskSummaryFigures other) {
+        return new TaskSummaryFigures(projectId, tasks + other.tasks, completedTasks + other.completedTasks,
+                delayedTasks + other.delayedTasks, totalAmount.add(other.totalAmount), paidAmount.add(other.paidAmount));
+    }
+
+    public TaskSummaryFigures negate() {
+        return new TaskSummaryFigures(projectId, -tasks, -completedTasks, -delayedTasks,
+                totalAmount.negate(), paidAmount.negate());
+    }
+
+    public boolean isZero() {
+        return tasks == 0 && completedTasks == 0 && delayedTasks == 0
+                && totalAmount.signum() == 0 && paidAmount.signum() == 0;
+    }
+
+    public Long getProjectId() { return projectId; }
+    public int getTasks() { return tasks; }
+    public int getCompletedTasks() { return completedTasks; }
+    public int getDelayedTasks() { return delayedTasks; }
+    public BigDecimal getTotalAmount() { return totalAmount; }
+    public BigDecimal getPaidAmount() { return paidAmount; }
+}
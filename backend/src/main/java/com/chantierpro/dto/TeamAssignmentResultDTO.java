@@ -0,0 +1,43 @@
+package com.chantierpro.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of assigning teams to the unassigned tasks of a category.
+ */
+public class TeamAssignmentResultDTO {
+
+    private final Long categoryId;
+    private final List<Assignment> assignments = new ArrayList<>();
+    private final List<Long> unassignedTaskIds = new ArrayList<>();
+
+    public TeamAssignmentResultDTO(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public Long getCategoryId() { return categoryId; }
+    public List<Assignment> getAssignments() { return assignments; }
+
+    /** Tasks left without a team because no candidate was free on their planned dates. */
+    public List<Long> getUnassignedTaskIds() { return unassignedTaskIds; }
+
+    public static class Assignment {
+        private final Long taskId;
+        private final String taskName;
+        private final Long teamId;
+        private final String teamName;
+
+        public Assignment(Long taskId, String taskName, Long teamId, String teamName) {
+            this.taskId = taskId;
+            this.taskName = taskName;
+            this.teamId = teamId;
+            this.teamName = teamName;
+        }
+
+        public Long getTaskId() { return taskId; }
+        public String getTaskName() { return taskName; }
+        public Long getTeamId() { return teamId; }
+        public String getTeamName() { return teamName; }
+    }
+}
@@ -0,0 +1,29 @@
+package com.chantierpro.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Whether a team is free over a date range, with the bookings that prevent it.
+ */
+public class TeamAvailabilityDTO {
+    private final Long teamId;
+    private final LocalDate from;
+    private final LocalDate to;
+    private final boolean free;
+    private final List<TeamBooking> bookings;
+
+    public TeamAvailabilityDTO(Long teamId, LocalDate from, LocalDate to, List<TeamBooking> bookings) {
+        this.teamId = teamId;
+        this.from = from;
+        this.to = to;
+        this.free = bookings.isEmpty();
+        this.bookings = bookings;
+    }
+
+    public Long getTeamId() { return teamId; }
+    public LocalDate getFrom() { return from; }
+    public LocalDate getTo() { return to; }
+    public boolean isFree() { return free; }
+    public List<TeamBooking> getBookings() { return bookings; }
+}
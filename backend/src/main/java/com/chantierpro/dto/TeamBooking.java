@@ -0,0 +1,49 @@
+package com.chantierpro.dto;
+
+import com.chantierpro.entity.Task;
+
+import java.time.LocalDate;
+
+/**
+ * A team's booking on a task over the task's planned dates.
+ * Built by a JPQL constructor expression or from a saved task.
+ */
+public class TeamBooking {
+    private final Long taskId;
+    private final String taskName;
+    private final Long teamId;
+    private final Long villaId;
+    private final Long projectId;
+    private final LocalDate plannedStartDate;
+    private final LocalDate plannedEndDate;
+
+    public TeamBooking(Long taskId,
+                       String taskName,
+                       Long teamId,
+                       Long villaId,
+                       Long projectId,
+                       LocalDate plannedStartDate,
+                       LocalDate plannedEndDate) {
+        this.taskId = taskId;
+        this.taskName = taskName;
+        this.teamId = teamId;
+        this.villaId = villaId;
+        this.projectId = projectId;
+        this.plannedStartDate = plannedStartDate;
+        this.plannedEndDate = plannedEndDate;
+    }
+
+    public TeamBooking(Task task) {
+        this(task.getId(), task.getName(), task.getTeamId(), task.getVillaId(),
+                task.getVilla() != null && task.getVilla().getProject() != null ? task.getVilla().getProject().getId() : null,
+                task.getPlannedStartDate(), task.getPlannedEndDate());
+    }
+
+    public Long getTaskId() { return taskId; }
+    public String getTaskName() { return taskName; }
+    public Long getTeamId() { return teamId; }
+    public Long getVillaId() { return villaId; }
+    public Long getProjectId() { return projectId; }
+    public LocalDate getPlannedStartDate() { return plannedStartDate; }
+    public LocalDate getPlannedEndDate() { return plannedEndDate; }
+}
@@ -0,0 +1,42 @@
+package com.chantierpro.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Daily workload of a team: load[i] is the number of planned tasks on from + i days.
+ */
+public class TeamCalendarDTO {
+    private final Long teamId;
+    private final String teamName;
+    private final LocalDate from;
+    private final LocalDate to;
+    private final int[] load;
+    private final int peakLoad;
+    private final int busyDays;
+
+    public TeamCalendarDTO(Long teamId, String teamName, LocalDate from, LocalDate to, int[] load) {
+        this.teamId = teamId;
+        this.teamName = teamName;
+        this.from = from;
+        this.to = to;
+        this.load = load;
+        int peak = 0;
+        int busy = 0;
+        for (int tasks : load) {
+            peak = Math.max(peak, tasks);
+            if (tasks > 0) {
+                busy++;
+            }
+        }
+        this.peakLoad = peak;
+        this.busyDays = busy;
+    }
+
+    public Long getTeamId() { return teamId; }
+    public String getTeamName() { return teamName; }
+    public LocalDate getFrom() { return from; }
+    public LocalDate getTo() { return to; }
+    public int[] getLoad() { return load; }
+    public int getPeakLoad() { return peakLoad; }
+    public int getBusyDays() { return busyDays; }
+}
@@ -0,0 +1,47 @@
+package com.chantierpro.dto;
+
+import com.chantierpro.entity.Team;
+
+/**
+ * A team considered for a date window, with the occupancy figures it was ranked on.
+ */
+public class TeamCandidateDTO {
+    private final Long teamId;
+    private final String name;
+    private final String specialty;
+    private final Integer performance;
+    private final int overlappingTasks;
+    private final long overlapDays;
+    private final int openTasks;
+    private final int villaTasks;
+
+    public TeamCandidateDTO(Team team, int overlappingTasks, long overlapDays, int openTasks, int villaTasks) {
+        this.teamId = team.getId();
+        this.name = team.getName();
+        this.specialty = team.getSpecialty();
+        this.performance = team.getPerformance() != null ? team.getPerformance() : 0;
+        this.overlappingTasks = overlappingTasks;
+        this.overlapDays = overlapDays;
+        this.openTasks = openTasks;
+        this.villaTasks = villaTasks;
+    }
+
+    public Long getTeamId() { return teamId; }
+    public String getName() { return name; }
+    public String getSpecialty() { return specialty; }
+    public Integer getPerformance() { return performance; }
+
+    /** Planned tasks of the team sharing days with the window. */
+    public int getOverlappingTasks() { return overlappingTasks; }
+
+    /** Booked task-days inside the window. */
+    public long getOverlapDays() { return overlapDays; }
+
+    /** Planned tasks of the team that have not ended yet (current load). */
+    public int getOpenTasks() { return openTasks; }
+
+    /** Open tasks of the team in the requested villa. */
+    public int getVillaTasks() { return villaTasks; }
+
+    public boolean isFree() { return overlappingTasks == 0; }
+}
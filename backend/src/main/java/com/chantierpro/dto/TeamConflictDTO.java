@@ -0,0 +1,31 @@
+package com.chantierpro.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Two tasks booking the same team on overlapping planned dates.
+ * The conflicting task may belong to another project.
+ */
+public class TeamConflictDTO {
+    private final Long teamId;
+    private final TeamBooking task;
+    private final TeamBooking conflictingTask;
+    private final LocalDate overlapStart;
+    private final LocalDate overlapEnd;
+
+    public TeamConflictDTO(TeamBooking task, TeamBooking conflictingTask) {
+        this.teamId = task.getTeamId();
+        this.task = task;
+        this.conflictingTask = conflictingTask;
+        this.overlapStart = task.getPlannedStartDate().isAfter(conflictingTask.getPlannedStartDate())
+                ? task.getPlannedStartDate() : conflictingTask.getPlannedStartDate();
+        this.overlapEnd = task.getPlannedEndDate().isBefore(conflictingTask.getPlannedEndDate())
+                ? task.getPlannedEndDate() : conflictingTask.getPlannedEndDate();
+    }
+
+    public Long getTeamId() { return teamId; }
+    public TeamBooking getTask() { return task; }
+    public TeamBooking getConflictingTask() { return conflictingTask; }
+    public LocalDate getOverlapStart() { return overlapStart; }
+    public LocalDate getOverlapEnd() { return overlapEnd; }
+}
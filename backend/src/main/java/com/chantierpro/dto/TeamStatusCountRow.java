@@ -0,0 +1,22 @@
+package com.chantierpro.dto;
+
+import com.chantierpro.entity.Task;
+
+/**
+ * Number of tasks of a team in one status. Built by a JPQL constructor expression.
+ */
+public class TeamStatusCountRow {
+    private final Long teamId;
+    private final Task.TaskStatus status;
+    private final long tasksCount;
+
+    public TeamStatusCountRow(Long teamId, Task.TaskStatus status, Long tasksCount) {
+        this.teamId = teamId;
+        this.status = status;
+        this.tasksCount = tasksCount != null ? tasksCount : 0;
+    }
+
+    public Long getTeamId() { return teamId; }
+    public Task.TaskStatus getStatus() { return status; }
+    public long getTasksCount() { return tasksCount; }
+}
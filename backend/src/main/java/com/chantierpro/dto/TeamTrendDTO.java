@@ -0,0 +1,46 @@
+package com.chantierpro.dto;
+
+import com.chantierpro.entity.TeamWeeklyStats;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Weekly completion trend of one team, one entry per week (Monday) in the requested range;
+ * weeks without completions are zero. onTimeRate is null for those weeks.
+ */
+public class TeamTrendDTO {
+
+    private final Long teamId;
+    private final List<LocalDate> weeks = new ArrayList<>();
+    private final List<Integer> completed = new ArrayList<>();
+    private final List<Integer> onTime = new ArrayList<>();
+    private final List<Integer> late = new ArrayList<>();
+    private final List<Integer> onTimeRate = new ArrayList<>();
+
+    /**
+     * @param rows Rows of the team in week order
+     */
+    public TeamTrendDTO(Long teamId, List<TeamWeeklyStats> rows, LocalDate firstWeek, LocalDate lastWeek) {
+        this.teamId = teamId;
+        int next = 0;
+        for (LocalDate week = firstWeek; !week.isAfter(lastWeek); week = week.plusWeeks(1)) {
+            TeamWeeklyStats row = next < rows.size() && rows.get(next).getWeekStart().equals(week) ? rows.get(next++) : null;
+            int done = row != null ? row.getCompletedCount() : 0;
+            int inTime = row != null ? row.getOnTimeCount() : 0;
+            weeks.add(week);
+            completed.add(done);
+            onTime.add(inTime);
+            late.add(row != null ? row.getLateCount() : 0);
+            onTimeRate.add(done > 0 ? inTime * 100 / done : null);
+        }
+    }
+
+    public Long getTeamId() { return teamId; }
+    public List<LocalDate> getWeeks() { return weeks; }
+    public List<Integer> getCompleted() { return completed; }
+    public List<Integer> getOnTime() { return onTime; }
+    public List<Integer> getLate() { return late; }
+    public List<Integer> getOnTimeRate() { return onTimeRate; }
+}
@@ -11,6 +11,11 @@ public class TeamWithTasksDTO {
     private Team team;
     private List<TaskTemplateDTO> defaultTasks;
     
+    // Optional placement of the created tasks (see TaskPlacementService)
+    private Long projectId;
+    private Long villaId;
+    private Long categoryId;
+    
     // Getters and setters
     public Team getTeam() {
         return team;
@@ -27,4 +32,28 @@ public class TeamWithTasksDTO {
     public void setDefaultTasks(List<TaskTemplateDTO> defaultTasks) {
         this.defaultTasks = defaultTasks;
     }
+    
+    public Long getProjectId() {
+        return projectId;
+    }
+    
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+    
+    public Long getVillaId() {
+        return villaId;
+    }
+    
+    public void setVillaId(Long villaId) {
+        this.villaId = villaId;
+    }
+    
+    public Long getCategoryId() {
+        return categoryId;
+    }
+    
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
 }
@@ -0,0 +1,165 @@
+package com.chantierpro.dto;
+
+import com.chantierpro.entity.Category;
+import com.chantierpro.entity.Task;
+import com.chantierpro.entity.Villa;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Everything the villa screen shows, in one response: villa stats, its categories and
+ * their tasks. Sections left out through field filtering are omitted from the JSON.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class VillaDashboardDTO {
+
+    private VillaStats villa;
+    private List<CategoryEntry> categories;
+
+    public VillaStats getVilla() {
+        return villa;
+    }
+
+    public void setVilla(VillaStats villa) {
+        this.villa = villa;
+    }
+
+    public List<CategoryEntry> getCategories() {
+        return categories;
+    }
+
+    public void setCategories(List<CategoryEntry> categories) {
+        this.categories = categories;
+    }
+
+    public static class VillaStats {
+        private final Long id;
+        private final String name;
+        private final String type;
+        private final Integer surface;
+        private final Integer progress;
+        private final Villa.VillaStatus status;
+        private final Villa.ProgressStatus progressStatus;
+        private final Integer categoriesCount;
+        private final Integer tasksCount;
+        private final Integer completedCategories;
+        private final LocalDateTime lastModified;
+
+        public VillaStats(Villa villa) {
+            this.id = villa.getId();
+            this.name = villa.getName();
+            this.type = villa.getType();
+            this.surface = villa.getSurface();
+            this.progress = villa.getProgress();
+            this.status = villa.getStatus();
+            this.progressStatus = villa.getProgressStatus();
+            this.categoriesCount = villa.getCategoriesCount();
+            this.tasksCount = villa.getTasksCount();
+            this.completedCategories = villa.getCompletedCategories();
+            this.lastModified = villa.getLastModified();
+        }
+
+        public Long getId() { return id; }
+        public String getName() { return name; }
+        public String getType() { return type; }
+        public Integer getSurface() { return surface; }
+        public Integer getProgress() { return progress; }
+        public Villa.VillaStatus getStatus() { return status; }
+        public Villa.ProgressStatus getProgressStatus() { return progressStatus; }
+        public Integer getCategoriesCount() { return categoriesCount; }
+        public Integer getTasksCount() { return tasksCount; }
+        public Integer getCompletedCategories() { return completedCategories; }
+        public LocalDateTime getLastModified() { return lastModified; }
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class CategoryEntry {
+        private final Long id;
+        private final String name;
+        private final LocalDate startDate;
+        private final LocalDate endDate;
+        private final Integer progress;
+        private final Category.CategoryStatus status;
+        private final Integer tasksCount;
+        private final Integer completedTasks;
+        private final List<TaskEntry> tasks;
+
+        public CategoryEntry(Category category, List<TaskEntry> tasks) {
+            this.id = category.getId();
+            this.name = category.getName();
+            this.startDate = category.getStartDate();
+            this.endDate = category.getEndDate();
+            this.progress = category.getProgress();
+            this.status = category.getStatus();
+            this.tasksCount = category.getTasksCount();
+            this.completedTasks = category.getCompletedTasks();
+            this.tasks = tasks;
+        }
+
+        public Long getId() { return id; }
+        public String getName() { return name; }
+        public LocalDate getStartDate() { return startDate; }
+        public LocalDate getEndDate() { return endDate; }
+        public Integer getProgress() { return progress; }
+        public Category.CategoryStatus getStatus() { return status; }
+        public Integer getTasksCount() { return tasksCount; }
+        public Integer getCompletedTasks() { return completedTasks; }
+        public List<TaskEntry> getTasks() { return tasks; }
+    }
+
+    public static class TaskEntry {
+        private final Long id;
+        private final String name;
+        private final Long teamId;
+        private final String teamName;
+        private final Long templateId;
+        private final Task.TaskStatus status;
+        private final Integer progress;
+        private final Task.ProgressStatus progressStatus;
+        private final LocalDate plannedStartDate;
+        private final LocalDate plannedEndDate;
+        private final LocalDate startDate;
+        private final LocalDate endDate;
+        private final BigDecimal amount;
+        private final Boolean isReceived;
+        private final Boolean isPaid;
+
+        public TaskEntry(Task task) {
+            this.id = task.getId();
+            this.name = task.getName();
+            this.teamId = task.getTeamId();
+            this.teamName = task.getTeam() != null ? task.getTeam().getName() : null;
+            this.templateId = task.getTemplate() != null ? task.getTemplate().getId() : null;
+            this.status = task.getStatus();
+            this.progress = task.getProgress();
+            this.progressStatus = task.getProgressStatus();
+            this.plannedStartDate = task.getPlannedStartDate();
+            this.plannedEndDate = task.getPlannedEndDate();
+            this.startDate = task.getStartDate();
+            this.endDate = task.getEndDate();
+            this.amount = task.getAmount();
+            this.isReceived = task.getIsReceived();
+            this.isPaid = task.getIsPaid();
+        }
+
+        public Long getId() { return id; }
+        public String getName() { return name; }
+        public Long getTeamId() { return teamId; }
+        public String getTeamName() { return teamName; }
+        public Long getTemplateId() { return templateId; }
+        public Task.TaskStatus getStatus() { return status; }
+        public Integer getProgress() { return progress; }
+        public Task.ProgressStatus getProgressStatus() { return progressStatus; }
+        public LocalDate getPlannedStartDate() { return plannedStartDate; }
+        public LocalDate getPlannedEndDate() { return plannedEndDate; }
+        public LocalDate getStartDate() { return startDate; }
+        public LocalDate getEndDate() { return endDate; }
+        public BigDecimal getAmount() { return amount; }
+        public Boolean getIsReceived() { return isReceived; }
+        public Boolean getIsPaid() { return isPaid; }
+    }
+}
@@ -0,0 +1,80 @@
+package com.chantierpro.dto;
+
+import com.chantierpro.entity.Task;
+import com.chantierpro.scheduling.CriticalPath;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Critical-path schedule of a villa: early/late dates and slack of every task.
+ * Tasks with zero slack are on the critical path; any delay on them moves the handover date.
+ */
+public class VillaScheduleDTO {
+
+    private final Long villaId;
+    private final LocalDate handoverDate;
+    private final int dependenciesCount;
+    private final int criticalTasksCount;
+    private final List<TaskEntry> tasks;
+
+    public VillaScheduleDTO(Long villaId, LocalDate handoverDate, int dependenciesCount, List<TaskEntry> tasks) {
+        this.villaId = villaId;
+        this.handoverDate = handoverDate;
+        this.dependenciesCount = dependenciesCount;
+        this.criticalTasksCount = (int) tasks.stream().filter(TaskEntry::isCritical).count();
+        this.tasks = tasks;
+    }
+
+    public Long getVillaId() { return villaId; }
+    public LocalDate getHandoverDate() { return handoverDate; }
+    public int getDependenciesCount() { return dependenciesCount; }
+    public int getCriticalTasksCount() { return criticalTasksCount; }
+    public List<TaskEntry> getTasks() { return tasks; }
+
+    public static class TaskEntry {
+        private final Long id;
+        private final String name;
+        private final Long categoryId;
+        private final Task.TaskStatus status;
+        private final LocalDate startDate;
+        private final LocalDate endDate;
+        private final LocalDate earlyStart;
+        private final LocalDate earlyFinish;
+        private final LocalDate lateStart;
+        private final LocalDate lateFinish;
+        private final long slackDays;
+        private final boolean critical;
+        private final List<Long> predecessorIds;
+
+        public TaskEntry(Task task, CriticalPath.ScheduledActivity scheduled, List<Long> predecessorIds) {
+            this.id = task.getId();
+            this.name = task.getName();
+            this.categoryId = task.getCategoryId();
+            this.status = task.getStatus();
+            this.startDate = task.getStartDate();
+            this.endDate = task.getEndDate();
+            this.earlyStart = scheduled.getEarlyStart();
+            this.earlyFinish = scheduled.getEarlyFinish();
+            this.lateStart = scheduled.getLateStart();
+            this.lateFinish = scheduled.getLateFinish();
+            this.slackDays = scheduled.getSlackDays();
+            this.critical = scheduled.isCritical();
+            this.predecessorIds = predecessorIds;
+        }
+
+        public Long getId() { return id; }
+        public String getName() { return name; }
+        public Long getCategoryId() { return categoryId; }
+        public Task.TaskStatus getStatus() { return status; }
+        public LocalDate getStartDate() { return startDate; }
+        public LocalDate getEndDate() { return endDate; }
+        public LocalDate getEarlyStart() { return earlyStart; }
+        public LocalDate getEarlyFinish() { return earlyFinish; }
+        public LocalDate getLateStart() { return lateStart; }
+        public LocalDate getLateFinish() { return lateFinish; }
+        public long getSlackDays() { return slackDays; }
+        public boolean isCritical() { return critical; }
+        public List<Long> getPredecessorIds() { return predecessorIds; }
+    }
+}
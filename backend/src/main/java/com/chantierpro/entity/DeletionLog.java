@@ -0,0 +1,85 @@
+package com.chantierpro.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Tombstone written whenever a project, villa, category or task is deleted, so that
+ * incremental clients can drop the row from their local replica.
+ * Only the deleted root is logged: the parent ids let clients remove the whole subtree
+ * (e.g. a villa tombstone implies its categories and tasks are gone too).
+ */
+@Entity
+@Table(name = "deletion_log", indexes = {
+        @Index(name = "idx_deletion_log_deleted_at", columnList = "deleted_at"),
+        @Index(name = "idx_deletion_log_project_deleted_at", columnList = "project_id, deleted_at")
+})
+public class DeletionLog {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 20)
+    private EntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(name = "project_id")
+    private Long projectId;
+
+    @Column(name = "villa_id")
+    private Long villaId;
+
+    @Column(name = "category_id")
+    private Long categoryId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+
+    public enum EntityType {
+        PROJECT, VILLA, CATEGORY, TASK
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        if (deletedAt == null) {
+            deletedAt = LocalDateTime.now();
+        }
+    }
+
+    // Constructors
+    public DeletionLog() {}
+
+    public DeletionLog(EntityType entityType, Long entityId, Long projectId, Long villaId, Long categoryId) {
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.projectId = projectId;
+        this.villaId = villaId;
+        this.categoryId = categoryId;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public EntityType getEntityType() { return entityType; }
+    public void setEntityType(EntityType entityType) { this.entityType = entityType; }
+
+    public Long getEntityId() { return entityId; }
+    public void setEntityId(Long entityId) { this.entityId = entityId; }
+
+    public Long getProjectId() { return projectId; }
+    public void setProjectId(Long projectId) { this.projectId = projectId; }
+
+    public Long getVillaId() { return villaId; }
+    public void setVillaId(Long villaId) { this.villaId = villaId; }
+
+    public Long getCategoryId() { return categoryId; }
+    public void setCategoryId(Long categoryId) { this.categoryId = categoryId; }
+
+    public LocalDateTime getDeletedAt() { return deletedAt; }
+    public void setDeletedAt(LocalDateTime deletedAt) { this.deletedAt = deletedAt; }
+}
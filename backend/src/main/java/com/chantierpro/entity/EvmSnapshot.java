@@ -0,0 +1,101 @@
+package com.chantierpro.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Daily earned-value figures of a project, villa or team, kept for trend charts.
+ * For TEAM rows scopeId is null for the tasks without a team.
+ */
+@Entity
+@Table(name = "evm_snapshots", indexes = {
+        @Index(name = "idx_evm_snapshots_project_scope_date", columnList = "project_id, scope, snapshot_date")
+})
+public class EvmSnapshot {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "snapshot_date", nullable = false)
+    private LocalDate snapshotDate;
+
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Scope scope;
+
+    @Column(name = "scope_id")
+    private Long scopeId;
+
+    @Column(name = "scope_name")
+    private String scopeName;
+
+    @Column(name = "budget_at_completion", precision = 15, scale = 2, nullable = false)
+    private BigDecimal budgetAtCompletion;
+
+    @Column(name = "planned_value", precision = 15, scale = 2, nullable = false)
+    private BigDecimal plannedValue;
+
+    @Column(name = "earned_value", precision = 15, scale = 2, nullable = false)
+    private BigDecimal earnedValue;
+
+    @Column(name = "actual_cost", precision = 15, scale = 2, nullable = false)
+    private BigDecimal actualCost;
+
+    @Column(name = "spi", precision = 10, scale = 4)
+    private BigDecimal schedulePerformanceIndex;
+
+    @Column(name = "cpi", precision = 10, scale = 4)
+    private BigDecimal costPerformanceIndex;
+
+    @Column(name = "estimate_at_completion", precision = 15, scale = 2, nullable = false)
+    private BigDecimal estimateAtCompletion;
+
+    public enum Scope {
+        PROJECT, VILLA, TEAM
+    }
+
+    // Getters and setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public LocalDate getSnapshotDate() { return snapshotDate; }
+    public void setSnapshotDate(LocalDate snapshotDate) { this.snapshotDate = snapshotDate; }
+
+    public Long getProjectId() { return projectId; }
+    public void setProjectId(Long projectId) { this.projectId = projectId; }
+
+    public Scope getScope() { return scope; }
+    public void setScope(Scope scope) { this.scope = scope; }
+
+    public Long getScopeId() { return scopeId; }
+    public void setScopeId(Long scopeId) { this.scopeId = scopeId; }
+
+    public String getScopeName() { return scopeName; }
+    public void setScopeName(String scopeName) { this.scopeName = scopeName; }
+
+    public BigDecimal getBudgetAtCompletion() { return budgetAtCompletion; }
+    public void setBudgetAtCompletion(BigDecimal budgetAtCompletion) { this.budgetAtCompletion = budgetAtCompletion; }
+
+    public BigDecimal getPlannedValue() { return plannedValue; }
+    public void setPlannedValue(BigDecimal plannedValue) { this.plannedValue = plannedValue; }
+
+    public BigDecimal getEarnedValue() { return earnedValue; }
+    public void setEarnedValue(BigDecimal earnedValue) { this.earnedValue = earnedValue; }
+
+    public BigDecimal getActualCost() { return actualCost; }
+    public void setActualCost(BigDecimal actualCost) { this.actualCost = actualCost; }
+
+    public BigDecimal getSchedulePerformanceIndex() { return schedulePerformanceIndex; }
+    public void setSchedulePerformanceIndex(BigDecimal schedulePerformanceIndex) { this.schedulePerformanceIndex = schedulePerformanceIndex; }
+
+    public BigDecimal getCostPerformanceIndex() { return costPerformanceIndex; }
+    public void setCostPerformanceIndex(BigDecimal costPerformanceIndex) { this.costPerformanceIndex = costPerformanceIndex; }
+
+    public BigDecimal getEstimateAtCompletion() { return estimateAtCompletion; }
+    public void setEstimateAtCompletion(BigDecimal estimateAtCompletion) { this.estimateAtCompletion = estimateAtCompletion; }
+}
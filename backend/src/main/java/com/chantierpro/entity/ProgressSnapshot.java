@@ -0,0 +1,98 @@
+package com.chantierpro.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+/**
+ * Progress and counts of a project, villa or category on the day they changed.
+ * Days without a row carry the previous row's values forward.
+ *
+ * parentId is the project of a villa and the villa of a category (null for projects);
+ * totalCount/completedCount are villas for a project, categories for a villa and tasks
+ * for a category.
+ */
+@Entity
+@Table(name = "progress_snapshots", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_progress_snapshots_entity_date", columnNames = {"entity_type", "entity_id", "snapshot_date"})
+}, indexes = {
+        @Index(name = "idx_progress_snapshots_parent_date", columnList = "entity_type, parent_id, snapshot_date")
+})
+public class ProgressSnapshot {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 10)
+    private EntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(name = "parent_id")
+    private Long parentId;
+
+    @Column(name = "snapshot_date", nullable = false)
+    private LocalDate snapshotDate;
+
+    @Column(nullable = false)
+    private Integer progress;
+
+    @Column(name = "total_count", nullable = false)
+    private Integer totalCount;
+
+    @Column(name = "completed_count", nullable = false)
+    private Integer completedCount;
+
+    public enum EntityType {
+        PROJECT, VILLA, CATEGORY
+    }
+
+    public ProgressSnapshot() {}
+
+    public ProgressSnapshot(EntityType entityType, Long entityId, Long parentId, LocalDate snapshotDate) {
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.parentId = parentId;
+        this.snapshotDate = snapshotDate;
+    }
+
+    /**
+     * Whether the stored values equal the given ones (i.e. no new row is needed).
+     */
+    public boolean hasValues(int progress, int totalCount, int completedCount) {
+        return this.progress == progress && this.totalCount == totalCount && this.completedCount == completedCount;
+    }
+
+    public void setValues(int progress, int totalCount, int completedCount) {
+        this.progress = progress;
+        this.totalCount = totalCount;
+        this.completedCount = completedCount;
+    }
+
+    // Getters and setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public EntityType getEntityType() { return entityType; }
+    public void setEntityType(EntityType entityType) { this.entityType = entityType; }
+
+    public Long getEntityId() { return entityId; }
+    public void setEntityId(Long entityId) { this.entityId = entityId; }
+
+    public Long getParentId() { return parentId; }
+    public void setParentId(Long parentId) { this.parentId = parentId; }
+
+    public LocalDate getSnapshotDate() { return snapshotDate; }
+    public void setSnapshotDate(LocalDate snapshotDate) { this.snapshotDate = snapshotDate; }
+
+    public Integer getProgress() { return progress; }
+    public void setProgress(Integer progress) { this.progress = progress; }
+
+    public Integer getTotalCount() { return totalCount; }
+    public void setTotalCount(Integer totalCount) { this.totalCount = totalCount; }
+
+    public Integer getCompletedCount() { return completedCount; }
+    public void setCompletedCount(Integer completedCount) { this.completedCount = completedCount; }
+}
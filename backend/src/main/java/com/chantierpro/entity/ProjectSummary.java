@@ -0,0 +1,80 @@
+package com.chantierpro.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Materialized dashboard row for one project. Written only by the upsert in
+ * ProjectSummaryRepository, so the portfolio dashboard never has to aggregate tasks.
+ */
+@Entity
+@Immutable
+@Table(name = "project_summary")
+public class ProjectSummary {
+    @Id
+    @Column(name = "project_id")
+    private Long projectId;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Project.ProjectStatus status;
+
+    @Column(nullable = false)
+    private Integer progress;
+
+    @Column(name = "villas_count", nullable = false)
+    private Integer villasCount;
+
+    // Villas whose progress status is BEHIND or AT_RISK
+    @Column(name = "delayed_villas", nullable = false)
+    private Integer delayedVillas;
+
+    @Column(name = "tasks_count", nullable = false)
+    private Integer tasksCount;
+
+    @Column(name = "completed_tasks", nullable = false)
+    private Integer completedTasks;
+
+    @Column(name = "delayed_tasks", nullable = false)
+    private Integer delayedTasks;
+
+    @Column(name = "total_amount", precision = 15, scale = 2, nullable = false)
+    private BigDecimal totalAmount;
+
+    @Column(name = "paid_amount", precision = 15, scale = 2, nullable = false)
+    private BigDecimal paidAmount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Getters
+    public Long getProjectId() { return projectId; }
+
+    public String getName() { return name; }
+
+    public Project.ProjectStatus getStatus() { return status; }
+
+    public Integer getProgress() { return progress; }
+
+    public Integer getVillasCount() { return villasCount; }
+
+    public Integer getDelayedVillas() { return delayedVillas; }
+
+    public Integer getTasksCount() { return tasksCount; }
+
+    public Integer getCompletedTasks() { return completedTasks; }
+
+    public Integer getDelayedTasks() { return delayedTasks; }
+
+    public BigDecimal getTotalAmount() { return totalAmount; }
+
+    public BigDecimal getPaidAmount() { return paidAmount; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+}
@@ -0,0 +1,72 @@
+package com.chantierpro.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Finish-to-start link between two tasks of the same villa: the successor may start
+ * lagDays days after the day following the predecessor's end.
+ *
+ * villaId is denormalised from the tasks so a villa's graph loads with one indexed query.
+ */
+@Entity
+@Table(name = "task_dependencies", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_task_dependencies_pair", columnNames = {"predecessor_id", "successor_id"})
+}, indexes = {
+        @Index(name = "idx_task_dependencies_villa", columnList = "villa_id"),
+        @Index(name = "idx_task_dependencies_successor", columnList = "successor_id")
+})
+public class TaskDependency {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "villa_id", nullable = false)
+    private Long villaId;
+
+    @Column(name = "predecessor_id", nullable = false)
+    private Long predecessorId;
+
+    @Column(name = "successor_id", nullable = false)
+    private Long successorId;
+
+    @Column(name = "lag_days", nullable = false)
+    private Integer lagDays = 0;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    public TaskDependency() {}
+
+    public TaskDependency(Long villaId, Long predecessorId, Long successorId, Integer lagDays) {
+        this.villaId = villaId;
+        this.predecessorId = predecessorId;
+        this.successorId = successorId;
+        this.lagDays = lagDays;
+    }
+
+    // Getters and setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getVillaId() { return villaId; }
+    public void setVillaId(Long villaId) { this.villaId = villaId; }
+
+    public Long getPredecessorId() { return predecessorId; }
+    public void setPredecessorId(Long predecessorId) { this.predecessorId = predecessorId; }
+
+    public Long getSuccessorId() { return successorId; }
+    public void setSuccessorId(Long successorId) { this.successorId = successorId; }
+
+    public Integer getLagDays() { return lagDays; }
+    public void setLagDays(Integer lagDays) { this.lagDays = lagDays; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -1,5 +1,6 @@
 package com.chantierpro.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 
@@ -28,6 +29,7 @@ public class TaskTemplate {
     private BigDecimal defaultAmount;
 
     @OneToMany(mappedBy = "template", cascade = CascadeType.ALL)
+    @JsonIgnore
     private List<Task> tasks;
 
     @Column(name = "created_at", nullable = false, updatable = false)
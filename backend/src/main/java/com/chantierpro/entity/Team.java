@@ -43,7 +43,8 @@ public class Team {
 
     // Categories collection removed as per requirement - team assignment is now only at task level
 
-    @OneToMany(mappedBy = "team", fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
+    // TeamService.deleteTeam soft deletes the tasks itself, so removal is not cascaded
+    @OneToMany(mappedBy = "team", fetch = FetchType.LAZY, cascade = {CascadeType.PERSIST, CascadeType.MERGE})
     private List<Task> tasks;
 
     @PrePersist
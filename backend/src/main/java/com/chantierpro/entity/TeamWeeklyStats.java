@@ -0,0 +1,53 @@
+package com.chantierpro.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+/**
+ * Tasks a team completed during one week (starting on Monday), split by whether they were
+ * finished by their planned end date. Rows are only written through upserts.
+ */
+@Entity
+@Table(name = "team_weekly_stats", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_team_weekly_stats_team_week", columnNames = {"team_id", "week_start"})
+})
+public class TeamWeeklyStats {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "team_id", nullable = false)
+    private Long teamId;
+
+    @Column(name = "week_start", nullable = false)
+    private LocalDate weekStart;
+
+    @Column(name = "completed_count", nullable = false)
+    private Integer completedCount = 0;
+
+    @Column(name = "on_time_count", nullable = false)
+    private Integer onTimeCount = 0;
+
+    @Column(name = "late_count", nullable = false)
+    private Integer lateCount = 0;
+
+    // Getters and setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getTeamId() { return teamId; }
+    public void setTeamId(Long teamId) { this.teamId = teamId; }
+
+    public LocalDate getWeekStart() { return weekStart; }
+    public void setWeekStart(LocalDate weekStart) { this.weekStart = weekStart; }
+
+    public Integer getCompletedCount() { return completedCount; }
+    public void setCompletedCount(Integer completedCount) { this.completedCount = completedCount; }
+
+    public Integer getOnTimeCount() { return onTimeCount; }
+    public void setOnTimeCount(Integer onTimeCount) { this.onTimeCount = onTimeCount; }
+
+    public Integer getLateCount() { return lateCount; }
+    public void setLateCount(Integer lateCount) { this.lateCount = lateCount; }
+}
@@ -0,0 +1,32 @@
+package com.chantierpro.migration;
+
+import com.chantierpro.service.ProjectSummaryService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Rebuilds the project_summary table from scratch at startup.
+ */
+@Configuration
+public class ProjectSummaryRebuild {
+
+    @Autowired
+    private ProjectSummaryService projectSummaryService;
+
+    /**
+     * This bean will run only when the 'rebuild-summary' profile is active.
+     * To run the rebuild: mvn spring-boot:run -Dspring-boot.run.profiles=rebuild-summary
+     */
+    @Bean
+    @Profile("rebuild-summary")
+    public CommandLineRunner rebuildProjectSummary() {
+        return args -> {
+            System.out.println("Starting project summary rebuild...");
+            projectSummaryService.rebuild();
+            System.out.println("Project summary rebuild completed successfully.");
+        };
+    }
+}
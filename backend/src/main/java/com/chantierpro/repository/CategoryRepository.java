@@ -1,11 +1,21 @@
 package com.chantierpro.repository;
 
 import com.chantierpro.entity.Category;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
@@ -27,6 +37,18 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     @Query("SELECT c FROM Category c WHERE c.villa.project.id = ?1")
     List<Category> findByProjectId(Long projectId);
     
+    // Default task placement (see TaskPlacementService): LIMIT 1 lookups
+    Optional<Category> findFirstByVilla_IdOrderByIdAsc(Long villaId);
+    
+    Optional<Category> findFirstByOrderByIdAsc();
+    
+    // Batched task generation: target categories with their villa, grouped by villa
+    @Query("SELECT c FROM Category c JOIN FETCH c.villa v WHERE v.id IN ?1 ORDER BY v.id, c.id")
+    List<Category> findByVillaIdsWithVilla(Collection<Long> villaIds);
+    
+    @Query("SELECT c FROM Category c JOIN FETCH c.villa v WHERE c.id IN ?1 ORDER BY v.id, c.id")
+    List<Category> findByIdsWithVilla(Collection<Long> categoryIds);
+    
     @Query("SELECT COUNT(c) FROM Category c WHERE c.villa.id = ?1")
     Long countByVillaId(Long villaId);
     
@@ -35,4 +57,35 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     
     @Query("SELECT COUNT(c) FROM Category c WHERE c.villa.id = ?1 AND c.status = 'COMPLETED'")
     Long countCompletedByVillaId(Long villaId);
+    
+    // Delta-sync feed: categories modified after the given watermark, optionally scoped to one project
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT c FROM Category c WHERE (?1 IS NULL OR c.villa.project.id = ?1) AND c.updatedAt > ?2 ORDER BY c.updatedAt")
+    Stream<Category> streamUpdatedSince(Long projectId, LocalDateTime since);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM categories WHERE villa_id = ?1", nativeQuery = true)
+    int bulkDeleteByVillaId(Long villaId);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE categories SET deleted = true, deleted_at = ?2 WHERE id = ?1", nativeQuery = true)
+    int softDeleteById(Long categoryId, LocalDateTime deletedAt);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE categories SET deleted = true, deleted_at = ?2 WHERE villa_id = ?1 AND deleted = false", nativeQuery = true)
+    int softDeleteByVillaId(Long villaId, LocalDateTime deletedAt);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE categories c JOIN villas v ON v.id = c.villa_id SET c.deleted = true, c.deleted_at = ?2 " +
+            "WHERE v.project_id = ?1 AND c.deleted = false", nativeQuery = true)
+    int softDeleteByProjectId(Long projectId, LocalDateTime deletedAt);
+    
+    // Only categories whose tasks have already been purged can be removed
+    @Query(value = "SELECT c.id FROM categories c WHERE c.deleted = true " +
+            "AND NOT EXISTS (SELECT 1 FROM tasks t WHERE t.category_id = c.id) LIMIT ?1", nativeQuery = true)
+    List<Long> findPurgeableIds(int limit);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM categories WHERE id IN (?1)", nativeQuery = true)
+    int bulkDeleteByIds(List<Long> categoryIds);
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.chantierpro.repository;
+
+import com.chantierpro.entity.DeletionLog;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface DeletionLogRepository extends JpaRepository<DeletionLog, Long> {
+
+    @Query("SELECT d FROM DeletionLog d WHERE (?1 IS NULL OR d.projectId = ?1) AND d.deletedAt > ?2 ORDER BY d.deletedAt")
+    List<DeletionLog> findDeletedSince(Long projectId, LocalDateTime since);
+
+    @Modifying
+    @Query("DELETE FROM DeletionLog d WHERE d.deletedAt < ?1")
+    int deleteOlderThan(LocalDateTime cutoff);
+}
@@ -0,0 +1,23 @@
+package com.chantierpro.repository;
+
+import com.chantierpro.entity.EvmSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface EvmSnapshotRepository extends JpaRepository<EvmSnapshot, Long> {
+
+    @Query("SELECT s FROM EvmSnapshot s WHERE s.projectId = ?1 AND s.scope = ?2 AND s.snapshotDate BETWEEN ?3 AND ?4 "
+            + "ORDER BY s.snapshotDate, s.scopeId")
+    List<EvmSnapshot> findHistory(Long projectId, EvmSnapshot.Scope scope, LocalDate from, LocalDate to);
+
+    // Makes the nightly snapshot idempotent when it is re-run for the same day
+    @Modifying
+    @Query("DELETE FROM EvmSnapshot s WHERE s.snapshotDate = ?1")
+    int deleteBySnapshotDate(LocalDate snapshotDate);
+}
@@ -2,6 +2,7 @@ package com.chantierpro.repository;
 
 import com.chantierpro.entity.Notification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
@@ -33,4 +34,25 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     
     @Query("SELECT COUNT(n) FROM Notification n WHERE n.isRead = false AND n.priority = ?1")
     Long countUnreadByPriority(Notification.Priority priority);
+    
+    // Notifications reference projects, villas and tasks, so they are cleared before a subtree delete
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM notifications WHERE villa_id = ?1 OR task_id IN (SELECT t.id FROM tasks t WHERE t.villa_id = ?1)", nativeQuery = true)
+    int bulkDeleteByVillaId(Long villaId);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM notifications WHERE project_id = ?1", nativeQuery = true)
+    int bulkDeleteByProjectId(Long projectId);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM notifications WHERE task_id IN (?1)", nativeQuery = true)
+    int bulkDeleteByTaskIds(List<Long> taskIds);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM notifications WHERE villa_id IN (?1)", nativeQuery = true)
+    int bulkDeleteByVillaIds(List<Long> villaIds);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM notifications WHERE project_id IN (?1)", nativeQuery = true)
+    int bulkDeleteByProjectIds(List<Long> projectIds);
 }
\ No newline at end of file
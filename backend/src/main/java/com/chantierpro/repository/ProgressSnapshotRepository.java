@@ -0,0 +1,32 @@
+package com.chantierpro.repository;
+
+import com.chantierpro.entity.ProgressSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface ProgressSnapshotRepository extends JpaRepository<ProgressSnapshot, Long> {
+
+    // Latest stored row of every entity, the baseline the nightly job compares against
+    @Query("SELECT s FROM ProgressSnapshot s WHERE s.snapshotDate = (SELECT MAX(s2.snapshotDate) FROM ProgressSnapshot s2 "
+            + "WHERE s2.entityType = s.entityType AND s2.entityId = s.entityId)")
+    List<ProgressSnapshot> findLatest();
+
+    // Rows of one entity in a date range, plus the last row before it so the series can be carried forward
+    @Query("SELECT s FROM ProgressSnapshot s WHERE s.entityType = ?1 AND s.entityId = ?2 AND s.snapshotDate <= ?4 "
+            + "AND s.snapshotDate >= COALESCE((SELECT MAX(s2.snapshotDate) FROM ProgressSnapshot s2 "
+            + "WHERE s2.entityType = ?1 AND s2.entityId = ?2 AND s2.snapshotDate <= ?3), ?3) "
+            + "ORDER BY s.snapshotDate")
+    List<ProgressSnapshot> findSeries(ProgressSnapshot.EntityType entityType, Long entityId, LocalDate from, LocalDate to);
+
+    // Same for every child of a parent (villas of a project, categories of a villa)
+    @Query("SELECT s FROM ProgressSnapshot s WHERE s.entityType = ?1 AND s.parentId = ?2 AND s.snapshotDate <= ?4 "
+            + "AND s.snapshotDate >= COALESCE((SELECT MAX(s2.snapshotDate) FROM ProgressSnapshot s2 "
+            + "WHERE s2.entityType = s.entityType AND s2.entityId = s.entityId AND s2.snapshotDate <= ?3), ?3) "
+            + "ORDER BY s.entityId, s.snapshotDate")
+    List<ProgressSnapshot> findSeriesByParent(ProgressSnapshot.EntityType entityType, Long parentId, LocalDate from, LocalDate to);
+}
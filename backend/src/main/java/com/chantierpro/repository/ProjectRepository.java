@@ -1,11 +1,19 @@
 package com.chantierpro.repository;
 
 import com.chantierpro.entity.Project;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, Long> {
@@ -21,4 +29,26 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     
     @Query("SELECT p FROM Project p ORDER BY p.createdAt DESC")
     List<Project> findAllOrderByCreatedAtDesc();
+    
+    // Delta-sync feed: projects modified after the given watermark, optionally scoped to one project
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT p FROM Project p WHERE (?1 IS NULL OR p.id = ?1) AND p.updatedAt > ?2 ORDER BY p.updatedAt")
+    Stream<Project> streamUpdatedSince(Long projectId, LocalDateTime since);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM projects WHERE id = ?1", nativeQuery = true)
+    int bulkDeleteById(Long projectId);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE projects SET deleted = true, deleted_at = ?2 WHERE id = ?1", nativeQuery = true)
+    int softDeleteById(Long projectId, LocalDateTime deletedAt);
+    
+    // Only projects without remaining villas can be removed
+    @Query(value = "SELECT p.id FROM projects p WHERE p.deleted = true " +
+            "AND NOT EXISTS (SELECT 1 FROM villas v WHERE v.project_id = p.id) LIMIT ?1", nativeQuery = true)
+    List<Long> findPurgeableIds(int limit);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM projects WHERE id IN (?1)", nativeQuery = true)
+    int bulkDeleteByIds(List<Long> projectIds);
 }
\ No newline at end of file
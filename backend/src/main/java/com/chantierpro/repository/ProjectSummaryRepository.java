@@ -0,0 +1,77 @@
+package com.chantierpro.repository;
+
+import com.chantierpro.entity.ProjectSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface ProjectSummaryRepository extends JpaRepository<ProjectSummary, Long> {
+
+    @Query("SELECT s FROM ProjectSummary s ORDER BY s.name")
+    List<ProjectSummary> findAllOrderByName();
+
+    // Recomputes the summary row of one project (or of every project when ?1 is null) in a single statement.
+    // Task figures are aggregated in a derived table scoped to the project, so a refresh only reads that project's rows.
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO project_summary (project_id, name, status, progress, villas_count, delayed_villas, "
+            + "tasks_count, completed_tasks, delayed_tasks, total_amount, paid_amount, updated_at) "
+            + "SELECT p.id, p.name, p.status, p.progress, COALESCE(v.villas_count, 0), COALESCE(v.delayed_villas, 0), "
+            + "COALESCE(t.tasks_count, 0), COALESCE(t.completed_tasks, 0), COALESCE(t.delayed_tasks, 0), "
+            + "COALESCE(t.total_amount, 0), COALESCE(t.paid_amount, 0), NOW(6) "
+            + "FROM projects p "
+            + "LEFT JOIN (SELECT project_id, COUNT(*) AS villas_count, "
+            + "  SUM(progress_status IN ('BEHIND', 'AT_RISK')) AS delayed_villas "
+            + "  FROM villas WHERE deleted = false AND (?1 IS NULL OR project_id = ?1) GROUP BY project_id) v ON v.project_id = p.id "
+            + "LEFT JOIN (SELECT vi.project_id, COUNT(*) AS tasks_count, SUM(ta.status = 'COMPLETED') AS completed_tasks, "
+            + "  SUM(ta.status = 'DELAYED') AS delayed_tasks, SUM(ta.amount) AS total_amount, "
+            + "  SUM(CASE WHEN ta.is_paid THEN ta.amount ELSE 0 END) AS paid_amount "
+            + "  FROM tasks ta JOIN villas vi ON vi.id = ta.villa_id "
+            + "  WHERE ta.deleted = false AND vi.deleted = false AND (?1 IS NULL OR vi.project_id = ?1) "
+            + "  GROUP BY vi.project_id) t ON t.project_id = p.id "
+            + "WHERE p.deleted = false AND (?1 IS NULL OR p.id = ?1) "
+            + "ON DUPLICATE KEY UPDATE name = VALUES(name), status = VALUES(status), progress = VALUES(progress), "
+            + "villas_count = VALUES(villas_count), delayed_villas = VALUES(delayed_villas), tasks_count = VALUES(tasks_count), "
+            + "completed_tasks = VALUES(completed_tasks), delayed_tasks = VALUES(delayed_tasks), "
+            + "total_amount = VALUES(total_amount), paid_amount = VALUES(paid_amount), updated_at = VALUES(updated_at)",
+            nativeQuery = true)
+    int upsert(Long projectId);
+
+    // Patches the task figures of one row by the difference a single task change made (see TaskSummaryFigures).
+    // Returns 0 when the project has no row yet.
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE project_summary SET tasks_count = tasks_count + ?2, completed_tasks = completed_tasks + ?3, "
+            + "delayed_tasks = delayed_tasks + ?4, total_amount = total_amount + ?5, paid_amount = paid_amount + ?6, "
+            + "updated_at = NOW(6) WHERE project_id = ?1",
+            nativeQuery = true)
+    int applyTaskDelta(Long projectId, int tasks, int completedTasks, int delayedTasks,
+                       BigDecimal totalAmount, BigDecimal paidAmount);
+
+    // Refreshes the project and villa figures of one row from the project and its villas, leaving the
+    // task figures (maintained by applyTaskDelta) alone. Returns 0 when the project has no row yet.
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE project_summary SET "
+            + "name = (SELECT p.name FROM projects p WHERE p.id = ?1), "
+            + "status = (SELECT p.status FROM projects p WHERE p.id = ?1), "
+            + "progress = (SELECT p.progress FROM projects p WHERE p.id = ?1), "
+            + "villas_count = (SELECT COUNT(*) FROM villas v WHERE v.project_id = ?1 AND v.deleted = false), "
+            + "delayed_villas = (SELECT COALESCE(SUM(v.progress_status IN ('BEHIND', 'AT_RISK')), 0) "
+            + "  FROM villas v WHERE v.project_id = ?1 AND v.deleted = false), "
+            + "updated_at = NOW(6) "
+            + "WHERE project_id = ?1 AND EXISTS (SELECT 1 FROM projects p WHERE p.id = ?1 AND p.deleted = false)",
+            nativeQuery = true)
+    int refreshProjectFigures(Long projectId);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "DELETE FROM project_summary WHERE project_id = ?1", nativeQuery = true)
+    int deleteByProjectId(Long projectId);
+
+    // Drops rows of projects that no longer exist (or are soft-deleted)
+    @Modifying(flushAutomatically = true)
+    @Query(value = "DELETE FROM project_summary WHERE project_id NOT IN (SELECT id FROM projects WHERE deleted = false)", nativeQuery = true)
+    int deleteOrphans();
+}
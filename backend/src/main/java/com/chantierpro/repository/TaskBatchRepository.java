@@ -0,0 +1,125 @@
+package com.chantierpro.repository;
+
+import com.chantierpro.entity.Task;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC batch inserts for bulk task creation (imports, generation, cloning).
+ * The tasks passed in are plain carriers: only their ids and scalar fields are read,
+ * they are never attached to the persistence context. With rewriteBatchedStatements
+ * enabled on the MySQL URL each batch is sent as a multi-row INSERT.
+ */
+@Repository
+public class TaskBatchRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO tasks (category_id, villa_id, team_id, template_id, name, description, "
+            + "start_date, end_date, planned_start_date, planned_end_date, status, progress, progress_status, "
+            + "is_received, is_paid, amount, remarks, created_at, updated_at, deleted) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, false)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts the tasks as one JDBC batch.
+     *
+     * @param tasks Unsaved tasks with category and villa set
+     * @return Number of inserted rows
+     */
+    public int insertAll(List<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return 0;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, tasks, tasks.size(), (ps, task) -> bind(ps, task, now));
+        return tasks.size();
+    }
+
+    /**
+     * Inserts the tasks as one JDBC batch and sets the generated ids and timestamps on them, for
+     * callers that hand the created tasks back.
+     *
+     * @param tasks Unsaved tasks with category and villa set
+     * @return Number of inserted rows
+     */
+    public int insertAllReturningIds(List<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return 0;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_SQL, new String[] {"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        bind(ps, tasks.get(i), now);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return tasks.size();
+                    }
+                }, keys);
+        List<Map<String, Object>> rows = keys.getKeyList();
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            // The key column is named "id" or "GENERATED_KEY" depending on the driver
+            task.setId(((Number) rows.get(i).values().iterator().next()).longValue());
+            task.setCreatedAt(now.toLocalDateTime());
+            task.setUpdatedAt(now.toLocalDateTime());
+        }
+        return tasks.size();
+    }
+
+    /**
+     * Inserts a single task, used to isolate the faulty row when a batch fails.
+     */
+    public void insert(Task task) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update(INSERT_SQL, ps -> bind(ps, task, now));
+    }
+
+    private void bind(PreparedStatement ps, Task task, Timestamp now) throws SQLException {
+        ps.setLong(1, task.getCategoryId());
+        ps.setLong(2, task.getVillaId());
+        setNullableLong(ps, 3, task.getTeamId());
+        setNullableLong(ps, 4, task.getTemplate() != null ? task.getTemplate().getId() : null);
+        ps.setString(5, task.getName());
+        ps.setString(6, task.getDescription());
+        ps.setDate(7, Date.valueOf(task.getStartDate()));
+        ps.setDate(8, Date.valueOf(task.getEndDate()));
+        ps.setDate(9, Date.valueOf(task.getPlannedStartDate()));
+        ps.setDate(10, Date.valueOf(task.getPlannedEndDate()));
+        ps.setString(11, task.getStatus().name());
+        ps.setInt(12, task.getProgress());
+        ps.setString(13, task.getProgressStatus().name());
+        ps.setBoolean(14, Boolean.TRUE.equals(task.getIsReceived()));
+        ps.setBoolean(15, Boolean.TRUE.equals(task.getIsPaid()));
+        ps.setBigDecimal(16, task.getAmount());
+        ps.setString(17, task.getRemarks());
+        ps.setTimestamp(18, now);
+        ps.setTimestamp(19, now);
+    }
+
+    private void setNullableLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value != null) {
+            ps.setLong(index, value);
+        } else {
+            ps.setNull(index, Types.BIGINT);
+        }
+    }
+}
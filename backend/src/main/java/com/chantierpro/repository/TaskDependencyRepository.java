@@ -0,0 +1,34 @@
+package com.chantierpro.repository;
+
+import com.chantierpro.entity.TaskDependency;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TaskDependencyRepository extends JpaRepository<TaskDependency, Long> {
+
+    List<TaskDependency> findByVillaId(Long villaId);
+
+    @Query("SELECT d FROM TaskDependency d WHERE d.predecessorId = ?1 OR d.successorId = ?1 ORDER BY d.id")
+    List<TaskDependency> findByTaskId(Long taskId);
+
+    boolean existsByPredecessorIdAndSuccessorId(Long predecessorId, Long successorId);
+
+    // Links of a task moved to another villa (see SchedulingService.removeTaskDependencies)
+    @Modifying(flushAutomatically = true)
+    @Query(value = "DELETE FROM task_dependencies WHERE predecessor_id = ?1 OR successor_id = ?1", nativeQuery = true)
+    int deleteByTaskId(Long taskId);
+
+    // Removed together with their tasks (see BulkDeleteService)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM task_dependencies WHERE villa_id = ?1", nativeQuery = true)
+    int bulkDeleteByVillaId(Long villaId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM task_dependencies WHERE predecessor_id IN (?1) OR successor_id IN (?1)", nativeQuery = true)
+    int bulkDeleteByTaskIds(List<Long> taskIds);
+}
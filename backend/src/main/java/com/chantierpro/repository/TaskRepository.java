@@ -1,11 +1,26 @@
 package com.chantierpro.repository;
 
+import com.chantierpro.dto.EvmTaskRow;
+import com.chantierpro.dto.TaskAmountGroupRow;
+import com.chantierpro.dto.TaskExportRow;
+import com.chantierpro.dto.TeamBooking;
+import com.chantierpro.dto.TeamStatusCountRow;
 import com.chantierpro.entity.Task;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long> {
@@ -16,9 +31,26 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     @Query("SELECT t FROM Task t WHERE t.villa.id = ?1")
     List<Task> findByVillaId(Long villaId);
     
+    // Villa dashboard: all tasks of the villa with their team in one query, grouped by category afterwards
+    @Query("SELECT t FROM Task t LEFT JOIN FETCH t.team WHERE t.villa.id = ?1 ORDER BY t.category.id, t.id")
+    List<Task> findByVillaIdWithTeam(Long villaId);
+    
     @Query("SELECT t FROM Task t WHERE t.team.id = ?1")
     List<Task> findByTeamId(Long teamId);
     
+    // Team deletion: tombstones and summary figures need each task's villa and project
+    @Query("SELECT t FROM Task t JOIN FETCH t.villa v JOIN FETCH v.project WHERE t.team.id = ?1")
+    List<Task> findByTeamIdWithVilla(Long teamId);
+    
+    // Team stats: task counts per status, for one team or for every team at once
+    @Query("SELECT new com.chantierpro.dto.TeamStatusCountRow(t.team.id, t.status, COUNT(t)) FROM Task t "
+            + "WHERE t.team.id = ?1 GROUP BY t.team.id, t.status")
+    List<TeamStatusCountRow> countByTeamIdGroupedByStatus(Long teamId);
+    
+    @Query("SELECT new com.chantierpro.dto.TeamStatusCountRow(t.team.id, t.status, COUNT(t)) FROM Task t "
+            + "WHERE t.team IS NOT NULL GROUP BY t.team.id, t.status")
+    List<TeamStatusCountRow> countAllGroupedByTeamAndStatus();
+    
     List<Task> findByStatus(Task.TaskStatus status);
     
     List<Task> findByProgressStatus(Task.ProgressStatus progressStatus);
@@ -42,11 +74,33 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     @Query("SELECT t FROM Task t ORDER BY t.updatedAt DESC")
     List<Task> findAllOrderByUpdatedAtDesc();
     
-    @Query("SELECT SUM(t.amount) FROM Task t WHERE t.category.villa.project.id = ?1")
-    Double getTotalAmountByProjectId(Long projectId);
-    
-    @Query("SELECT SUM(t.amount) FROM Task t WHERE t.category.villa.project.id = ?1 AND t.isPaid = true")
-    Double getPaidAmountByProjectId(Long projectId);
+    // Earned-value engine: one streaming pass over the task columns EVM needs, for one project or all of them
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT new com.chantierpro.dto.EvmTaskRow(v.project.id, v.id, v.name, tm.id, tm.name, "
+            + "t.amount, t.progress, t.plannedStartDate, t.plannedEndDate, t.isPaid) "
+            + "FROM Task t JOIN t.category c JOIN c.villa v LEFT JOIN t.team tm "
+            + "WHERE (?1 IS NULL OR v.project.id = ?1)")
+    Stream<EvmTaskRow> streamEvmRows(Long projectId);
+    
+    // Project finance figures: one row per (villa, category, team, status, paid, received) group, rolled up by ProjectFinancialsService
+    @Query("SELECT new com.chantierpro.dto.TaskAmountGroupRow(v.id, v.name, c.id, c.name, tm.id, tm.name, "
+            + "t.status, t.isPaid, t.isReceived, COUNT(t), SUM(t.amount)) "
+            + "FROM Task t JOIN t.category c JOIN c.villa v LEFT JOIN t.team tm "
+            + "WHERE v.project.id = ?1 "
+            + "GROUP BY v.id, v.name, c.id, c.name, tm.id, tm.name, t.status, t.isPaid, t.isReceived "
+            + "ORDER BY v.id, c.id")
+    List<TaskAmountGroupRow> sumAmountsByProjectIdGrouped(Long projectId);
+    
+    // Team bookings (see TeamAvailabilityService): every live task with a team, over its planned dates
+    @Query("SELECT new com.chantierpro.dto.TeamBooking(t.id, t.name, t.team.id, v.id, v.project.id, t.plannedStartDate, t.plannedEndDate) "
+            + "FROM Task t JOIN t.villa v WHERE t.team IS NOT NULL")
+    List<TeamBooking> findAllTeamBookings();
+    
+    // Team calendars: bookings of the given teams overlapping a date window, in planned start order
+    @Query("SELECT new com.chantierpro.dto.TeamBooking(t.id, t.name, t.team.id, v.id, v.project.id, t.plannedStartDate, t.plannedEndDate) "
+            + "FROM Task t JOIN t.villa v WHERE t.team.id IN ?1 AND t.plannedStartDate <= ?3 AND t.plannedEndDate >= ?2 "
+            + "ORDER BY t.plannedStartDate, t.id")
+    List<TeamBooking> findTeamBookingsBetween(Collection<Long> teamIds, LocalDate from, LocalDate to);
     
     @Query("SELECT t FROM Task t WHERE t.category.id = ?1 AND t.villa.id = ?2")
     List<Task> findByCategoryIdAndVillaId(Long categoryId, Long villaId);
@@ -62,4 +116,71 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     
     @Query("SELECT t FROM Task t WHERE t.template.id = ?1 AND t.team.id = ?2")
     List<Task> findByTemplateIdAndTeamId(Long templateId, Long teamId);
+    
+    // Delta-sync feed: tasks modified after the given watermark, optionally scoped to one project
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT t FROM Task t WHERE (?1 IS NULL OR t.villa.project.id = ?1) AND t.updatedAt > ?2 ORDER BY t.updatedAt")
+    Stream<Task> streamUpdatedSince(Long projectId, LocalDateTime since);
+    
+    // Project snapshot export: tasks in villa/category order so they can be nested while streaming
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT t FROM Task t WHERE t.category.villa.project.id = ?1 ORDER BY t.category.villa.id, t.category.id, t.id")
+    Stream<Task> streamByProjectIdInTreeOrder(Long projectId);
+    
+    // Set-based subtree deletion (see BulkDeleteService) - photos must go before their tasks
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE tp FROM task_photos tp JOIN tasks t ON t.id = tp.task_id " +
+            "WHERE t.villa_id = ?1 OR t.category_id IN (SELECT c.id FROM categories c WHERE c.villa_id = ?1)", nativeQuery = true)
+    int bulkDeletePhotosByVillaId(Long villaId);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM tasks WHERE villa_id = ?1 OR category_id IN (SELECT c.id FROM categories c WHERE c.villa_id = ?1)", nativeQuery = true)
+    int bulkDeleteByVillaId(Long villaId);
+    
+    // Soft delete: flag rows so the @SQLRestriction hides them; SoftDeletePurgeService removes them later
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE tasks SET deleted = true, deleted_at = ?2 WHERE id = ?1", nativeQuery = true)
+    int softDeleteById(Long taskId, LocalDateTime deletedAt);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE tasks SET deleted = true, deleted_at = ?2 WHERE category_id = ?1 AND deleted = false", nativeQuery = true)
+    int softDeleteByCategoryId(Long categoryId, LocalDateTime deletedAt);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE tasks SET deleted = true, deleted_at = ?2 " +
+            "WHERE (villa_id = ?1 OR category_id IN (SELECT c.id FROM categories c WHERE c.villa_id = ?1)) AND deleted = false", nativeQuery = true)
+    int softDeleteByVillaId(Long villaId, LocalDateTime deletedAt);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE tasks t JOIN villas v ON v.id = t.villa_id SET t.deleted = true, t.deleted_at = ?2 " +
+            "WHERE v.project_id = ?1 AND t.deleted = false", nativeQuery = true)
+    int softDeleteByProjectId(Long projectId, LocalDateTime deletedAt);
+    
+    // Team deletion: live tasks are soft deleted, and every row lets go of the team so it can be removed
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE tasks SET deleted = true, deleted_at = COALESCE(deleted_at, ?2), team_id = NULL " +
+            "WHERE team_id = ?1", nativeQuery = true)
+    int softDeleteByTeamId(Long teamId, LocalDateTime deletedAt);
+    
+    @Query(value = "SELECT id FROM tasks WHERE deleted = true LIMIT ?1", nativeQuery = true)
+    List<Long> findSoftDeletedIds(int limit);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM task_photos WHERE task_id IN (?1)", nativeQuery = true)
+    int bulkDeletePhotosByTaskIds(List<Long> taskIds);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM tasks WHERE id IN (?1)", nativeQuery = true)
+    int bulkDeleteByIds(List<Long> taskIds);
+    
+    // Streaming export: flat rows built by constructor expression, every filter optional
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT new com.chantierpro.dto.TaskExportRow(t.id, p.id, p.name, v.id, v.name, c.id, c.name, tm.id, tm.name, " +
+            "t.name, t.status, t.progress, t.plannedStartDate, t.plannedEndDate, t.startDate, t.endDate, t.amount, t.isReceived, t.isPaid) " +
+            "FROM Task t JOIN t.villa v JOIN v.project p JOIN t.category c LEFT JOIN t.team tm " +
+            "WHERE (?1 IS NULL OR p.id = ?1) AND (?2 IS NULL OR v.id = ?2) AND (?3 IS NULL OR tm.id = ?3) " +
+            "AND (?4 IS NULL OR t.status = ?4) AND (?5 IS NULL OR t.isPaid = ?5) AND (?6 IS NULL OR t.isReceived = ?6) " +
+            "ORDER BY t.id")
+    Stream<TaskExportRow> streamForExport(Long projectId, Long villaId, Long teamId, Task.TaskStatus status,
+                                          Boolean isPaid, Boolean isReceived);
 }
\ No newline at end of file
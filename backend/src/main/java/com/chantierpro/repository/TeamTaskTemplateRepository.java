@@ -1,9 +1,12 @@
 package com.chantierpro.repository;
 
 import com.chantierpro.entity.TeamTaskTemplate;
+import com.chantierpro.entity.TaskTemplate;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -29,6 +32,24 @@ public interface TeamTaskTemplateRepository extends JpaRepository<TeamTaskTempla
      */
     List<TeamTaskTemplate> findByTeamId(Long teamId);
     
+    /**
+     * Find the task templates assigned to a team, in assignment order, with a single join.
+     * 
+     * @param teamId The team ID
+     * @return List of task templates
+     */
+    @Query("SELECT t FROM TeamTaskTemplate tt JOIN tt.taskTemplate t WHERE tt.team.id = ?1 ORDER BY tt.id")
+    List<TaskTemplate> findTemplatesByTeamId(Long teamId);
+    
+    /**
+     * Find the associations of several teams with their task templates fetched in the same statement.
+     * 
+     * @param teamIds The team IDs
+     * @return Associations ordered by team, then assignment order
+     */
+    @Query("SELECT tt FROM TeamTaskTemplate tt JOIN FETCH tt.taskTemplate WHERE tt.team.id IN ?1 ORDER BY tt.team.id, tt.id")
+    List<TeamTaskTemplate> findByTeamIdsWithTemplates(Collection<Long> teamIds);
+    
     /**
      * Delete a team-task template association by team ID and task template ID.
      * 
@@ -0,0 +1,62 @@
+package com.chantierpro.repository;
+
+import com.chantierpro.entity.TeamWeeklyStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TeamWeeklyStatsRepository extends JpaRepository<TeamWeeklyStats, Long> {
+
+    @Query("SELECT s FROM TeamWeeklyStats s WHERE s.teamId IN ?1 AND s.weekStart BETWEEN ?2 AND ?3 ORDER BY s.teamId, s.weekStart")
+    List<TeamWeeklyStats> findByTeamIdsBetween(Collection<Long> teamIds, LocalDate from, LocalDate to);
+
+    // Counts one completed task into its team's week, creating the row on first use
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO team_weekly_stats (team_id, week_start, completed_count, on_time_count, late_count) "
+            + "VALUES (?1, ?2, 1, ?3, 1 - ?3) "
+            + "ON DUPLICATE KEY UPDATE completed_count = completed_count + 1, "
+            + "on_time_count = on_time_count + VALUES(on_time_count), late_count = late_count + VALUES(late_count)",
+            nativeQuery = true)
+    int addCompletion(Long teamId, LocalDate weekStart, int onTime);
+
+    // Takes back a completion counted by addCompletion, with the same on-time flag, when the task is
+    // reopened, changes team or is reclassified. Not clamped, so a drift from rebuild() shows up
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE team_weekly_stats SET completed_count = completed_count - 1, "
+            + "on_time_count = on_time_count - ?3, late_count = late_count - (1 - ?3) "
+            + "WHERE team_id = ?1 AND week_start = ?2",
+            nativeQuery = true)
+    int removeCompletion(Long teamId, LocalDate weekStart, int onTime);
+
+    // Completed tasks without a completion date (imported, or completed before it was tracked) get their last update
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE tasks SET completed_at = DATE(updated_at) "
+            + "WHERE status = 'COMPLETED' AND completed_at IS NULL AND updated_at IS NOT NULL",
+            nativeQuery = true)
+    int backfillCompletedAt();
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "DELETE FROM team_weekly_stats WHERE team_id = ?1", nativeQuery = true)
+    int deleteByTeamId(Long teamId);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "DELETE FROM team_weekly_stats", nativeQuery = true)
+    int deleteAllRows();
+
+    // Counts every completed task with a team into the week of its completion date.
+    // Soft-deleted tasks keep their completion, as the live path does not take it back on delete.
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO team_weekly_stats (team_id, week_start, completed_count, on_time_count, late_count) "
+            + "SELECT team_id, DATE_SUB(completed_at, INTERVAL WEEKDAY(completed_at) DAY) AS week_start, COUNT(*), "
+            + "SUM(completed_at <= planned_end_date), SUM(completed_at > planned_end_date) "
+            + "FROM tasks WHERE status = 'COMPLETED' AND team_id IS NOT NULL AND completed_at IS NOT NULL "
+            + "GROUP BY team_id, week_start",
+            nativeQuery = true)
+    int insertFromCompletedTasks();
+}
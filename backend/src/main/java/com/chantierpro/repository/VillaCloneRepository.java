@@ -0,0 +1,85 @@
+package com.chantierpro.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Set-based copy of a villa's categories and tasks into freshly created villas.
+ * Everything is copied with INSERT ... SELECT, so rows never travel through the application.
+ * Copies start from scratch: progress 0, pending/on-schedule statuses, unpaid, not received,
+ * actual dates equal to the planned ones, no remarks and no photos.
+ */
+@Repository
+public class VillaCloneRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Copies the source villa's categories into every target villa in a single statement.
+     * Rows are inserted in (target villa, source category) order, which {@link #findCategoryIds}
+     * relies on to pair source and copied categories.
+     *
+     * @return Number of categories inserted
+     */
+    public int copyCategories(Long sourceVillaId, List<Long> targetVillaIds) {
+        String sql = "INSERT INTO categories (villa_id, name, start_date, end_date, progress, status, tasks_count, "
+                + "completed_tasks, created_at, updated_at, deleted) "
+                + "SELECT v.id, c.name, c.start_date, c.end_date, 0, 'ON_SCHEDULE', 0, 0, NOW(6), NOW(6), false "
+                + "FROM villas v JOIN categories c ON c.villa_id = ? AND c.deleted = false "
+                + "WHERE v.id IN (" + placeholders(targetVillaIds.size()) + ") "
+                + "ORDER BY v.id, c.id";
+        List<Object> args = new ArrayList<>();
+        args.add(sourceVillaId);
+        args.addAll(targetVillaIds);
+        return jdbcTemplate.update(sql, args.toArray());
+    }
+
+    /**
+     * Live category ids of a villa in insertion order.
+     */
+    public List<Long> findCategoryIds(Long villaId) {
+        return jdbcTemplate.queryForList(
+                "SELECT id FROM categories WHERE villa_id = ? AND deleted = false ORDER BY id", Long.class, villaId);
+    }
+
+    /**
+     * Copies the tasks of the mapped source categories into their target categories,
+     * all belonging to {@code targetVillaId}.
+     *
+     * @param categoryMapping Source category id -> copied category id
+     * @return Number of tasks inserted
+     */
+    public int copyTasks(Long targetVillaId, Map<Long, Long> categoryMapping) {
+        if (categoryMapping.isEmpty()) {
+            return 0;
+        }
+        String mapping = String.join(" UNION ALL ",
+                Collections.nCopies(categoryMapping.size(), "SELECT ? AS source_id, ? AS target_id"));
+        String sql = "INSERT INTO tasks (category_id, villa_id, team_id, template_id, name, description, "
+                + "start_date, end_date, planned_start_date, planned_end_date, status, progress, progress_status, "
+                + "is_received, is_paid, amount, remarks, created_at, updated_at, deleted) "
+                + "SELECT m.target_id, ?, t.team_id, t.template_id, t.name, t.description, "
+                + "t.planned_start_date, t.planned_end_date, t.planned_start_date, t.planned_end_date, 'PENDING', 0, 'ON_SCHEDULE', "
+                + "false, false, t.amount, NULL, NOW(6), NOW(6), false "
+                + "FROM tasks t JOIN (" + mapping + ") m ON m.source_id = t.category_id "
+                + "WHERE t.deleted = false ORDER BY t.id";
+        List<Object> args = new ArrayList<>();
+        args.add(targetVillaId);
+        categoryMapping.forEach((source, target) -> {
+            args.add(source);
+            args.add(target);
+        });
+        return jdbcTemplate.update(sql, args.toArray());
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
@@ -1,17 +1,36 @@
 package com.chantierpro.repository;
 
 import com.chantierpro.entity.Villa;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface VillaRepository extends JpaRepository<Villa, Long> {
     
     List<Villa> findByProjectId(Long projectId);
     
+    // Default task placement (see TaskPlacementService): LIMIT 1 lookup
+    Optional<Villa> findFirstByProjectIdOrderByIdAsc(Long projectId);
+    
+    // Row lock serializing changes to a villa's dependency graph (see SchedulingService.addDependency)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT v FROM Villa v WHERE v.id = ?1")
+    Optional<Villa> findByIdForUpdate(Long id);
+    
     List<Villa> findByStatus(Villa.VillaStatus status);
     
     List<Villa> findByProjectIdAndStatus(Long projectId, Villa.VillaStatus status);
@@ -26,4 +45,35 @@ public interface VillaRepository extends JpaRepository<Villa, Long> {
     
     @Query("SELECT COUNT(v) FROM Villa v WHERE v.project.id = ?1 AND v.status = ?2")
     Long countByProjectIdAndStatus(Long projectId, Villa.VillaStatus status);
+    
+    // Delta-sync feed: villas modified after the given watermark, optionally scoped to one project
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT v FROM Villa v WHERE (?1 IS NULL OR v.project.id = ?1) AND v.lastModified > ?2 ORDER BY v.lastModified")
+    Stream<Villa> streamUpdatedSince(Long projectId, LocalDateTime since);
+    
+    // Native on purpose: physical deletion must also see soft-deleted villas
+    @Query(value = "SELECT id FROM villas WHERE project_id = ?1", nativeQuery = true)
+    List<Long> findIdsByProjectId(Long projectId);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM villas WHERE id = ?1", nativeQuery = true)
+    int bulkDeleteById(Long villaId);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE villas SET deleted = true, deleted_at = ?2 WHERE id = ?1", nativeQuery = true)
+    int softDeleteById(Long villaId, LocalDateTime deletedAt);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE villas SET deleted = true, deleted_at = ?2 WHERE project_id = ?1 AND deleted = false", nativeQuery = true)
+    int softDeleteByProjectId(Long projectId, LocalDateTime deletedAt);
+    
+    // Only villas without remaining categories or tasks can be removed
+    @Query(value = "SELECT v.id FROM villas v WHERE v.deleted = true " +
+            "AND NOT EXISTS (SELECT 1 FROM categories c WHERE c.villa_id = v.id) " +
+            "AND NOT EXISTS (SELECT 1 FROM tasks t WHERE t.villa_id = v.id) LIMIT ?1", nativeQuery = true)
+    List<Long> findPurgeableIds(int limit);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM villas WHERE id IN (?1)", nativeQuery = true)
+    int bulkDeleteByIds(List<Long> villaIds);
 }
\ No newline at end of file
@@ -0,0 +1,255 @@
+package com.chantierpro.scheduling;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Critical-path method over a villa's task graph with finish-to-start links.
+ *
+ * Dates are inclusive: a task from the 3rd to the 5th lasts 3 days, and a successor linked
+ * with lag L may start at the earliest L days after the day following its predecessor's end.
+ * Each task's own start date is kept as a "start no earlier than" constraint.
+ * Everything runs in O(tasks + links) on index arrays, so thousands of tasks take milliseconds.
+ */
+public final class CriticalPath {
+
+    private final List<Activity> activities;
+    private final Map<Long, Integer> index = new HashMap<>();
+    // Successor lists in compressed form: links of activity i are linkTo/linkLag[offsets[i] .. offsets[i+1])
+    private final int[] offsets;
+    private final int[] linkTo;
+    private final int[] linkLag;
+    private final int[] inDegree;
+
+    /**
+     * @param activities Tasks of the graph
+     * @param links      Dependencies; links touching an unknown activity are ignored
+     */
+    public CriticalPath(List<Activity> activities, List<Link> links) {
+        this.activities = activities;
+        int n = activities.size();
+        for (int i = 0; i < n; i++) {
+            index.put(activities.get(i).getId(), i);
+        }
+
+        List<int[]> valid = new ArrayList<>(links.size());
+        offsets = new int[n + 1];
+        inDegree = new int[n];
+        for (Link link : links) {
+            Integer from = index.get(link.getPredecessorId());
+            Integer to = index.get(link.getSuccessorId());
+            if (from != null && to != null) {
+                valid.add(new int[]{from, to, link.getLagDays()});
+                offsets[from + 1]++;
+                inDegree[to]++;
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        linkTo = new int[valid.size()];
+        linkLag = new int[valid.size()];
+        int[] fill = offsets.clone();
+        for (int[] link : valid) {
+            int slot = fill[link[0]]++;
+            linkTo[slot] = link[1];
+            linkLag[slot] = link[2];
+        }
+    }
+
+    /**
+     * Kahn's algorithm.
+     *
+     * @return Activity indexes in dependency order
+     * @throws IllegalStateException if the links contain a cycle
+     */
+    private int[] topologicalOrder() {
+        int n = activities.size();
+        int[] remaining = inDegree.clone();
+        int[] order = new int[n];
+        int head = 0;
+        int tail = 0;
+        for (int i = 0; i < n; i++) {
+            if (remaining[i] == 0) {
+                order[tail++] = i;
+            }
+        }
+        while (head < tail) {
+            int current = order[head++];
+            for (int k = offsets[current]; k < offsets[current + 1]; k++) {
+                if (--remaining[linkTo[k]] == 0) {
+                    order[tail++] = linkTo[k];
+                }
+            }
+        }
+        if (tail < n) {
+            throw new IllegalStateException("Task dependencies contain a cycle");
+        }
+        return order;
+    }
+
+    public boolean hasCycle() {
+        try {
+            topologicalOrder();
+            return false;
+        } catch (IllegalStateException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Forward and backward pass.
+     *
+     * @return Early/late dates and slack of every activity, in input order
+     */
+    public List<ScheduledActivity> schedule() {
+        int n = activities.size();
+        int[] order = topologicalOrder();
+        long[] duration = new long[n];
+        long[] earlyStart = new long[n];
+        long[] earlyFinish = new long[n];
+        for (int i = 0; i < n; i++) {
+            Activity activity = activities.get(i);
+            duration[i] = activity.getEnd().toEpochDay() - activity.getStart().toEpochDay() + 1;
+            earlyStart[i] = activity.getStart().toEpochDay();
+        }
+
+        // Forward pass: finish days are exclusive (first free day after the task)
+        long end = Long.MIN_VALUE;
+        for (int current : order) {
+            earlyFinish[current] = earlyStart[current] + duration[current];
+            end = Math.max(end, earlyFinish[current]);
+            for (int k = offsets[current]; k < offsets[current + 1]; k++) {
+                int next = linkTo[k];
+                earlyStart[next] = Math.max(earlyStart[next], earlyFinish[current] + linkLag[k]);
+            }
+        }
+
+        // Backward pass
+        long[] lateFinish = new long[n];
+        for (int i = 0; i < n; i++) {
+            lateFinish[i] = end;
+        }
+        for (int j = n - 1; j >= 0; j--) {
+            int current = order[j];
+            for (int k = offsets[current]; k < offsets[current + 1]; k++) {
+                int next = linkTo[k];
+                lateFinish[current] = Math.min(lateFinish[current], lateFinish[next] - duration[next] - linkLag[k]);
+            }
+        }
+
+        List<ScheduledActivity> result = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            long lateStart = lateFinish[i] - duration[i];
+            result.add(new ScheduledActivity(activities.get(i).getId(),
+                    LocalDate.ofEpochDay(earlyStart[i]), LocalDate.ofEpochDay(earlyFinish[i] - 1),
+                    LocalDate.ofEpochDay(lateStart), LocalDate.ofEpochDay(lateFinish[i] - 1),
+                    lateStart - earlyStart[i]));
+        }
+        return result;
+    }
+
+    /**
+     * Pushes successors later where a predecessor now ends too late for them, keeping each
+     * task's duration. Tasks are never pulled earlier.
+     *
+     * @return Shift in days of every activity that moved, by activity id
+     */
+    public Map<Long, Long> propagateDelays() {
+        int n = activities.size();
+        int[] order = topologicalOrder();
+        long[] start = new long[n];
+        long[] finish = new long[n];
+        for (int i = 0; i < n; i++) {
+            Activity activity = activities.get(i);
+            start[i] = activity.getStart().toEpochDay();
+            finish[i] = activity.getEnd().toEpochDay() + 1;
+        }
+        long[] required = start.clone();
+        Map<Long, Long> shifts = new HashMap<>();
+        for (int current : order) {
+            long shift = required[current] - start[current];
+            if (shift > 0) {
+                start[current] += shift;
+                finish[current] += shift;
+                shifts.put(activities.get(current).getId(), shift);
+            }
+            for (int k = offsets[current]; k < offsets[current + 1]; k++) {
+                int next = linkTo[k];
+                required[next] = Math.max(required[next], finish[current] + linkLag[k]);
+            }
+        }
+        return shifts;
+    }
+
+    /**
+     * A task as seen by the scheduler.
+     */
+    public static final class Activity {
+        private final long id;
+        private final LocalDate start;
+        private final LocalDate end;
+
+        public Activity(long id, LocalDate start, LocalDate end) {
+            this.id = id;
+            this.start = start;
+            this.end = end.isBefore(start) ? start : end;
+        }
+
+        public long getId() { return id; }
+        public LocalDate getStart() { return start; }
+        public LocalDate getEnd() { return end; }
+    }
+
+    /**
+     * Finish-to-start dependency with a lag in days.
+     */
+    public static final class Link {
+        private final long predecessorId;
+        private final long successorId;
+        private final int lagDays;
+
+        public Link(long predecessorId, long successorId, int lagDays) {
+            this.predecessorId = predecessorId;
+            this.successorId = successorId;
+            this.lagDays = lagDays;
+        }
+
+        public long getPredecessorId() { return predecessorId; }
+        public long getSuccessorId() { return successorId; }
+        public int getLagDays() { return lagDays; }
+    }
+
+    /**
+     * Early/late dates (inclusive) and total slack of an activity; zero slack means critical.
+     */
+    public static final class ScheduledActivity {
+        private final long id;
+        private final LocalDate earlyStart;
+        private final LocalDate earlyFinish;
+        private final LocalDate lateStart;
+        private final LocalDate lateFinish;
+        private final long slackDays;
+
+        ScheduledActivity(long id, LocalDate earlyStart, LocalDate earlyFinish, LocalDate lateStart,
+                          LocalDate lateFinish, long slackDays) {
+            this.id = id;
+            this.earlyStart = earlyStart;
+            this.earlyFinish = earlyFinish;
+            this.lateStart = lateStart;
+            this.lateFinish = lateFinish;
+            this.slackDays = slackDays;
+        }
+
+        public long getId() { return id; }
+        public LocalDate getEarlyStart() { return earlyStart; }
+        public LocalDate getEarlyFinish() { return earlyFinish; }
+        public LocalDate getLateStart() { return lateStart; }
+        public LocalDate getLateFinish() { return lateFinish; }
+        public long getSlackDays() { return slackDays; }
+        public boolean isCritical() { return slackDays == 0; }
+    }
+}
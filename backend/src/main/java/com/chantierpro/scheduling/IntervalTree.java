@@ -0,0 +1,189 @@
+package com.chantierpro.scheduling;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Set of closed date intervals, each identified by a unique id, answering overlap queries.
+ *
+ * Implemented as a treap ordered by (start, id) where every node also stores the latest end
+ * of its subtree, so whole subtrees ending before a query are skipped. Insert and remove are
+ * O(log n) expected; an overlap query is O(log n + matches). Not thread-safe.
+ */
+public final class IntervalTree {
+
+    private Node root;
+    private int size;
+
+    public int size() {
+        return size;
+    }
+
+    public void insert(long id, LocalDate start, LocalDate end) {
+        root = insert(root, new Node(id, start.toEpochDay(), Math.max(start.toEpochDay(), end.toEpochDay())));
+        size++;
+    }
+
+    /**
+     * Removes the interval previously inserted with this id and start date.
+     *
+     * @return Whether it was present
+     */
+    public boolean remove(long id, LocalDate start) {
+        int before = size;
+        root = remove(root, start.toEpochDay(), id);
+        return size < before;
+    }
+
+    /**
+     * Ids of the intervals sharing at least one day with [from, to].
+     */
+    public List<Long> overlapping(LocalDate from, LocalDate to) {
+        List<Long> ids = new ArrayList<>();
+        collect(root, from.toEpochDay(), to.toEpochDay(), ids);
+        return ids;
+    }
+
+    /**
+     * Whether an interval other than {@code excludedId} shares a day with [from, to].
+     */
+    public boolean overlapsAny(LocalDate from, LocalDate to, long excludedId) {
+        return any(root, from.toEpochDay(), to.toEpochDay(), excludedId);
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (compare(added.start, added.id, node) < 0) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        node.update();
+        return node;
+    }
+
+    private Node remove(Node node, long start, long id) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(start, id, node);
+        if (cmp < 0) {
+            node.left = remove(node.left, start, id);
+        } else if (cmp > 0) {
+            node.right = remove(node.right, start, id);
+        } else {
+            size--;
+            return merge(node.left, node.right);
+        }
+        node.update();
+        return node;
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private static void collect(Node node, long from, long to, List<Long> ids) {
+        if (node == null || node.maxEnd < from) {
+            return;
+        }
+        collect(node.left, from, to, ids);
+        if (node.start > to) {
+            // Everything to the right starts even later
+            return;
+        }
+        if (node.end >= from) {
+            ids.add(node.id);
+        }
+        collect(node.right, from, to, ids);
+    }
+
+    private static boolean any(Node node, long from, long to, long excludedId) {
+        if (node == null || node.maxEnd < from) {
+            return false;
+        }
+        if (any(node.left, from, to, excludedId)) {
+            return true;
+        }
+        if (node.start > to) {
+            return false;
+        }
+        if (node.end >= from && node.id != excludedId) {
+            return true;
+        }
+        return any(node.right, from, to, excludedId);
+    }
+
+    private static int compare(long start, long id, Node node) {
+        int cmp = Long.compare(start, node.start);
+        return cmp != 0 ? cmp : Long.compare(id, node.id);
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        node.update();
+        left.update();
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        node.update();
+        right.update();
+        return right;
+    }
+
+    private static final class Node {
+        final long id;
+        final long start;
+        final long end;
+        final int priority = ThreadLocalRandom.current().nextInt();
+        long maxEnd;
+        Node left;
+        Node right;
+
+        Node(long id, long start, long end) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+            this.maxEnd = end;
+        }
+
+        void update() {
+            maxEnd = end;
+            if (left != null) {
+                maxEnd = Math.max(maxEnd, left.maxEnd);
+            }
+            if (right != null) {
+                maxEnd = Math.max(maxEnd, right.maxEnd);
+            }
+        }
+    }
+}
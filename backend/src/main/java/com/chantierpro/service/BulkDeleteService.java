@@ -0,0 +1,104 @@
+package com.chantierpro.service;
+
+import com.chantierpro.repository.CategoryRepository;
+import com.chantierpro.repository.NotificationRepository;
+import com.chantierpro.repository.ProjectRepository;
+import com.chantierpro.repository.TaskDependencyRepository;
+import com.chantierpro.repository.TaskRepository;
+import com.chantierpro.repository.VillaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Set-based deletion of project and villa subtrees.
+ * Instead of letting JPA cascade through Project.villas -> Villa.categories -> Category.tasks
+ * (which loads every child into the persistence context and deletes row by row), each level
+ * is removed with a single statement, children first.
+ * These methods bypass the entity lifecycle and the soft-delete flag: callers own tombstones
+ * and stats roll-ups.
+ */
+@Service
+@Transactional
+public class BulkDeleteService {
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private VillaRepository villaRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private TaskDependencyRepository taskDependencyRepository;
+
+    /**
+     * Deletes a villa with its categories, tasks, task photos, task dependencies and notifications.
+     *
+     * @param villaId The ID of the villa to delete
+     * @return Number of tasks removed
+     */
+    public int deleteVillaTree(Long villaId) {
+        notificationRepository.bulkDeleteByVillaId(villaId);
+        taskRepository.bulkDeletePhotosByVillaId(villaId);
+        taskDependencyRepository.bulkDeleteByVillaId(villaId);
+        int tasks = taskRepository.bulkDeleteByVillaId(villaId);
+        categoryRepository.bulkDeleteByVillaId(villaId);
+        villaRepository.bulkDeleteById(villaId);
+        return tasks;
+    }
+
+    /**
+     * Deletes the project row itself once all of its villas are gone.
+     */
+    public void deleteProjectRow(Long projectId) {
+        notificationRepository.bulkDeleteByProjectId(projectId);
+        projectRepository.bulkDeleteById(projectId);
+    }
+
+    // Purge batches for soft-deleted rows, children first. Each call is one short transaction.
+
+    public int purgeTaskBatch(int batchSize) {
+        List<Long> ids = taskRepository.findSoftDeletedIds(batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        notificationRepository.bulkDeleteByTaskIds(ids);
+        taskRepository.bulkDeletePhotosByTaskIds(ids);
+        taskDependencyRepository.bulkDeleteByTaskIds(ids);
+        return taskRepository.bulkDeleteByIds(ids);
+    }
+
+    public int purgeCategoryBatch(int batchSize) {
+        List<Long> ids = categoryRepository.findPurgeableIds(batchSize);
+        return ids.isEmpty() ? 0 : categoryRepository.bulkDeleteByIds(ids);
+    }
+
+    public int purgeVillaBatch(int batchSize) {
+        List<Long> ids = villaRepository.findPurgeableIds(batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        notificationRepository.bulkDeleteByVillaIds(ids);
+        return villaRepository.bulkDeleteByIds(ids);
+    }
+
+    public int purgeProjectBatch(int batchSize) {
+        List<Long> ids = projectRepository.findPurgeableIds(batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        notificationRepository.bulkDeleteByProjectIds(ids);
+        return projectRepository.bulkDeleteByIds(ids);
+    }
+}
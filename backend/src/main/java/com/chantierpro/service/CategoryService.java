@@ -9,13 +9,18 @@ import com.chantierpro.repository.CategoryRepository;
 import com.chantierpro.repository.VillaRepository;
 import com.chantierpro.repository.TeamRepository;
 import com.chantierpro.repository.TaskRepository;
+import io.micrometer.core.annotation.Timed;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @Transactional
@@ -36,6 +41,18 @@ public class CategoryService {
     @Autowired
     private VillaService villaService;
 
+    @Autowired
+    private DeletionLogService deletionLogService;
+
+    @Autowired
+    private TeamAvailabilityService teamAvailabilityService;
+
+    @Autowired
+    private TeamLeaderboardService teamLeaderboardService;
+
+    @Autowired
+    private ProjectSummaryService projectSummaryService;
+
     public List<Category> getAllCategories() {
         return categoryRepository.findAll();
     }
@@ -125,10 +142,19 @@ public class CategoryService {
                 .orElseThrow(() -> new RuntimeException("Category not found with id: " + id));
         
         Long villaId = category.getVilla().getId();
-        categoryRepository.delete(category);
+        Long projectId = category.getVilla().getProject().getId();
+        deletionLogService.recordCategoryDeletion(category);
+
+        // Soft delete; SoftDeletePurgeService removes the rows off-peak
+        LocalDateTime now = LocalDateTime.now();
+        taskRepository.softDeleteByCategoryId(id, now);
+        categoryRepository.softDeleteById(id, now);
+        teamAvailabilityService.markStale();
+        teamLeaderboardService.markStale();
         
-        // Update villa stats
+        // Update villa stats; the category's tasks left in bulk, so recount the summary row
         villaService.updateVillaStats(villaId);
+        projectSummaryService.refresh(projectId);
     }
 
     // Method removed as team is no longer assigned at category level
@@ -147,7 +173,52 @@ public class CategoryService {
      * @param categoryId The ID of the category to update
      */
     @Transactional
+    @Timed(value = "chantierpro.rollup", extraTags = {"level", "category"})
     public void updateCategoryStats(Long categoryId) {
+        Category category = recalculateCategoryStats(categoryId);
+
+        // Update villa stats if the category has a valid villa
+        if (category.getVilla() != null && category.getVilla().getId() != null) {
+            villaService.updateVillaStats(category.getVilla().getId());
+        }
+    }
+
+    /**
+     * Roll-up for bulk operations (imports, cloning, generation): every category is
+     * recalculated once, then each affected villa and project once, instead of walking
+     * the whole chain up to the project for every single category.
+     *
+     * @param categoryIds The IDs of the categories whose tasks changed
+     */
+    @Transactional
+    @Timed(value = "chantierpro.rollup", extraTags = {"level", "category-bulk"})
+    public void updateCategoryStatsInBulk(Collection<Long> categoryIds) {
+        villaService.updateVillaStatsInBulk(recalculateCategoryStatsInBulk(categoryIds));
+    }
+
+    /**
+     * Recalculates each category once without touching its villa, for callers that roll up
+     * the villas and projects themselves.
+     *
+     * @param categoryIds The IDs of the categories whose tasks changed
+     * @return The IDs of the villas the categories belong to
+     */
+    @Transactional
+    public Set<Long> recalculateCategoryStatsInBulk(Collection<Long> categoryIds) {
+        Set<Long> villaIds = new LinkedHashSet<>();
+        for (Long categoryId : categoryIds) {
+            Category category = recalculateCategoryStats(categoryId);
+            if (category.getVilla() != null && category.getVilla().getId() != null) {
+                villaIds.add(category.getVilla().getId());
+            }
+        }
+        return villaIds;
+    }
+
+    /**
+     * Recalculates a category's own counters, progress and status without touching its villa.
+     */
+    private Category recalculateCategoryStats(Long categoryId) {
         try {
             Category category = categoryRepository.findById(categoryId)
                     .orElseThrow(() -> new RuntimeException("Category not found with id: " + categoryId));
@@ -204,12 +275,7 @@ public class CategoryService {
                 category.setStatus(Category.CategoryStatus.DELAYED);
             }
 
-            categoryRepository.save(category);
-            
-            // Update villa stats if the category has a valid villa
-            if (category.getVilla() != null && category.getVilla().getId() != null) {
-                villaService.updateVillaStats(category.getVilla().getId());
-            }
+            return categoryRepository.save(category);
         } catch (Exception e) {
             System.err.println("Error updating category stats for ID " + categoryId + ": " + e.getMessage());
             e.printStackTrace();
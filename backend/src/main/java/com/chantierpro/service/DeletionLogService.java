@@ -0,0 +1,75 @@
+package com.chantierpro.service;
+
+import com.chantierpro.entity.Category;
+import com.chantierpro.entity.DeletionLog;
+import com.chantierpro.entity.Project;
+import com.chantierpro.entity.Task;
+import com.chantierpro.entity.Villa;
+import com.chantierpro.repository.DeletionLogRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Records tombstones for deleted entities. Recording joins the caller's transaction,
+ * so a tombstone exists if and only if the delete committed.
+ */
+@Service
+@Transactional
+public class DeletionLogService {
+
+    @Autowired
+    private DeletionLogRepository deletionLogRepository;
+
+    @Value("${chantierpro.sync.tombstone-retention-days:90}")
+    private int retentionDays;
+
+    public void recordProjectDeletion(Project project) {
+        deletionLogRepository.save(new DeletionLog(DeletionLog.EntityType.PROJECT,
+                project.getId(), project.getId(), null, null));
+    }
+
+    public void recordVillaDeletion(Villa villa) {
+        deletionLogRepository.save(new DeletionLog(DeletionLog.EntityType.VILLA,
+                villa.getId(), villa.getProject().getId(), villa.getId(), null));
+    }
+
+    public void recordCategoryDeletion(Category category) {
+        Villa villa = category.getVilla();
+        deletionLogRepository.save(new DeletionLog(DeletionLog.EntityType.CATEGORY,
+                category.getId(), villa.getProject().getId(), villa.getId(), category.getId()));
+    }
+
+    public void recordTaskDeletion(Task task) {
+        Villa villa = task.getVilla();
+        deletionLogRepository.save(new DeletionLog(DeletionLog.EntityType.TASK,
+                task.getId(), villa.getProject().getId(), villa.getId(), task.getCategoryId()));
+    }
+
+    @Transactional(readOnly = true)
+    public List<DeletionLog> getDeletionsSince(Long projectId, LocalDateTime since) {
+        return deletionLogRepository.findDeletedSince(projectId, since);
+    }
+
+    /**
+     * Oldest watermark for which the log is still complete. Clients holding an older
+     * watermark may have missed compacted tombstones and must resync from scratch.
+     */
+    public LocalDateTime getRetentionHorizon() {
+        return LocalDateTime.now().minusDays(retentionDays);
+    }
+
+    /**
+     * Drops tombstones older than the retention window (daily, off-peak by default).
+     */
+    @Scheduled(cron = "${chantierpro.sync.tombstone-compaction-cron:0 30 3 * * *}")
+    public void compact() {
+        int removed = deletionLogRepository.deleteOlderThan(getRetentionHorizon());
+        System.out.println("Deletion log compaction removed " + removed + " tombstones");
+    }
+}
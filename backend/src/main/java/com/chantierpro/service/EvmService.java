@@ -0,0 +1,96 @@
+package com.chantierpro.service;
+
+import com.chantierpro.dto.EvmMetricsDTO;
+import com.chantierpro.dto.EvmTaskRow;
+import com.chantierpro.dto.ProjectEvmDTO;
+import com.chantierpro.entity.EvmSnapshot;
+import com.chantierpro.repository.EvmSnapshotRepository;
+import com.chantierpro.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Earned-value metrics per project, villa and team. Every computation is a single streaming
+ * pass over a narrow task projection, so memory depends on the number of villas and teams,
+ * not on the number of tasks.
+ */
+@Service
+@Transactional
+public class EvmService {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EvmSnapshotRepository evmSnapshotRepository;
+
+    @Transactional(readOnly = true)
+    public ProjectEvmDTO getProjectEvm(Long projectId, LocalDate asOf) {
+        ProjectEvmDTO evm = new ProjectEvmDTO(projectId, asOf);
+        try (Stream<EvmTaskRow> rows = taskRepository.streamEvmRows(projectId)) {
+            rows.forEach(evm::add);
+        }
+        return evm;
+    }
+
+    @Transactional(readOnly = true)
+    public List<EvmSnapshot> getHistory(Long projectId, EvmSnapshot.Scope scope, LocalDate from, LocalDate to) {
+        return evmSnapshotRepository.findHistory(projectId, scope, from, to);
+    }
+
+    /**
+     * Nightly snapshot of every project, with its villas and teams, for trend charts.
+     * Re-running it on the same day replaces that day's rows.
+     *
+     * @return Number of snapshot rows written
+     */
+    @Scheduled(cron = "${chantierpro.evm.snapshot-cron:0 15 1 * * *}")
+    public int takeSnapshots() {
+        LocalDate today = LocalDate.now();
+        Map<Long, ProjectEvmDTO> projects = new LinkedHashMap<>();
+        try (Stream<EvmTaskRow> rows = taskRepository.streamEvmRows(null)) {
+            rows.forEach(row -> projects.computeIfAbsent(row.getProjectId(), id -> new ProjectEvmDTO(id, today)).add(row));
+        }
+
+        List<EvmSnapshot> snapshots = new ArrayList<>();
+        for (ProjectEvmDTO evm : projects.values()) {
+            snapshots.add(toSnapshot(evm, EvmSnapshot.Scope.PROJECT, null, null, evm.getTotals()));
+            for (EvmMetricsDTO.Breakdown villa : evm.getVillas()) {
+                snapshots.add(toSnapshot(evm, EvmSnapshot.Scope.VILLA, villa.getId(), villa.getName(), villa));
+            }
+            for (EvmMetricsDTO.Breakdown team : evm.getTeams()) {
+                snapshots.add(toSnapshot(evm, EvmSnapshot.Scope.TEAM, team.getId(), team.getName(), team));
+            }
+        }
+        evmSnapshotRepository.deleteBySnapshotDate(today);
+        evmSnapshotRepository.saveAll(snapshots);
+        System.out.println("EVM snapshot for " + today + ": " + projects.size() + " projects, " + snapshots.size() + " rows");
+        return snapshots.size();
+    }
+
+    private EvmSnapshot toSnapshot(ProjectEvmDTO evm, EvmSnapshot.Scope scope, Long scopeId, String scopeName, EvmMetricsDTO metrics) {
+        EvmSnapshot snapshot = new EvmSnapshot();
+        snapshot.setSnapshotDate(evm.getAsOf());
+        snapshot.setProjectId(evm.getProjectId());
+        snapshot.setScope(scope);
+        snapshot.setScopeId(scopeId);
+        snapshot.setScopeName(scopeName);
+        snapshot.setBudgetAtCompletion(metrics.getBudgetAtCompletion());
+        snapshot.setPlannedValue(metrics.getPlannedValue());
+        snapshot.setEarnedValue(metrics.getEarnedValue());
+        snapshot.setActualCost(metrics.getActualCost());
+        snapshot.setSchedulePerformanceIndex(metrics.getSchedulePerformanceIndex());
+        snapshot.setCostPerformanceIndex(metrics.getCostPerformanceIndex());
+        snapshot.setEstimateAtCompletion(metrics.getEstimateAtCompletion());
+        return snapshot;
+    }
+}
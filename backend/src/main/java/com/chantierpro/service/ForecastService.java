@@ -0,0 +1,209 @@
+package com.chantierpro.service;
+
+import com.chantierpro.dto.ForecastDTO;
+import com.chantierpro.dto.ProgressSeriesDTO;
+import com.chantierpro.dto.ProjectForecastDTO;
+import com.chantierpro.entity.Category;
+import com.chantierpro.entity.ProgressSnapshot;
+import com.chantierpro.entity.Project;
+import com.chantierpro.entity.Villa;
+import com.chantierpro.repository.CategoryRepository;
+import com.chantierpro.repository.ProjectRepository;
+import com.chantierpro.repository.VillaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Completion-date forecasts for villas and projects, extrapolated from the progress history.
+ *
+ * Velocity is the progress gained per day over three trailing windows (half, one and two
+ * times chantierpro.forecast.window-days). The configured window gives the expected date,
+ * the fastest window the optimistic one and the slowest the pessimistic one.
+ *
+ * Forecasts are cached per project. A project's entry is dropped whenever its stats are
+ * rolled up and recomputed on the next read; the nightly batch recomputes all active
+ * projects in parallel.
+ */
+@Service
+public class ForecastService {
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private VillaRepository villaRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProgressHistoryService progressHistoryService;
+
+    @Autowired
+    private TaskExecutor taskExecutor;
+
+    @Value("${chantierpro.forecast.window-days:14}")
+    private int windowDays;
+
+    private final Map<Long, ProjectForecastDTO> cache = new ConcurrentHashMap<>();
+
+    public Optional<ProjectForecastDTO> getProjectForecast(Long projectId) {
+        ProjectForecastDTO cached = cache.get(projectId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        return projectRepository.findById(projectId).map(project -> {
+            ProjectForecastDTO forecast = computeProject(project);
+            cache.put(projectId, forecast);
+            return forecast;
+        });
+    }
+
+    /**
+     * Forecasts of every active project, computing the missing ones in parallel.
+     */
+    public List<ProjectForecastDTO> getActiveProjectForecasts() {
+        List<Project> projects = projectRepository.findByStatus(Project.ProjectStatus.ACTIVE);
+        List<Project> missing = projects.stream().filter(project -> !cache.containsKey(project.getId())).collect(Collectors.toList());
+        computeInParallel(missing);
+        List<ProjectForecastDTO> forecasts = new ArrayList<>();
+        for (Project project : projects) {
+            ProjectForecastDTO forecast = cache.get(project.getId());
+            forecasts.add(forecast != null ? forecast : computeProject(project));
+        }
+        return forecasts;
+    }
+
+    /**
+     * Recomputes every active project, after the nightly progress snapshot.
+     */
+    @Scheduled(cron = "${chantierpro.forecast.cron:0 0 1 * * *}")
+    public void refreshAll() {
+        long started = System.currentTimeMillis();
+        List<Project> projects = projectRepository.findByStatus(Project.ProjectStatus.ACTIVE);
+        cache.clear();
+        computeInParallel(projects);
+        System.out.println("Forecasts refreshed for " + projects.size() + " projects in " + (System.currentTimeMillis() - started) + " ms");
+    }
+
+    /**
+     * Drops a project's cached forecast; called whenever its progress is rolled up.
+     */
+    public void invalidate(Long projectId) {
+        cache.remove(projectId);
+    }
+
+    private void computeInParallel(List<Project> projects) {
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (Project project : projects) {
+            futures.add(CompletableFuture.runAsync(() -> cache.put(project.getId(), computeProject(project)), taskExecutor));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+    }
+
+    private ProjectForecastDTO computeProject(Project project) {
+        LocalDate today = LocalDate.now();
+        LocalDate from = today.minusDays(2L * windowDays);
+
+        // Planned end of a villa = latest end date of its categories
+        Map<Long, LocalDate> villaPlannedEnd = new HashMap<>();
+        for (Category category : categoryRepository.findByProjectId(project.getId())) {
+            if (category.getEndDate() != null) {
+                villaPlannedEnd.merge(category.getVillaId(), category.getEndDate(), (a, b) -> a.isAfter(b) ? a : b);
+            }
+        }
+        Map<Long, ProgressSeriesDTO> villaSeries = progressHistoryService
+                .getChildSeries(ProgressSnapshot.EntityType.VILLA, project.getId(), from, today).stream()
+                .collect(Collectors.toMap(ProgressSeriesDTO::getEntityId, Function.identity()));
+
+        List<ForecastDTO> villas = new ArrayList<>();
+        for (Villa villa : villaRepository.findByProjectId(project.getId())) {
+            villas.add(forecast(villa.getId(), villa.getName(), villa.getProgress(), villaPlannedEnd.get(villa.getId()),
+                    villaSeries.get(villa.getId()), today));
+        }
+        ProgressSeriesDTO projectSeries = progressHistoryService.getSeries(ProgressSnapshot.EntityType.PROJECT, project.getId(), from, today);
+        ForecastDTO projectForecast = forecast(project.getId(), project.getName(), project.getProgress(), project.getEndDate(),
+                projectSeries, today);
+        return new ProjectForecastDTO(projectForecast, villas);
+    }
+
+    private ForecastDTO forecast(Long id, String name, Integer currentProgress, LocalDate plannedEnd,
+                                 ProgressSeriesDTO series, LocalDate today) {
+        int progress = currentProgress != null ? Math.max(0, Math.min(100, currentProgress)) : 0;
+        if (progress >= 100) {
+            return new ForecastDTO(id, name, progress, plannedEnd, null, null, null, null, null, ForecastDTO.Status.COMPLETED);
+        }
+
+        // Daily values ending today, with today's value taken from the live progress
+        List<Integer> values = series != null ? new ArrayList<>(series.getProgress()) : new ArrayList<>();
+        if (values.isEmpty()) {
+            values.add(progress);
+        } else {
+            values.set(values.size() - 1, progress);
+        }
+
+        Double expected = velocity(values, windowDays);
+        if (expected == null) {
+            return new ForecastDTO(id, name, progress, plannedEnd, null, null, null, null, null, ForecastDTO.Status.NO_DATA);
+        }
+        Double shortTerm = velocity(values, Math.max(1, windowDays / 2));
+        Double longTerm = velocity(values, 2 * windowDays);
+        double fastest = Math.max(expected, Math.max(orElse(shortTerm, expected), orElse(longTerm, expected)));
+        double slowest = Math.min(expected, Math.min(orElse(shortTerm, expected), orElse(longTerm, expected)));
+        BigDecimal velocity = BigDecimal.valueOf(expected).setScale(2, RoundingMode.HALF_UP);
+        if (expected <= 0) {
+            return new ForecastDTO(id, name, progress, plannedEnd, velocity, completionDate(progress, fastest, today),
+                    null, null, null, ForecastDTO.Status.STALLED);
+        }
+
+        LocalDate expectedDate = completionDate(progress, expected, today);
+        Long delayDays = plannedEnd != null ? ChronoUnit.DAYS.between(plannedEnd, expectedDate) : null;
+        ForecastDTO.Status status = delayDays != null && delayDays > 0 ? ForecastDTO.Status.LATE : ForecastDTO.Status.ON_TRACK;
+        return new ForecastDTO(id, name, progress, plannedEnd, velocity, completionDate(progress, fastest, today),
+                expectedDate, completionDate(progress, slowest, today), delayDays, status);
+    }
+
+    /**
+     * Progress points gained per day over the last {@code days} days, or over the available
+     * history when it is shorter; null when there is less than a day of history.
+     */
+    private static Double velocity(List<Integer> values, int days) {
+        int last = values.size() - 1;
+        int start = Math.max(0, last - days);
+        while (start < last && values.get(start) == null) {
+            start++;
+        }
+        if (start >= last) {
+            return null;
+        }
+        return (values.get(last) - values.get(start)) / (double) (last - start);
+    }
+
+    private static LocalDate completionDate(int progress, double velocity, LocalDate today) {
+        if (velocity <= 0) {
+            return null;
+        }
+        return today.plusDays((long) Math.ceil((100 - progress) / velocity));
+    }
+
+    private static double orElse(Double value, double fallback) {
+        return value != null ? value : fallback;
+    }
+}
@@ -0,0 +1,129 @@
+package com.chantierpro.service;
+
+import com.chantierpro.dto.ProgressSeriesDTO;
+import com.chantierpro.entity.Category;
+import com.chantierpro.entity.ProgressSnapshot;
+import com.chantierpro.entity.Project;
+import com.chantierpro.entity.Villa;
+import com.chantierpro.repository.CategoryRepository;
+import com.chantierpro.repository.ProgressSnapshotRepository;
+import com.chantierpro.repository.ProjectRepository;
+import com.chantierpro.repository.VillaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the progress history behind burn-up charts. Snapshots are taken from the rolled-up
+ * progress and counters on projects, villas and categories (never from tasks) and only
+ * written when they differ from the entity's last row, so the table grows with changes
+ * rather than with days.
+ */
+@Service
+@Transactional
+public class ProgressHistoryService {
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private VillaRepository villaRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProgressSnapshotRepository progressSnapshotRepository;
+
+    /**
+     * Nightly snapshot, also triggered on demand. Running it again on the same day
+     * overwrites that day's rows with the current values.
+     *
+     * @return Number of rows written
+     */
+    @Scheduled(cron = "${chantierpro.progress-history.cron:0 45 0 * * *}")
+    public int takeSnapshots() {
+        LocalDate today = LocalDate.now();
+        Map<String, ProgressSnapshot> latest = new HashMap<>();
+        for (ProgressSnapshot snapshot : progressSnapshotRepository.findLatest()) {
+            latest.put(key(snapshot.getEntityType(), snapshot.getEntityId()), snapshot);
+        }
+        List<ProgressSnapshot> changed = new ArrayList<>();
+
+        List<Villa> villas = villaRepository.findAll();
+        Map<Long, Integer> completedVillasByProject = new HashMap<>();
+        for (Villa villa : villas) {
+            if (villa.getStatus() == Villa.VillaStatus.COMPLETED) {
+                completedVillasByProject.merge(villa.getProject().getId(), 1, Integer::sum);
+            }
+        }
+
+        for (Project project : projectRepository.findAll()) {
+            record(changed, latest, today, ProgressSnapshot.EntityType.PROJECT, project.getId(), null,
+                    project.getProgress(), project.getVillasCount(), completedVillasByProject.get(project.getId()));
+        }
+        for (Villa villa : villas) {
+            record(changed, latest, today, ProgressSnapshot.EntityType.VILLA, villa.getId(), villa.getProject().getId(),
+                    villa.getProgress(), villa.getCategoriesCount(), villa.getCompletedCategories());
+        }
+        for (Category category : categoryRepository.findAll()) {
+            record(changed, latest, today, ProgressSnapshot.EntityType.CATEGORY, category.getId(), category.getVillaId(),
+                    category.getProgress(), category.getTasksCount(), category.getCompletedTasks());
+        }
+
+        progressSnapshotRepository.saveAll(changed);
+        System.out.println("Progress snapshot for " + today + ": " + changed.size() + " changed entities");
+        return changed.size();
+    }
+
+    @Transactional(readOnly = true)
+    public ProgressSeriesDTO getSeries(ProgressSnapshot.EntityType entityType, Long entityId, LocalDate from, LocalDate to) {
+        List<ProgressSnapshot> rows = progressSnapshotRepository.findSeries(entityType, entityId, from, to);
+        return new ProgressSeriesDTO(entityType, entityId, rows, from, to);
+    }
+
+    /**
+     * Series of every villa of a project (entityType VILLA) or every category of a villa (CATEGORY).
+     */
+    @Transactional(readOnly = true)
+    public List<ProgressSeriesDTO> getChildSeries(ProgressSnapshot.EntityType entityType, Long parentId, LocalDate from, LocalDate to) {
+        Map<Long, List<ProgressSnapshot>> rowsByEntity = new LinkedHashMap<>();
+        for (ProgressSnapshot row : progressSnapshotRepository.findSeriesByParent(entityType, parentId, from, to)) {
+            rowsByEntity.computeIfAbsent(row.getEntityId(), id -> new ArrayList<>()).add(row);
+        }
+        List<ProgressSeriesDTO> series = new ArrayList<>();
+        rowsByEntity.forEach((entityId, rows) -> series.add(new ProgressSeriesDTO(entityType, entityId, rows, from, to)));
+        return series;
+    }
+
+    private void record(List<ProgressSnapshot> changed, Map<String, ProgressSnapshot> latest, LocalDate today,
+                        ProgressSnapshot.EntityType entityType, Long entityId, Long parentId,
+                        Integer progress, Integer totalCount, Integer completedCount) {
+        int progressValue = progress != null ? progress : 0;
+        int totalValue = totalCount != null ? totalCount : 0;
+        int completedValue = completedCount != null ? completedCount : 0;
+
+        ProgressSnapshot last = latest.get(key(entityType, entityId));
+        if (last != null && last.hasValues(progressValue, totalValue, completedValue)) {
+            return;
+        }
+        ProgressSnapshot row = last != null && last.getSnapshotDate().equals(today)
+                ? last
+                : new ProgressSnapshot(entityType, entityId, parentId, today);
+        row.setParentId(parentId);
+        row.setValues(progressValue, totalValue, completedValue);
+        changed.add(row);
+    }
+
+    private static String key(ProgressSnapshot.EntityType entityType, Long entityId) {
+        return entityType + ":" + entityId;
+    }
+}
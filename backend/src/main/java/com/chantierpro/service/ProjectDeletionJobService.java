@@ -0,0 +1,79 @@
+package com.chantierpro.service;
+
+import com.chantierpro.dto.DeletionJobDTO;
+import com.chantierpro.repository.VillaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Physically removes a (soft-deleted) project in the background instead of waiting for
+ * the off-peak purge. Each villa subtree is removed in its own short transaction, so locks
+ * are held briefly and the job reports progress as it goes. Job state is kept in memory only.
+ */
+@Service
+public class ProjectDeletionJobService {
+
+    @Autowired
+    private VillaRepository villaRepository;
+
+    @Autowired
+    private BulkDeleteService bulkDeleteService;
+
+    @Autowired
+    private TaskExecutor taskExecutor;
+
+    private final Map<String, DeletionJobDTO> jobs = new ConcurrentHashMap<>();
+
+    /**
+     * Starts purging the project's rows. The caller is expected to have (soft) deleted the
+     * project first, which also records its tombstone.
+     */
+    public DeletionJobDTO submit(Long projectId) {
+        purgeFinishedJobs();
+        DeletionJobDTO job = new DeletionJobDTO(UUID.randomUUID().toString(), projectId);
+        jobs.put(job.getId(), job);
+        taskExecutor.execute(() -> run(job));
+        return job;
+    }
+
+    public Optional<DeletionJobDTO> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    private void run(DeletionJobDTO job) {
+        job.setStatus(DeletionJobDTO.Status.RUNNING);
+        try {
+            List<Long> villaIds = villaRepository.findIdsByProjectId(job.getProjectId());
+            job.setTotalVillas(villaIds.size());
+
+            for (Long villaId : villaIds) {
+                bulkDeleteService.deleteVillaTree(villaId);
+                job.setDeletedVillas(job.getDeletedVillas() + 1);
+            }
+            bulkDeleteService.deleteProjectRow(job.getProjectId());
+
+            job.setStatus(DeletionJobDTO.Status.COMPLETED);
+            System.out.println("Background deletion of project " + job.getProjectId() + " completed (" + villaIds.size() + " villas)");
+        } catch (Exception e) {
+            System.err.println("Background deletion of project " + job.getProjectId() + " failed: " + e.getMessage());
+            e.printStackTrace();
+            job.setError(e.getMessage());
+            job.setStatus(DeletionJobDTO.Status.FAILED);
+        } finally {
+            job.setFinishedAt(LocalDateTime.now());
+        }
+    }
+
+    private void purgeFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(1);
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff));
+    }
+}
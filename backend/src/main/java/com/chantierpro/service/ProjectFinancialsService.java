@@ -0,0 +1,44 @@
+package com.chantierpro.service;
+
+import com.chantierpro.dto.ProjectFinancialsDTO;
+import com.chantierpro.dto.TaskAmountGroupRow;
+import com.chantierpro.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Project finance figures from a single grouped query. The database returns one row per
+ * (villa, category, team, status, paid, received) group; totals and the per-villa,
+ * per-category and per-team breakdowns are all rolled up from those rows in one pass.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ProjectFinancialsService {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    public ProjectFinancialsDTO getProjectFinancials(Long projectId) {
+        ProjectFinancialsDTO financials = new ProjectFinancialsDTO(projectId);
+        Map<Long, ProjectFinancialsDTO.Breakdown> villas = new LinkedHashMap<>();
+        Map<Long, ProjectFinancialsDTO.Breakdown> categories = new LinkedHashMap<>();
+        Map<Long, ProjectFinancialsDTO.Breakdown> teams = new LinkedHashMap<>();
+
+        for (TaskAmountGroupRow row : taskRepository.sumAmountsByProjectIdGrouped(projectId)) {
+            financials.getTotals().add(row);
+            villas.computeIfAbsent(row.getVillaId(), id -> new ProjectFinancialsDTO.Breakdown(id, row.getVillaName())).add(row);
+            categories.computeIfAbsent(row.getCategoryId(), id -> new ProjectFinancialsDTO.Breakdown(id, row.getCategoryName())).add(row);
+            // Unassigned tasks are grouped under a null team id
+            teams.computeIfAbsent(row.getTeamId(), id -> new ProjectFinancialsDTO.Breakdown(id, row.getTeamName())).add(row);
+        }
+
+        financials.getVillas().addAll(villas.values());
+        financials.getCategories().addAll(categories.values());
+        financials.getTeams().addAll(teams.values());
+        return financials;
+    }
+}
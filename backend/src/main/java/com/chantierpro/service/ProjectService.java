@@ -2,12 +2,16 @@ package com.chantierpro.service;
 
 import com.chantierpro.entity.Project;
 import com.chantierpro.entity.Villa;
+import com.chantierpro.repository.CategoryRepository;
 import com.chantierpro.repository.ProjectRepository;
+import com.chantierpro.repository.TaskRepository;
 import com.chantierpro.repository.VillaRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,6 +25,27 @@ public class ProjectService {
     @Autowired
     private VillaRepository villaRepository;
 
+    @Autowired
+    private DeletionLogService deletionLogService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ProjectSummaryService projectSummaryService;
+
+    @Autowired
+    private ForecastService forecastService;
+
+    @Autowired
+    private TeamAvailabilityService teamAvailabilityService;
+
+    @Autowired
+    private TeamLeaderboardService teamLeaderboardService;
+
     public List<Project> getAllProjects() {
         return projectRepository.findAllOrderByCreatedAtDesc();
     }
@@ -30,7 +55,9 @@ public class ProjectService {
     }
 
     public Project createProject(Project project) {
-        return projectRepository.save(project);
+        Project savedProject = projectRepository.save(project);
+        projectSummaryService.refresh(savedProject.getId());
+        return savedProject;
     }
 
     public Project updateProject(Long id, Project projectDetails) {
@@ -46,13 +73,28 @@ public class ProjectService {
         project.setProgress(projectDetails.getProgress());
         project.setPicProject(projectDetails.getPicProject());
 
-        return projectRepository.save(project);
+        Project savedProject = projectRepository.save(project);
+        projectSummaryService.refresh(id);
+        // Dates and progress feed the forecast, so drop the cached one
+        forecastService.invalidate(id);
+        return savedProject;
     }
 
     public void deleteProject(Long id) {
         Project project = projectRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Project not found with id: " + id));
-        projectRepository.delete(project);
+        deletionLogService.recordProjectDeletion(project);
+
+        // Soft delete the whole subtree; SoftDeletePurgeService removes the rows off-peak
+        LocalDateTime now = LocalDateTime.now();
+        taskRepository.softDeleteByProjectId(id, now);
+        categoryRepository.softDeleteByProjectId(id, now);
+        villaRepository.softDeleteByProjectId(id, now);
+        projectRepository.softDeleteById(id, now);
+        teamAvailabilityService.markStale();
+        teamLeaderboardService.markStale();
+        projectSummaryService.remove(id);
+        forecastService.invalidate(id);
     }
 
     public List<Project> searchProjects(String searchTerm) {
@@ -70,6 +112,7 @@ public class ProjectService {
      * @param projectId The ID of the project to update
      */
     @Transactional
+    @Timed(value = "chantierpro.rollup", extraTags = {"level", "project"})
     public void updateProjectStats(Long projectId) {
         try {
             Project project = projectRepository.findById(projectId)
@@ -125,6 +168,8 @@ public class ProjectService {
             }
 
             projectRepository.save(project);
+            projectSummaryService.refreshProjectFigures(projectId);
+            forecastService.invalidate(projectId);
         } catch (Exception e) {
             System.err.println("Error updating project stats for ID " + projectId + ": " + e.getMessage());
             e.printStackTrace();
@@ -132,6 +177,21 @@ public class ProjectService {
         }
     }
     
+    /**
+     * Roll-up after tasks were added or removed in bulk (imports, cloning, generation, villa
+     * and category deletion): the summary row's task figures are recounted from the tasks
+     * instead of being patched task by task. Timed on its own, as the inner updateProjectStats
+     * call does not go through the proxy.
+     *
+     * @param projectId The ID of the project to update
+     */
+    @Transactional
+    @Timed(value = "chantierpro.rollup", extraTags = {"level", "project-bulk"})
+    public void updateProjectStatsAndRecountTasks(Long projectId) {
+        updateProjectStats(projectId);
+        projectSummaryService.refresh(projectId);
+    }
+
     /**
      * Helper method to update a project's status based on its progress percentage
      * 
@@ -0,0 +1,448 @@
+package com.chantierpro.service;
+
+import com.chantierpro.entity.Category;
+import com.chantierpro.entity.Project;
+import com.chantierpro.entity.Task;
+import com.chantierpro.entity.TaskTemplate;
+import com.chantierpro.entity.Team;
+import com.chantierpro.entity.Villa;
+import com.chantierpro.repository.CategoryRepository;
+import com.chantierpro.repository.ProjectRepository;
+import com.chantierpro.repository.TaskBatchRepository;
+import com.chantierpro.repository.TaskRepository;
+import com.chantierpro.repository.TaskTemplateRepository;
+import com.chantierpro.repository.TeamRepository;
+import com.chantierpro.repository.VillaRepository;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Whole-project snapshots, used both as a backup and to start a new project from an existing one.
+ *
+ * The snapshot nests tasks under their category and categories under their villa:
+ * {"format", "version", "exportedAt", "project": {...}, "villas": [{..., "categories": [{..., "tasks": [...]}]}]}.
+ * Ids are not carried over; only team and template references are kept, since those are shared
+ * across projects. Derived figures (counts, progress roll-ups) are left out and recomputed on import.
+ */
+@Service
+public class ProjectSnapshotService {
+
+    public static final String FORMAT = "chantierpro-project-snapshot";
+    public static final int VERSION = 1;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private VillaRepository villaRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private TaskTemplateRepository taskTemplateRepository;
+
+    @Autowired
+    private TaskBatchRepository taskBatchRepository;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private VillaService villaService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TeamAvailabilityService teamAvailabilityService;
+
+    @Autowired
+    private TeamLeaderboardService teamLeaderboardService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Streams the snapshot of a project. Villas and categories are loaded up front (they are
+     * few), tasks come from a single streaming cursor in villa/category order and are merged in.
+     */
+    @Transactional(readOnly = true)
+    public void writeSnapshot(Long projectId, OutputStream out) throws IOException {
+        long started = System.currentTimeMillis();
+        Project project = projectRepository.findById(projectId)
+                .orElseThrow(() -> new RuntimeException("Project not found with id: " + projectId));
+
+        List<Villa> villas = new ArrayList<>(villaRepository.findByProjectId(projectId));
+        villas.sort(Comparator.comparing(Villa::getId));
+        Map<Long, List<Category>> categoriesByVilla = categoryRepository.findByProjectId(projectId).stream()
+                .sorted(Comparator.comparing(Category::getId))
+                .collect(Collectors.groupingBy(Category::getVillaId));
+
+        CountingOutputStream counter = new CountingOutputStream(out);
+        int taskCount = 0;
+        try (JsonGenerator gen = objectMapper.getFactory().createGenerator(counter, JsonEncoding.UTF8);
+             Stream<Task> taskStream = taskRepository.streamByProjectIdInTreeOrder(projectId)) {
+            Iterator<Task> tasks = taskStream.iterator();
+            Task next = tasks.hasNext() ? tasks.next() : null;
+
+            gen.writeStartObject();
+            gen.writeStringField("format", FORMAT);
+            gen.writeNumberField("version", VERSION);
+            gen.writeObjectField("exportedAt", LocalDateTime.now());
+
+            gen.writeObjectFieldStart("project");
+            gen.writeStringField("name", project.getName());
+            gen.writeStringField("type", project.getType());
+            gen.writeStringField("location", project.getLocation());
+            gen.writeObjectField("startDate", project.getStartDate());
+            gen.writeObjectField("endDate", project.getEndDate());
+            gen.writeObjectField("status", project.getStatus());
+            gen.writeStringField("picProject", project.getPicProject());
+            gen.writeEndObject();
+
+            gen.writeArrayFieldStart("villas");
+            for (Villa villa : villas) {
+                gen.writeStartObject();
+                gen.writeStringField("name", villa.getName());
+                gen.writeStringField("type", villa.getType());
+                gen.writeObjectField("surface", villa.getSurface());
+                gen.writeArrayFieldStart("categories");
+                for (Category category : categoriesByVilla.getOrDefault(villa.getId(), List.of())) {
+                    gen.writeStartObject();
+                    gen.writeStringField("name", category.getName());
+                    gen.writeObjectField("startDate", category.getStartDate());
+                    gen.writeObjectField("endDate", category.getEndDate());
+                    gen.writeArrayFieldStart("tasks");
+                    while (next != null && category.getId().equals(next.getCategoryId())) {
+                        writeTask(gen, next);
+                        entityManager.detach(next);
+                        taskCount++;
+                        next = tasks.hasNext() ? tasks.next() : null;
+                    }
+                    gen.writeEndArray();
+                    gen.writeEndObject();
+                }
+                gen.writeEndArray();
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+            gen.writeEndObject();
+        }
+        System.out.println("Exported snapshot of project " + projectId + ": " + villas.size() + " villas, "
+                + taskCount + " tasks, " + counter.getCount() + " bytes in " + (System.currentTimeMillis() - started) + " ms");
+    }
+
+    /**
+     * Creates a new project from a snapshot. The document is parsed as a stream and each villa
+     * (with its categories and tasks) is inserted and rolled up in its own transaction, tasks as
+     * one JDBC batch, so the work per villa does not grow with the size of the project.
+     * If anything fails the partially imported project is deleted again.
+     *
+     * @param in    Snapshot document
+     * @param name  Name of the new project; defaults to the snapshot's project name
+     * @param reset When true the copy starts from scratch: tasks pending at 0%, unpaid,
+     *              actual dates equal to the planned ones (cloning); otherwise progress and
+     *              payment flags are restored as exported (backup)
+     * @return The new project, with its stats rolled up
+     */
+    public Project importSnapshot(InputStream in, String name, boolean reset) throws IOException {
+        long started = System.currentTimeMillis();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Map<Long, Team> teams = teamRepository.findAll().stream()
+                .collect(Collectors.toMap(Team::getId, team -> team));
+        Map<Long, TaskTemplate> templates = taskTemplateRepository.findAll().stream()
+                .collect(Collectors.toMap(TaskTemplate::getId, template -> template));
+
+        Project project = null;
+        int categoryCount = 0;
+        int villaCount = 0;
+        int taskCount = 0;
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("Snapshot must be a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                switch (field) {
+                    case "format" -> {
+                        if (!FORMAT.equals(parser.getText())) {
+                            throw new IllegalArgumentException("Not a project snapshot: " + parser.getText());
+                        }
+                    }
+                    case "version" -> {
+                        if (parser.getIntValue() > VERSION) {
+                            throw new IllegalArgumentException("Unsupported snapshot version: " + parser.getIntValue());
+                        }
+                    }
+                    case "project" -> {
+                        Project created = toProject(parser.readValueAsTree(), name);
+                        project = transactionTemplate.execute(status -> projectRepository.save(created));
+                    }
+                    case "villas" -> {
+                        if (project == null) {
+                            throw new IllegalArgumentException("Snapshot must list the project before its villas");
+                        }
+                        if (parser.currentToken() != JsonToken.START_ARRAY) {
+                            throw new IllegalArgumentException("villas must be an array");
+                        }
+                        Project owner = project;
+                        while (parser.nextToken() == JsonToken.START_OBJECT) {
+                            JsonNode villaNode = parser.readValueAsTree();
+                            int[] inserted = transactionTemplate.execute(status ->
+                                    importVilla(owner, villaNode, reset, teams, templates));
+                            categoryCount += inserted[0];
+                            taskCount += inserted[1];
+                            villaCount++;
+                        }
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+        } catch (ConstraintViolationException e) {
+            discardPartialImport(project, e);
+            throw new IllegalArgumentException("Invalid snapshot: " + e.getConstraintViolations().stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .collect(Collectors.joining(", ")));
+        } catch (DataIntegrityViolationException e) {
+            discardPartialImport(project, e);
+            throw new IllegalArgumentException("Invalid snapshot: " + e.getMostSpecificCause().getMessage());
+        } catch (IOException | RuntimeException e) {
+            discardPartialImport(project, e);
+            throw e;
+        }
+        if (project == null) {
+            throw new IllegalArgumentException("Snapshot has no project");
+        }
+
+        projectService.updateProjectStatsAndRecountTasks(project.getId());
+        teamAvailabilityService.markStale();
+        teamLeaderboardService.markStale();
+        System.out.println("Imported snapshot as project " + project.getId() + ": " + villaCount + " villas, "
+                + categoryCount + " categories, " + taskCount + " tasks in " + (System.currentTimeMillis() - started) + " ms");
+        return projectRepository.findById(project.getId()).orElse(project);
+    }
+
+    private void discardPartialImport(Project project, Exception cause) {
+        if (project != null) {
+            System.err.println("Snapshot import failed, removing partial project " + project.getId() + ": " + cause.getMessage());
+            try {
+                projectService.deleteProject(project.getId());
+            } catch (RuntimeException e) {
+                // Keep reporting the import error; the partial project stays for manual cleanup
+                System.err.println("Could not remove partial project " + project.getId() + ": " + e.getMessage());
+                cause.addSuppressed(e);
+            }
+        }
+    }
+
+    private Project toProject(JsonNode node, String name) {
+        Project project = new Project();
+        project.setName(name != null && !name.isBlank() ? name : text(node, "name"));
+        project.setType(text(node, "type"));
+        project.setLocation(text(node, "location"));
+        project.setStartDate(date(node, "startDate"));
+        project.setEndDate(date(node, "endDate"));
+        if (text(node, "status") != null) {
+            project.setStatus(enumValue(node, "status", Project.ProjectStatus.class, null));
+        }
+        project.setPicProject(text(node, "picProject"));
+        return project;
+    }
+
+    /**
+     * Inserts one villa subtree and rolls up its categories and the villa itself, while the
+     * villa is all the persistence context holds; the project is rolled up once at the end.
+     *
+     * @return The number of categories and tasks inserted
+     */
+    private int[] importVilla(Project project, JsonNode villaNode, boolean reset, Map<Long, Team> teams,
+                              Map<Long, TaskTemplate> templates) {
+        Villa villa = new Villa();
+        villa.setProject(project);
+        villa.setName(text(villaNode, "name"));
+        villa.setType(text(villaNode, "type"));
+        villa.setSurface(villaNode.path("surface").isNumber() ? villaNode.get("surface").intValue() : null);
+        villa = villaRepository.save(villa);
+
+        List<Task> tasks = new ArrayList<>();
+        Set<Long> categoryIds = new LinkedHashSet<>();
+        for (JsonNode categoryNode : villaNode.path("categories")) {
+            Category category = new Category();
+            category.setVilla(villa);
+            category.setName(text(categoryNode, "name"));
+            category.setStartDate(date(categoryNode, "startDate"));
+            category.setEndDate(date(categoryNode, "endDate"));
+            category = categoryRepository.save(category);
+            categoryIds.add(category.getId());
+
+            for (JsonNode taskNode : categoryNode.path("tasks")) {
+                tasks.add(toTask(taskNode, villa, category, reset, teams, templates));
+            }
+        }
+        int inserted = taskBatchRepository.insertAll(tasks);
+        categoryService.recalculateCategoryStatsInBulk(categoryIds);
+        villaService.recalculateVillaStatsInBulk(List.of(villa.getId()));
+        return new int[]{categoryIds.size(), inserted};
+    }
+
+    private Task toTask(JsonNode node, Villa villa, Category category, boolean reset,
+                        Map<Long, Team> teams, Map<Long, TaskTemplate> templates) {
+        Task task = new Task();
+        task.setVilla(villa);
+        task.setCategory(category);
+        // Teams and templates are shared across projects; dangling references are dropped
+        task.setTeam(node.path("teamId").isNumber() ? teams.get(node.get("teamId").longValue()) : null);
+        task.setTemplate(node.path("templateId").isNumber() ? templates.get(node.get("templateId").longValue()) : null);
+        task.setName(text(node, "name"));
+        task.setDescription(text(node, "description"));
+        // Tasks are inserted over JDBC, without bean validation, so required dates are checked here
+        task.setPlannedStartDate(requiredDate(node, "plannedStartDate"));
+        task.setPlannedEndDate(requiredDate(node, "plannedEndDate"));
+        task.setAmount(node.path("amount").isNumber() ? node.get("amount").decimalValue() : null);
+        task.setRemarks(text(node, "remarks"));
+
+        if (reset) {
+            task.setStartDate(task.getPlannedStartDate());
+            task.setEndDate(task.getPlannedEndDate());
+        } else {
+            task.setStartDate(requiredDate(node, "startDate"));
+            task.setEndDate(requiredDate(node, "endDate"));
+            task.setStatus(enumValue(node, "status", Task.TaskStatus.class, Task.TaskStatus.PENDING));
+            task.setProgress(node.path("progress").asInt(0));
+            task.setProgressStatus(enumValue(node, "progressStatus", Task.ProgressStatus.class, Task.ProgressStatus.ON_SCHEDULE));
+            task.setIsReceived(node.path("isReceived").asBoolean(false));
+            task.setIsPaid(node.path("isPaid").asBoolean(false));
+        }
+        return task;
+    }
+
+    private void writeTask(JsonGenerator gen, Task task) throws IOException {
+        gen.writeStartObject();
+        gen.writeStringField("name", task.getName());
+        gen.writeStringField("description", task.getDescription());
+        gen.writeObjectField("teamId", task.getTeamId());
+        gen.writeObjectField("templateId", task.getTemplate() != null ? task.getTemplate().getId() : null);
+        gen.writeObjectField("plannedStartDate", task.getPlannedStartDate());
+        gen.writeObjectField("plannedEndDate", task.getPlannedEndDate());
+        gen.writeObjectField("startDate", task.getStartDate());
+        gen.writeObjectField("endDate", task.getEndDate());
+        gen.writeObjectField("status", task.getStatus());
+        gen.writeObjectField("progress", task.getProgress());
+        gen.writeObjectField("progressStatus", task.getProgressStatus());
+        gen.writeObjectField("isReceived", task.getIsReceived());
+        gen.writeObjectField("isPaid", task.getIsPaid());
+        gen.writeObjectField("amount", task.getAmount());
+        gen.writeStringField("remarks", task.getRemarks());
+        gen.writeEndObject();
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private static LocalDate date(JsonNode node, String field) {
+        String value = text(node, field);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date for " + field + ": " + value);
+        }
+    }
+
+    private static LocalDate requiredDate(JsonNode node, String field) {
+        LocalDate value = date(node, field);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing " + field + " for task " + text(node, "name"));
+        }
+        return value;
+    }
+
+    private static <E extends Enum<E>> E enumValue(JsonNode node, String field, Class<E> type, E defaultValue) {
+        String value = text(node, field);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Enum.valueOf(type, value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid value for " + field + ": " + value
+                    + " (expected one of " + Arrays.toString(type.getEnumConstants()) + ")");
+        }
+    }
+
+    /**
+     * Counts the bytes of the exported snapshot for the export log line.
+     */
+    private static class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        long getCount() {
+            return count;
+        }
+    }
+}
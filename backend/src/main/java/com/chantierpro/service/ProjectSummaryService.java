@@ -0,0 +1,94 @@
+package com.chantierpro.service;
+
+import com.chantierpro.dto.TaskSummaryFigures;
+import com.chantierpro.entity.ProjectSummary;
+import com.chantierpro.repository.ProjectSummaryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains the project_summary table behind the portfolio dashboard, so reads never
+ * aggregate over tasks. Single task writes patch the task figures of a row by their delta;
+ * the project and villa figures are refreshed whenever the project's stats are rolled up
+ * (ProjectService.updateProjectStats). Bulk writes (imports, cloning, generation, villa and
+ * category deletion) recount the affected rows in full, as does a rebuild.
+ */
+@Service
+@Transactional
+public class ProjectSummaryService {
+
+    @Autowired
+    private ProjectSummaryRepository projectSummaryRepository;
+
+    @Transactional(readOnly = true)
+    public List<ProjectSummary> getAllSummaries() {
+        return projectSummaryRepository.findAllOrderByName();
+    }
+
+    /**
+     * Recomputes the summary row of one project from its live villas and tasks.
+     */
+    public void refresh(Long projectId) {
+        projectSummaryRepository.upsert(projectId);
+    }
+
+    /**
+     * Refreshes the project and villa figures of a project's row without reading its tasks.
+     * A project without a row yet is recomputed in full.
+     */
+    public void refreshProjectFigures(Long projectId) {
+        if (projectSummaryRepository.refreshProjectFigures(projectId) == 0) {
+            projectSummaryRepository.upsert(projectId);
+        }
+    }
+
+    /**
+     * Patches the rows touched by one task change with the difference it made. before is null
+     * for a new task and after for a deleted one; a task moved to another project is taken off
+     * one row and added to the other. Rows that do not exist yet are recomputed in full.
+     *
+     * @param before Figures of the task before the change, or null
+     * @param after  Figures of the task after the change, or null
+     */
+    public void applyTaskChange(TaskSummaryFigures before, TaskSummaryFigures after) {
+        Map<Long, TaskSummaryFigures> deltas = new LinkedHashMap<>();
+        if (before != null && before.getProjectId() != null) {
+            deltas.merge(before.getProjectId(), before.negate(), TaskSummaryFigures::plus);
+        }
+        if (after != null && after.getProjectId() != null) {
+            deltas.merge(after.getProjectId(), after, TaskSummaryFigures::plus);
+        }
+        deltas.forEach((projectId, delta) -> {
+            if (delta.isZero()) {
+                return;
+            }
+            int updated = projectSummaryRepository.applyTaskDelta(projectId, delta.getTasks(), delta.getCompletedTasks(),
+                    delta.getDelayedTasks(), delta.getTotalAmount(), delta.getPaidAmount());
+            if (updated == 0) {
+                projectSummaryRepository.upsert(projectId);
+            }
+        });
+    }
+
+    public void remove(Long projectId) {
+        projectSummaryRepository.deleteByProjectId(projectId);
+    }
+
+    /**
+     * Rebuilds the whole table, e.g. after a migration or manual SQL fixes.
+     *
+     * @return Number of project rows written
+     */
+    public int rebuild() {
+        int removed = projectSummaryRepository.deleteOrphans();
+        projectSummaryRepository.upsert(null);
+        long count = projectSummaryRepository.count();
+        System.out.println("Project summary rebuilt: " + count + " projects (" + removed + " stale rows removed)");
+        return (int) count;
+    }
+}
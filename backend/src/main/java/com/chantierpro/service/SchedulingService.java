@@ -0,0 +1,188 @@
+package com.chantierpro.service;
+
+import com.chantierpro.dto.VillaScheduleDTO;
+import com.chantierpro.entity.Task;
+import com.chantierpro.entity.TaskDependency;
+import com.chantierpro.repository.TaskDependencyRepository;
+import com.chantierpro.repository.TaskRepository;
+import com.chantierpro.repository.VillaRepository;
+import com.chantierpro.scheduling.CriticalPath;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Task dependencies and critical-path scheduling per villa.
+ * The schedule works on the tasks' current start/end dates; planned dates stay the baseline.
+ * A villa's graph is loaded with two queries (tasks, dependencies) and solved in memory.
+ */
+@Service
+@Transactional
+public class SchedulingService {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskDependencyRepository taskDependencyRepository;
+
+    @Autowired
+    private VillaRepository villaRepository;
+
+    /**
+     * Early/late dates, slack and critical flag of every task of a villa.
+     *
+     * @param villaId The ID of the villa
+     * @return The villa schedule
+     * @throws IllegalStateException if the villa's dependencies contain a cycle
+     */
+    @Transactional(readOnly = true)
+    public VillaScheduleDTO getVillaSchedule(Long villaId) {
+        List<Task> tasks = taskRepository.findByVillaId(villaId);
+        List<TaskDependency> dependencies = taskDependencyRepository.findByVillaId(villaId);
+        CriticalPath graph = graph(tasks, dependencies);
+        if (graph.hasCycle()) {
+            throw new IllegalStateException("Task dependencies of villa " + villaId
+                    + " contain a cycle; remove one of its links to get a schedule");
+        }
+        List<CriticalPath.ScheduledActivity> scheduled = graph.schedule();
+
+        Map<Long, List<Long>> predecessors = new HashMap<>();
+        for (TaskDependency dependency : dependencies) {
+            predecessors.computeIfAbsent(dependency.getSuccessorId(), k -> new ArrayList<>())
+                    .add(dependency.getPredecessorId());
+        }
+        List<VillaScheduleDTO.TaskEntry> entries = new ArrayList<>(tasks.size());
+        LocalDate handover = null;
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            CriticalPath.ScheduledActivity activity = scheduled.get(i);
+            entries.add(new VillaScheduleDTO.TaskEntry(task, activity,
+                    predecessors.getOrDefault(task.getId(), List.of())));
+            if (handover == null || activity.getEarlyFinish().isAfter(handover)) {
+                handover = activity.getEarlyFinish();
+            }
+        }
+        return new VillaScheduleDTO(villaId, handover, dependencies.size(), entries);
+    }
+
+    @Transactional(readOnly = true)
+    public List<TaskDependency> getDependencies(Long taskId) {
+        return taskDependencyRepository.findByTaskId(taskId);
+    }
+
+    /**
+     * Makes {@code successorId} wait for {@code predecessorId} and shifts the successor chain
+     * if it now starts too early. The villa row is locked first, so concurrent additions to the
+     * same villa are checked for cycles one after the other.
+     *
+     * @throws IllegalArgumentException if the tasks are in different villas, the link exists
+     *                                  already or it would create a cycle
+     */
+    public TaskDependency addDependency(Long successorId, Long predecessorId, Integer lagDays) {
+        if (successorId.equals(predecessorId)) {
+            throw new IllegalArgumentException("A task cannot depend on itself");
+        }
+        Task successor = taskRepository.findById(successorId)
+                .orElseThrow(() -> new RuntimeException("Task not found with id: " + successorId));
+        Task predecessor = taskRepository.findById(predecessorId)
+                .orElseThrow(() -> new RuntimeException("Task not found with id: " + predecessorId));
+        Long villaId = successor.getVillaId();
+        if (!villaId.equals(predecessor.getVillaId())) {
+            throw new IllegalArgumentException("Dependent tasks must belong to the same villa");
+        }
+        villaRepository.findByIdForUpdate(villaId)
+                .orElseThrow(() -> new RuntimeException("Villa not found with id: " + villaId));
+        if (taskDependencyRepository.existsByPredecessorIdAndSuccessorId(predecessorId, successorId)) {
+            throw new IllegalArgumentException("Task " + successorId + " already depends on task " + predecessorId);
+        }
+
+        TaskDependency dependency = new TaskDependency(villaId, predecessorId, successorId,
+                lagDays != null ? lagDays : 0);
+        List<Task> tasks = taskRepository.findByVillaId(villaId);
+        List<TaskDependency> dependencies = new ArrayList<>(taskDependencyRepository.findByVillaId(villaId));
+        dependencies.add(dependency);
+        CriticalPath graph = graph(tasks, dependencies);
+        if (graph.hasCycle()) {
+            throw new IllegalArgumentException("Dependency " + predecessorId + " -> " + successorId + " would create a cycle");
+        }
+
+        TaskDependency saved = taskDependencyRepository.save(dependency);
+        applyShifts(tasks, graph.propagateDelays());
+        return saved;
+    }
+
+    public void removeDependency(Long dependencyId) {
+        TaskDependency dependency = taskDependencyRepository.findById(dependencyId)
+                .orElseThrow(() -> new RuntimeException("Task dependency not found with id: " + dependencyId));
+        taskDependencyRepository.delete(dependency);
+    }
+
+    /**
+     * Drops every link of a task, for a task moved to another villa: links never cross villas.
+     *
+     * @return Number of links removed
+     */
+    public int removeTaskDependencies(Long taskId) {
+        int removed = taskDependencyRepository.deleteByTaskId(taskId);
+        if (removed > 0) {
+            System.out.println("Removed " + removed + " dependencies of task " + taskId + " after a villa change");
+        }
+        return removed;
+    }
+
+    /**
+     * Pushes the successors of a villa's tasks later where a predecessor now ends too late
+     * for them. Called after task dates change; tasks are never pulled earlier.
+     *
+     * @param villaId The ID of the villa whose tasks moved
+     * @return Number of tasks shifted
+     */
+    public int propagateDelays(Long villaId) {
+        List<TaskDependency> dependencies = taskDependencyRepository.findByVillaId(villaId);
+        if (dependencies.isEmpty()) {
+            return 0;
+        }
+        List<Task> tasks = taskRepository.findByVillaId(villaId);
+        CriticalPath graph = graph(tasks, dependencies);
+        if (graph.hasCycle()) {
+            System.err.println("Task dependencies of villa " + villaId + " contain a cycle; delays not propagated");
+            return 0;
+        }
+        return applyShifts(tasks, graph.propagateDelays());
+    }
+
+    private int applyShifts(List<Task> tasks, Map<Long, Long> shifts) {
+        if (shifts.isEmpty()) {
+            return 0;
+        }
+        for (Task task : tasks) {
+            Long shift = shifts.get(task.getId());
+            if (shift != null) {
+                task.setStartDate(task.getStartDate().plusDays(shift));
+                task.setEndDate(task.getEndDate().plusDays(shift));
+            }
+        }
+        System.out.println("Shifted " + shifts.size() + " dependent tasks");
+        return shifts.size();
+    }
+
+    private static CriticalPath graph(List<Task> tasks, List<TaskDependency> dependencies) {
+        List<CriticalPath.Activity> activities = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            activities.add(new CriticalPath.Activity(task.getId(), task.getStartDate(), task.getEndDate()));
+        }
+        List<CriticalPath.Link> links = new ArrayList<>(dependencies.size());
+        for (TaskDependency dependency : dependencies) {
+            links.add(new CriticalPath.Link(dependency.getPredecessorId(), dependency.getSuccessorId(),
+                    dependency.getLagDays()));
+        }
+        return new CriticalPath(activities, links);
+    }
+}
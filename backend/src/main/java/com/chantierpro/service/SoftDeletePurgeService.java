@@ -0,0 +1,52 @@
+package com.chantierpro.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Physically removes soft-deleted projects, villas, categories and tasks during off-peak hours.
+ * Rows go in small batches, children before parents, each batch in its own transaction; the run
+ * stops once its time budget is spent and the next run picks up where it left off.
+ */
+@Service
+public class SoftDeletePurgeService {
+
+    @Autowired
+    private BulkDeleteService bulkDeleteService;
+
+    @Value("${chantierpro.purge.batch-size:500}")
+    private int batchSize;
+
+    @Value("${chantierpro.purge.max-duration-minutes:60}")
+    private long maxDurationMinutes;
+
+    @Scheduled(cron = "${chantierpro.purge.cron:0 0 2 * * *}")
+    public void purge() {
+        long deadline = System.nanoTime() + Duration.ofMinutes(maxDurationMinutes).toNanos();
+
+        int tasks = drain(bulkDeleteService::purgeTaskBatch, deadline);
+        int categories = drain(bulkDeleteService::purgeCategoryBatch, deadline);
+        int villas = drain(bulkDeleteService::purgeVillaBatch, deadline);
+        int projects = drain(bulkDeleteService::purgeProjectBatch, deadline);
+
+        System.out.println("Soft-delete purge removed " + tasks + " tasks, " + categories + " categories, "
+                + villas + " villas, " + projects + " projects");
+    }
+
+    private int drain(IntUnaryOperator batch, long deadline) {
+        int total = 0;
+        while (System.nanoTime() < deadline) {
+            int removed = batch.applyAsInt(batchSize);
+            if (removed == 0) {
+                break;
+            }
+            total += removed;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,213 @@
+package com.chantierpro.service;
+
+import com.chantierpro.entity.Category;
+import com.chantierpro.entity.DeletionLog;
+import com.chantierpro.entity.Project;
+import com.chantierpro.entity.Task;
+import com.chantierpro.entity.Villa;
+import com.chantierpro.repository.CategoryRepository;
+import com.chantierpro.repository.ProjectRepository;
+import com.chantierpro.repository.TaskRepository;
+import com.chantierpro.repository.VillaRepository;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+/**
+ * Writes incremental change sets for offline clients (site tablets).
+ * Every entity is streamed straight from the database cursor to the response
+ * and detached once written, so memory stays flat whatever the size of the delta.
+ */
+@Service
+public class SyncService {
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private VillaRepository villaRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private DeletionLogService deletionLogService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${chantierpro.sync.watermark-overlap-seconds:60}")
+    private long watermarkOverlapSeconds;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Streams every project, villa, category and task modified after {@code since},
+     * followed by the tombstones of rows deleted since then.
+     * The returned watermark is taken before reading and moved back by an overlap: updatedAt is
+     * stamped at flush time, so a transaction that flushed just before the read but commits after
+     * it would otherwise never be sent. Rows in the overlap are sent again by the next sync, and
+     * clients apply them by id.
+     * A watermark older than the tombstone retention window yields a full sync
+     * ({@code "full": true}), telling the client to rebuild its replica.
+     *
+     * @param since     Last watermark seen by the client, or null for a full sync
+     * @param projectId Restrict the change set to one project (optional)
+     * @param out       Target stream, left open for the caller
+     */
+    @Transactional(readOnly = true)
+    public void writeChanges(LocalDateTime since, Long projectId, OutputStream out) throws IOException {
+        LocalDateTime watermark = LocalDateTime.now().minusSeconds(watermarkOverlapSeconds);
+        boolean full = since == null || since.isBefore(deletionLogService.getRetentionHorizon());
+        LocalDateTime from = full ? EPOCH : since;
+
+        try (JsonGenerator gen = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            gen.writeStartObject();
+            gen.writeObjectField("watermark", watermark);
+            gen.writeBooleanField("full", full);
+
+            gen.writeArrayFieldStart("projects");
+            try (Stream<Project> projects = projectRepository.streamUpdatedSince(projectId, from)) {
+                projects.forEach(project -> write(gen, project, this::writeProject));
+            }
+            gen.writeEndArray();
+
+            gen.writeArrayFieldStart("villas");
+            try (Stream<Villa> villas = villaRepository.streamUpdatedSince(projectId, from)) {
+                villas.forEach(villa -> write(gen, villa, this::writeVilla));
+            }
+            gen.writeEndArray();
+
+            gen.writeArrayFieldStart("categories");
+            try (Stream<Category> categories = categoryRepository.streamUpdatedSince(projectId, from)) {
+                categories.forEach(category -> write(gen, category, this::writeCategory));
+            }
+            gen.writeEndArray();
+
+            gen.writeArrayFieldStart("tasks");
+            try (Stream<Task> tasks = taskRepository.streamUpdatedSince(projectId, from)) {
+                tasks.forEach(task -> write(gen, task, this::writeTask));
+            }
+            gen.writeEndArray();
+
+            gen.writeArrayFieldStart("tombstones");
+            if (!full) {
+                for (DeletionLog tombstone : deletionLogService.getDeletionsSince(projectId, from)) {
+                    write(gen, tombstone, this::writeTombstone);
+                }
+            }
+            gen.writeEndArray();
+
+            gen.writeEndObject();
+        }
+    }
+
+    private <T> void write(JsonGenerator gen, T entity, EntityWriter<T> writer) {
+        try {
+            gen.writeStartObject();
+            writer.write(gen, entity);
+            gen.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        entityManager.detach(entity);
+    }
+
+    // The project picture is deliberately left out: it is the heaviest column and
+    // changes far less often than the progress figures that bump updatedAt.
+    private void writeProject(JsonGenerator gen, Project project) throws IOException {
+        gen.writeNumberField("id", project.getId());
+        gen.writeStringField("name", project.getName());
+        gen.writeStringField("type", project.getType());
+        gen.writeStringField("location", project.getLocation());
+        gen.writeObjectField("startDate", project.getStartDate());
+        gen.writeObjectField("endDate", project.getEndDate());
+        gen.writeObjectField("status", project.getStatus());
+        gen.writeObjectField("progress", project.getProgress());
+        gen.writeObjectField("villasCount", project.getVillasCount());
+        gen.writeObjectField("alertsCount", project.getAlertsCount());
+        gen.writeObjectField("updatedAt", project.getUpdatedAt());
+    }
+
+    private void writeVilla(JsonGenerator gen, Villa villa) throws IOException {
+        gen.writeNumberField("id", villa.getId());
+        gen.writeNumberField("projectId", villa.getProject().getId());
+        gen.writeStringField("name", villa.getName());
+        gen.writeStringField("type", villa.getType());
+        gen.writeObjectField("surface", villa.getSurface());
+        gen.writeObjectField("progress", villa.getProgress());
+        gen.writeObjectField("status", villa.getStatus());
+        gen.writeObjectField("progressStatus", villa.getProgressStatus());
+        gen.writeObjectField("categoriesCount", villa.getCategoriesCount());
+        gen.writeObjectField("tasksCount", villa.getTasksCount());
+        gen.writeObjectField("completedCategories", villa.getCompletedCategories());
+        gen.writeObjectField("updatedAt", villa.getLastModified());
+    }
+
+    private void writeCategory(JsonGenerator gen, Category category) throws IOException {
+        gen.writeNumberField("id", category.getId());
+        gen.writeObjectField("villaId", category.getVillaId());
+        gen.writeStringField("name", category.getName());
+        gen.writeObjectField("startDate", category.getStartDate());
+        gen.writeObjectField("endDate", category.getEndDate());
+        gen.writeObjectField("progress", category.getProgress());
+        gen.writeObjectField("status", category.getStatus());
+        gen.writeObjectField("tasksCount", category.getTasksCount());
+        gen.writeObjectField("completedTasks", category.getCompletedTasks());
+        gen.writeObjectField("updatedAt", category.getUpdatedAt());
+    }
+
+    private void writeTask(JsonGenerator gen, Task task) throws IOException {
+        gen.writeNumberField("id", task.getId());
+        gen.writeObjectField("categoryId", task.getCategoryId());
+        gen.writeObjectField("villaId", task.getVillaId());
+        gen.writeObjectField("teamId", task.getTeamId());
+        gen.writeObjectField("templateId", task.getTemplate() != null ? task.getTemplate().getId() : null);
+        gen.writeStringField("name", task.getName());
+        gen.writeStringField("description", task.getDescription());
+        gen.writeObjectField("startDate", task.getStartDate());
+        gen.writeObjectField("endDate", task.getEndDate());
+        gen.writeObjectField("plannedStartDate", task.getPlannedStartDate());
+        gen.writeObjectField("plannedEndDate", task.getPlannedEndDate());
+        gen.writeObjectField("status", task.getStatus());
+        gen.writeObjectField("progress", task.getProgress());
+        gen.writeObjectField("progressStatus", task.getProgressStatus());
+        gen.writeObjectField("isReceived", task.getIsReceived());
+        gen.writeObjectField("isPaid", task.getIsPaid());
+        gen.writeObjectField("amount", task.getAmount());
+        gen.writeStringField("remarks", task.getRemarks());
+        gen.writeObjectField("updatedAt", task.getUpdatedAt());
+    }
+
+    private void writeTombstone(JsonGenerator gen, DeletionLog tombstone) throws IOException {
+        gen.writeStringField("type", tombstone.getEntityType().name());
+        gen.writeNumberField("id", tombstone.getEntityId());
+        gen.writeObjectField("projectId", tombstone.getProjectId());
+        gen.writeObjectField("villaId", tombstone.getVillaId());
+        gen.writeObjectField("categoryId", tombstone.getCategoryId());
+        gen.writeObjectField("deletedAt", tombstone.getDeletedAt());
+    }
+
+    @FunctionalInterface
+    private interface EntityWriter<T> {
+        void write(JsonGenerator gen, T entity) throws IOException;
+    }
+}
@@ -0,0 +1,100 @@
+package com.chantierpro.service;
+
+import com.chantierpro.dto.TaskExportRow;
+import com.chantierpro.entity.Task;
+import com.chantierpro.repository.TaskRepository;
+import com.chantierpro.util.CsvUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+/**
+ * Streams task and payment data (amount, received/paid flags) for finance exports.
+ * Rows flow from a MySQL streaming cursor to the response one at a time, so memory use
+ * does not depend on the number of exported tasks.
+ */
+@Service
+public class TaskExportService {
+
+    private static final String CSV_HEADER = "id,projectId,projectName,villaId,villaName,categoryId,categoryName,"
+            + "teamId,teamName,name,status,progress,plannedStartDate,plannedEndDate,startDate,endDate,"
+            + "amount,isReceived,isPaid";
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public void writeCsv(Long projectId, Long villaId, Long teamId, Task.TaskStatus status,
+                         Boolean isPaid, Boolean isReceived, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        try (Stream<TaskExportRow> rows = taskRepository.streamForExport(projectId, villaId, teamId, status, isPaid, isReceived)) {
+            rows.forEach(row -> writeLine(writer, toCsv(row)));
+        }
+        writer.flush();
+    }
+
+    @Transactional(readOnly = true)
+    public void writeNdjson(Long projectId, Long villaId, Long teamId, Task.TaskStatus status,
+                            Boolean isPaid, Boolean isReceived, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        ObjectWriter rowWriter = objectMapper.writerFor(TaskExportRow.class);
+        try (Stream<TaskExportRow> rows = taskRepository.streamForExport(projectId, villaId, teamId, status, isPaid, isReceived)) {
+            rows.forEach(row -> {
+                try {
+                    writeLine(writer, rowWriter.writeValueAsString(row));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+        writer.flush();
+    }
+
+    private void writeLine(Writer writer, String line) {
+        try {
+            writer.write(line);
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String toCsv(TaskExportRow row) {
+        return String.join(",",
+                CsvUtils.escape(row.getId()),
+                CsvUtils.escape(row.getProjectId()),
+                CsvUtils.escape(row.getProjectName()),
+                CsvUtils.escape(row.getVillaId()),
+                CsvUtils.escape(row.getVillaName()),
+                CsvUtils.escape(row.getCategoryId()),
+                CsvUtils.escape(row.getCategoryName()),
+                CsvUtils.escape(row.getTeamId()),
+                CsvUtils.escape(row.getTeamName()),
+                CsvUtils.escape(row.getName()),
+                CsvUtils.escape(row.getStatus()),
+                CsvUtils.escape(row.getProgress()),
+                CsvUtils.escape(row.getPlannedStartDate()),
+                CsvUtils.escape(row.getPlannedEndDate()),
+                CsvUtils.escape(row.getStartDate()),
+                CsvUtils.escape(row.getEndDate()),
+                CsvUtils.escape(row.getAmount() != null ? row.getAmount().toPlainString() : null),
+                CsvUtils.escape(row.getIsReceived()),
+                CsvUtils.escape(row.getIsPaid()));
+    }
+}
@@ -0,0 +1,413 @@
+package com.chantierpro.service;
+
+import com.chantierpro.dto.TaskImportResultDTO;
+import com.chantierpro.entity.Category;
+import com.chantierpro.entity.Task;
+import com.chantierpro.entity.TaskTemplate;
+import com.chantierpro.entity.Team;
+import com.chantierpro.entity.Villa;
+import com.chantierpro.repository.CategoryRepository;
+import com.chantierpro.repository.TaskBatchRepository;
+import com.chantierpro.repository.TaskTemplateRepository;
+import com.chantierpro.repository.TeamRepository;
+import com.chantierpro.repository.VillaRepository;
+import com.chantierpro.util.CsvUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.LineNumberReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk import of tasks into an existing project from CSV (header row required) or NDJSON.
+ * Villas, categories, teams and templates are referenced by name and resolved through
+ * lookups loaded once per import. Rows are read one at a time and inserted in JDBC batches;
+ * invalid rows are reported and skipped, and stats are rolled up once at the end.
+ *
+ * Recognised columns: villa, category, name, template, team, description, plannedStartDate,
+ * plannedEndDate, startDate, endDate, status, progress, amount, isReceived, isPaid, remarks.
+ */
+@Service
+public class TaskImportService {
+
+    @Autowired
+    private VillaRepository villaRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private TaskTemplateRepository taskTemplateRepository;
+
+    @Autowired
+    private TaskBatchRepository taskBatchRepository;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private TeamAvailabilityService teamAvailabilityService;
+
+    @Autowired
+    private TeamLeaderboardService teamLeaderboardService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${chantierpro.import.batch-size:500}")
+    private int batchSize;
+
+    @Value("${chantierpro.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    public TaskImportResultDTO importCsv(Long projectId, InputStream in) throws IOException {
+        ImportRun run = new ImportRun(projectId);
+        LineNumberReader reader = new LineNumberReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        List<String> header = null;
+        String line;
+        int nextLineNumber = 1;
+        // Records are reported by their first line; quoted values may span several
+        while ((line = CsvUtils.readRecord(reader)) != null) {
+            int lineNumber = nextLineNumber;
+            nextLineNumber = reader.getLineNumber() + 1;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (header == null) {
+                header = new ArrayList<>();
+                for (String column : CsvUtils.parseLine(stripBom(line))) {
+                    header.add(column.trim().toLowerCase(Locale.ROOT));
+                }
+                continue;
+            }
+            List<String> values = CsvUtils.parseLine(line);
+            Map<String, String> fields = new HashMap<>();
+            for (int i = 0; i < header.size() && i < values.size(); i++) {
+                fields.put(header.get(i), values.get(i));
+            }
+            run.accept(lineNumber, fields);
+        }
+        return run.finish();
+    }
+
+    public TaskImportResultDTO importNdjson(Long projectId, InputStream in) throws IOException {
+        ImportRun run = new ImportRun(projectId);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(stripBom(line));
+            } catch (JsonProcessingException e) {
+                run.rejectUnparsed(lineNumber, "Invalid JSON: " + e.getOriginalMessage());
+                continue;
+            }
+            if (!node.isObject()) {
+                run.rejectUnparsed(lineNumber, "Expected a JSON object");
+                continue;
+            }
+            Map<String, String> fields = new HashMap<>();
+            Iterator<Map.Entry<String, JsonNode>> it = node.fields();
+            while (it.hasNext()) {
+                Map.Entry<String, JsonNode> field = it.next();
+                if (!field.getValue().isNull()) {
+                    fields.put(field.getKey().toLowerCase(Locale.ROOT), field.getValue().asText());
+                }
+            }
+            run.accept(lineNumber, fields);
+        }
+        return run.finish();
+    }
+
+    private static String stripBom(String line) {
+        return line.startsWith("\uFEFF") ? line.substring(1) : line;
+    }
+
+    /**
+     * State of one import: name lookups, the pending batch and the result being built.
+     */
+    private class ImportRun {
+
+        private final Long projectId;
+        private final Map<String, Villa> villasByName = new HashMap<>();
+        private final Map<String, Category> categoriesByVillaAndName = new HashMap<>();
+        private final Map<String, Team> teamsByName = new HashMap<>();
+        private final Map<String, TaskTemplate> templatesByName = new HashMap<>();
+        private final TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        private final List<Task> batch = new ArrayList<>();
+        private final List<Integer> batchRows = new ArrayList<>();
+        private final Set<Long> touchedCategoryIds = new LinkedHashSet<>();
+        private final TaskImportResultDTO result = new TaskImportResultDTO();
+
+        ImportRun(Long projectId) {
+            this.projectId = projectId;
+            // Duplicate names keep the first match
+            for (Villa villa : villaRepository.findByProjectId(projectId)) {
+                villasByName.putIfAbsent(key(villa.getName()), villa);
+            }
+            for (Category category : categoryRepository.findByProjectId(projectId)) {
+                categoriesByVillaAndName.putIfAbsent(category.getVilla().getId() + "|" + key(category.getName()), category);
+            }
+            for (Team team : teamRepository.findAll()) {
+                teamsByName.putIfAbsent(key(team.getName()), team);
+            }
+            for (TaskTemplate template : taskTemplateRepository.findAll()) {
+                templatesByName.putIfAbsent(key(template.getName()), template);
+            }
+        }
+
+        void accept(int row, Map<String, String> fields) {
+            result.setTotalRows(result.getTotalRows() + 1);
+            Task task;
+            try {
+                task = toTask(fields);
+            } catch (IllegalArgumentException e) {
+                reject(row, e.getMessage());
+                return;
+            }
+            batch.add(task);
+            batchRows.add(row);
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        /**
+         * Reports a row that could not even be parsed into fields.
+         */
+        void rejectUnparsed(int row, String message) {
+            result.setTotalRows(result.getTotalRows() + 1);
+            reject(row, message);
+        }
+
+        private void reject(int row, String message) {
+            result.setFailedRows(result.getFailedRows() + 1);
+            if (result.getErrors().size() < maxReportedErrors) {
+                result.getErrors().add(new TaskImportResultDTO.RowError(row, message));
+            } else {
+                result.setErrorsTruncated(true);
+            }
+        }
+
+        TaskImportResultDTO finish() {
+            flush();
+            if (!touchedCategoryIds.isEmpty()) {
+                categoryService.updateCategoryStatsInBulk(touchedCategoryIds);
+                teamAvailabilityService.markStale();
+                teamLeaderboardService.markStale();
+            }
+            System.out.println("Task import into project " + projectId + ": " + result.getImportedRows() + "/"
+                    + result.getTotalRows() + " rows imported, " + result.getFailedRows() + " rejected");
+            return result;
+        }
+
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                Integer inserted = transactionTemplate.execute(status -> taskBatchRepository.insertAll(batch));
+                markImported(batch, inserted != null ? inserted : 0);
+            } catch (RuntimeException batchFailure) {
+                // Retry row by row so one bad row does not sink the whole batch
+                for (int i = 0; i < batch.size(); i++) {
+                    Task task = batch.get(i);
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> taskBatchRepository.insert(task));
+                        markImported(List.of(task), 1);
+                    } catch (RuntimeException e) {
+                        reject(batchRows.get(i), "Insert failed: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+                    }
+                }
+            }
+            batch.clear();
+            batchRows.clear();
+        }
+
+        private void markImported(List<Task> tasks, int count) {
+            result.setImportedRows(result.getImportedRows() + count);
+            for (Task task : tasks) {
+                touchedCategoryIds.add(task.getCategoryId());
+            }
+        }
+
+        private Task toTask(Map<String, String> fields) {
+            Villa villa = villasByName.get(key(required(fields, "villa")));
+            if (villa == null) {
+                throw new IllegalArgumentException("Unknown villa in project " + projectId + ": " + fields.get("villa"));
+            }
+            Category category = categoriesByVillaAndName.get(villa.getId() + "|" + key(required(fields, "category")));
+            if (category == null) {
+                throw new IllegalArgumentException("Unknown category in villa " + villa.getName() + ": " + fields.get("category"));
+            }
+
+            TaskTemplate template = null;
+            String templateName = value(fields, "template");
+            if (templateName != null) {
+                template = templatesByName.get(key(templateName));
+                if (template == null) {
+                    throw new IllegalArgumentException("Unknown template: " + templateName);
+                }
+            }
+
+            Team team = null;
+            String teamName = value(fields, "team");
+            if (teamName != null) {
+                team = teamsByName.get(key(teamName));
+                if (team == null) {
+                    throw new IllegalArgumentException("Unknown team: " + teamName);
+                }
+            }
+
+            Task task = new Task();
+            task.setVilla(villa);
+            task.setCategory(category);
+            task.setTemplate(template);
+            task.setTeam(team);
+
+            String name = value(fields, "name");
+            if (name == null && template != null) {
+                name = template.getName();
+            }
+            if (name == null) {
+                throw new IllegalArgumentException("Missing value for name");
+            }
+            task.setName(name);
+
+            String description = value(fields, "description");
+            task.setDescription(description == null && template != null ? template.getDescription() : description);
+
+            LocalDate plannedStart = date(required(fields, "plannedStartDate"), "plannedStartDate");
+            LocalDate plannedEnd = date(value(fields, "plannedEndDate"), "plannedEndDate");
+            if (plannedEnd == null) {
+                if (template == null || template.getDurationDays() == null) {
+                    throw new IllegalArgumentException("Missing value for plannedEndDate");
+                }
+                plannedEnd = plannedStart.plusDays(template.getDurationDays());
+            }
+            if (plannedEnd.isBefore(plannedStart)) {
+                throw new IllegalArgumentException("plannedEndDate is before plannedStartDate");
+            }
+            LocalDate start = date(value(fields, "startDate"), "startDate");
+            LocalDate end = date(value(fields, "endDate"), "endDate");
+            task.setPlannedStartDate(plannedStart);
+            task.setPlannedEndDate(plannedEnd);
+            task.setStartDate(start != null ? start : plannedStart);
+            task.setEndDate(end != null ? end : plannedEnd);
+
+            String status = value(fields, "status");
+            if (status != null) {
+                try {
+                    task.setStatus(Task.TaskStatus.valueOf(status.toUpperCase(Locale.ROOT)));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Invalid status: " + status);
+                }
+            }
+
+            String progress = value(fields, "progress");
+            if (progress != null) {
+                int value;
+                try {
+                    value = Integer.parseInt(progress);
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid progress: " + progress);
+                }
+                if (value < 0 || value > 100) {
+                    throw new IllegalArgumentException("Progress must be between 0 and 100: " + progress);
+                }
+                task.setProgress(value);
+            }
+
+            String amount = value(fields, "amount");
+            if (amount != null) {
+                try {
+                    task.setAmount(new BigDecimal(amount));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid amount: " + amount);
+                }
+            } else if (template != null) {
+                task.setAmount(template.getDefaultAmount());
+            }
+
+            task.setIsReceived(bool(value(fields, "isReceived"), "isReceived"));
+            task.setIsPaid(bool(value(fields, "isPaid"), "isPaid"));
+            task.setRemarks(value(fields, "remarks"));
+            return task;
+        }
+    }
+
+    private static String key(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String value(Map<String, String> fields, String column) {
+        String value = fields.get(column.toLowerCase(Locale.ROOT));
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private static String required(Map<String, String> fields, String column) {
+        String value = value(fields, column);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing value for " + column);
+        }
+        return value;
+    }
+
+    private static LocalDate date(String value, String column) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date for " + column + ": " + value);
+        }
+    }
+
+    private static Boolean bool(String value, String column) {
+        if (value == null) {
+            return false;
+        }
+        if ("true".equalsIgnoreCase(value) || "1".equals(value)) {
+            return true;
+        }
+        if ("false".equalsIgnoreCase(value) || "0".equals(value)) {
+            return false;
+        }
+        throw new IllegalArgumentException("Invalid boolean for " + column + ": " + value);
+    }
+}
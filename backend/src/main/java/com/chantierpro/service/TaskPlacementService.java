@@ -0,0 +1,93 @@
+package com.chantierpro.service;
+
+import com.chantierpro.entity.Category;
+import com.chantierpro.entity.Villa;
+import com.chantierpro.repository.CategoryRepository;
+import com.chantierpro.repository.VillaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Decides where tasks created outside a villa screen (team shortcuts, template generation)
+ * are placed. The most specific explicit target wins: category, then villa (its first
+ * category), then project (its first villa). Without targets the configured
+ * chantierpro.tasks.default-category-id is used, and failing that the first category.
+ * Every step is a primary-key or LIMIT 1 lookup; callers resolve once per operation.
+ */
+@Service
+@Transactional(readOnly = true)
+public class TaskPlacementService {
+
+    @Autowired
+    private VillaRepository villaRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Value("${chantierpro.tasks.default-category-id:#{null}}")
+    private Long defaultCategoryId;
+
+    /**
+     * @param projectId  Optional project target
+     * @param villaId    Optional villa target
+     * @param categoryId Optional category target
+     * @return A villa and one of its categories
+     * @throws IllegalArgumentException if the targets do not lie in one another
+     * @throws RuntimeException if a target does not exist or no category can be found
+     */
+    public Placement resolve(Long projectId, Long villaId, Long categoryId) {
+        if (categoryId != null) {
+            Category category = categoryRepository.findById(categoryId)
+                    .orElseThrow(() -> new RuntimeException("Category not found with id: " + categoryId));
+            if (villaId != null && !villaId.equals(category.getVilla().getId())) {
+                throw new IllegalArgumentException("Category " + categoryId + " does not belong to villa " + villaId);
+            }
+            checkProject("Category " + categoryId, category.getVilla(), projectId);
+            return new Placement(category.getVilla(), category);
+        }
+        if (villaId != null) {
+            Villa villa = villaRepository.findById(villaId)
+                    .orElseThrow(() -> new RuntimeException("Villa not found with id: " + villaId));
+            checkProject("Villa " + villaId, villa, projectId);
+            Category category = categoryRepository.findFirstByVilla_IdOrderByIdAsc(villaId)
+                    .orElseThrow(() -> new RuntimeException("No categories found in villa with id: " + villaId));
+            return new Placement(villa, category);
+        }
+        if (projectId != null) {
+            Villa villa = villaRepository.findFirstByProjectIdOrderByIdAsc(projectId)
+                    .orElseThrow(() -> new RuntimeException("No villas found in project with id: " + projectId));
+            return resolve(null, villa.getId(), null);
+        }
+        if (defaultCategoryId != null) {
+            return resolve(null, null, defaultCategoryId);
+        }
+        Category category = categoryRepository.findFirstByOrderByIdAsc()
+                .orElseThrow(() -> new RuntimeException("No categories found in the database"));
+        return new Placement(category.getVilla(), category);
+    }
+
+    // A more specific target must still lie in the project when one is given too
+    private static void checkProject(String target, Villa villa, Long projectId) {
+        if (projectId != null && !projectId.equals(villa.getProject().getId())) {
+            throw new IllegalArgumentException(target + " does not belong to project " + projectId);
+        }
+    }
+
+    /**
+     * A villa and a category of that villa.
+     */
+    public static final class Placement {
+        private final Villa villa;
+        private final Category category;
+
+        Placement(Villa villa, Category category) {
+            this.villa = villa;
+            this.category = category;
+        }
+
+        public Villa getVilla() { return villa; }
+        public Category getCategory() { return category; }
+    }
+}
@@ -1,5 +1,6 @@
 package com.chantierpro.service;
 
+import com.chantierpro.dto.TaskSummaryFigures;
 import com.chantierpro.entity.*;
 import com.chantierpro.repository.TaskRepository;
 import com.chantierpro.repository.CategoryRepository;
@@ -7,6 +8,7 @@ import com.chantierpro.repository.VillaRepository;
 import com.chantierpro.repository.TeamRepository;
 import com.chantierpro.repository.TaskTemplateRepository;
 import com.chantierpro.repository.TeamTaskTemplateRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -15,6 +17,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
@@ -45,6 +48,30 @@ public class TaskService {
     @Autowired
     private TaskTemplateService taskTemplateService;
 
+    @Autowired
+    private DeletionLogService deletionLogService;
+
+    @Autowired
+    private ProjectSummaryService projectSummaryService;
+
+    @Autowired
+    private SchedulingService schedulingService;
+
+    @Autowired
+    private TeamAvailabilityService teamAvailabilityService;
+
+    @Autowired
+    private TeamLeaderboardService teamLeaderboardService;
+
+    @Autowired
+    private TeamPerformanceHistoryService teamPerformanceHistoryService;
+
+    @Autowired
+    private TaskPlacementService taskPlacementService;
+
+    @Autowired
+    private TeamTaskGenerationService teamTaskGenerationService;
+
     public List<Task> getAllTasks() {
         return taskRepository.findAllOrderByUpdatedAtDesc();
     }
@@ -106,32 +133,15 @@ public class TaskService {
             // Set the team for the task
             task.setTeam(team);
             
-            // If villa is not set, find a default villa
-            if (task.getVilla() == null) {
-                List<Villa> villas = villaRepository.findAll();
-                System.out.println("Found " + villas.size() + " villas in the database");
-                
-                if (villas.isEmpty()) {
-                    throw new RuntimeException("No villas found in the database");
-                }
-                
-                Villa defaultVilla = villas.get(0);
-                task.setVilla(defaultVilla);
-                System.out.println("Set default villa: " + defaultVilla.getId());
-            }
-            
-            // If category is not set, find a default category
-            if (task.getCategory() == null) {
-                List<Category> categories = categoryRepository.findAll();
-                System.out.println("Found " + categories.size() + " categories in the database");
-                
-                if (categories.isEmpty()) {
-                    throw new RuntimeException("No categories found in the database");
-                }
-                
-                Category defaultCategory = categories.get(0);
-                task.setCategory(defaultCategory);
-                System.out.println("Set default category: " + defaultCategory.getId());
+            // If villa or category is not set, complete the placement from what was given
+            if (task.getVilla() == null || task.getCategory() == null) {
+                TaskPlacementService.Placement placement = taskPlacementService.resolve(null,
+                        task.getVilla() != null ? task.getVilla().getId() : null,
+                        task.getCategory() != null ? task.getCategory().getId() : null);
+                task.setVilla(placement.getVilla());
+                task.setCategory(placement.getCategory());
+                System.out.println("Set default placement: villa " + placement.getVilla().getId()
+                        + ", category " + placement.getCategory().getId());
             }
             
             // Set dates if not provided
@@ -157,6 +167,9 @@ public class TaskService {
             
             // Save and return the task
             Task savedTask = taskRepository.save(task);
+            teamAvailabilityService.checkAssignment(savedTask);
+            trackTeamChanges(null, null, null, savedTask);
+            projectSummaryService.applyTaskChange(null, new TaskSummaryFigures(savedTask));
             System.out.println("Task created successfully with ID: " + savedTask.getId() + " for team ID: " + teamId);
             return savedTask;
         } catch (Exception e) {
@@ -167,12 +180,27 @@ public class TaskService {
     }
     
     /**
-     * Generate tasks from all templates associated with a team
+     * Generate tasks from all templates associated with a team, at the default placement
      * @param teamId The team ID
      * @return List of created tasks
      */
     @Transactional
+    @Timed(value = "chantierpro.templates.apply", extraTags = {"source", "team-templates"})
     public List<Task> generateTasksFromTemplates(Long teamId) {
+        return generateTasksFromTemplates(teamId, null, null, null);
+    }
+
+    /**
+     * Generate tasks from all templates associated with a team
+     * @param teamId The team ID
+     * @param projectId Optional project to place the tasks in (its first villa)
+     * @param villaId Optional villa to place the tasks in (its first category)
+     * @param categoryId Optional category to place the tasks in
+     * @return List of created tasks
+     */
+    @Transactional
+    @Timed(value = "chantierpro.templates.apply", extraTags = {"source", "team-templates"})
+    public List<Task> generateTasksFromTemplates(Long teamId, Long projectId, Long villaId, Long categoryId) {
         System.out.println("Generating tasks from templates for team ID: " + teamId);
         
         // Find the team
@@ -181,67 +209,22 @@ public class TaskService {
         System.out.println("Found team: " + team.getName());
         
         // Find all task templates associated with this team
-        List<TeamTaskTemplate> teamTaskTemplates = teamTaskTemplateRepository.findByTeamId(teamId);
-        System.out.println("Found " + teamTaskTemplates.size() + " task templates for team");
+        List<TaskTemplate> templates = teamTaskTemplateRepository.findTemplatesByTeamId(teamId);
+        System.out.println("Found " + templates.size() + " task templates for team");
         
-        if (teamTaskTemplates.isEmpty()) {
+        if (templates.isEmpty()) {
             throw new RuntimeException("No task templates found for team with id: " + teamId);
         }
         
-        // Find a default villa and category (required for tasks)
-        Villa defaultVilla = villaRepository.findAll().stream().findFirst()
-                .orElseThrow(() -> new RuntimeException("No villas found in the database"));
-        System.out.println("Using default villa ID: " + defaultVilla.getId());
+        // Resolve the villa and category (required for tasks) once for all templates
+        TaskPlacementService.Placement placement = taskPlacementService.resolve(projectId, villaId, categoryId);
+        Villa defaultVilla = placement.getVilla();
+        Category defaultCategory = placement.getCategory();
+        System.out.println("Using villa ID: " + defaultVilla.getId() + ", category ID: " + defaultCategory.getId());
         
-        Category defaultCategory = categoryRepository.findAll().stream().findFirst()
-                .orElseThrow(() -> new RuntimeException("No categories found in the database"));
-        System.out.println("Using default category ID: " + defaultCategory.getId());
-        
-        List<Task> createdTasks = new ArrayList<>();
-        
-        // Create tasks from each template
-        for (TeamTaskTemplate teamTaskTemplate : teamTaskTemplates) {
-            TaskTemplate template = teamTaskTemplate.getTaskTemplate();
-            System.out.println("Creating task from template: " + template.getName());
-            
-            Task task = new Task();
-            task.setName(template.getName());
-            task.setDescription(template.getDescription());
-            task.setTeam(team);
-            task.setVilla(defaultVilla);
-            task.setCategory(defaultCategory);
-            task.setAmount(template.getDefaultAmount());
-            
-            // Set dates
-            LocalDate now = LocalDate.now();
-            task.setStartDate(now);
-            task.setEndDate(now.plusDays(template.getDurationDays()));
-            task.setPlannedStartDate(now);
-            task.setPlannedEndDate(now.plusDays(template.getDurationDays()));
-            
-            // Set status fields
-            task.setStatus(Task.TaskStatus.PENDING);
-            task.setProgress(0);
-            task.setProgressStatus(Task.ProgressStatus.ON_SCHEDULE);
-            task.setIsReceived(false);
-            task.setIsPaid(false);
-            
-            // Set template reference
-            task.setTemplate(template);
-            
-            // Set timestamps
-            task.setCreatedAt(LocalDateTime.now());
-            task.setUpdatedAt(LocalDateTime.now());
-            
-            try {
-                Task savedTask = taskRepository.save(task);
-                System.out.println("Created task with ID: " + savedTask.getId() + ", Name: " + savedTask.getName());
-                createdTasks.add(savedTask);
-            } catch (Exception e) {
-                System.err.println("Error creating task from template: " + e.getMessage());
-                e.printStackTrace();
-            }
-        }
+        // Written as one JDBC batch with a single roll-up, like the multi-villa generation
+        List<Task> createdTasks = teamTaskGenerationService.insertTasks(team, templates, List.of(defaultCategory),
+                LocalDate.now(), "team-templates");
         
         System.out.println("Successfully created " + createdTasks.size() + " tasks for team ID: " + teamId);
         return createdTasks;
@@ -367,6 +350,9 @@ public class TaskService {
         }
         
         Task savedTask = taskRepository.save(task);
+        teamAvailabilityService.checkAssignment(savedTask);
+        trackTeamChanges(null, null, null, savedTask);
+        projectSummaryService.applyTaskChange(null, new TaskSummaryFigures(savedTask));
         
         // Update category stats
         categoryService.updateCategoryStats(category.getId());
@@ -378,6 +364,13 @@ public class TaskService {
         Task task = taskRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Task not found with id: " + id));
 
+        Long previousTeamId = task.getTeamId();
+        Long previousVillaId = task.getVillaId();
+        Task.TaskStatus previousStatus = task.getStatus();
+        LocalDate previousPlannedEndDate = task.getPlannedEndDate();
+        TaskSummaryFigures previousFigures = new TaskSummaryFigures(task);
+        boolean slipped = taskDetails.getEndDate().isAfter(task.getEndDate())
+                || taskDetails.getStartDate().isAfter(task.getStartDate());
         task.setName(taskDetails.getName());
         task.setDescription(taskDetails.getDescription());
         task.setStartDate(taskDetails.getStartDate());
@@ -421,6 +414,19 @@ public class TaskService {
         }
 
         Task savedTask = taskRepository.save(task);
+        teamAvailabilityService.checkAssignment(savedTask);
+        trackTeamChanges(previousTeamId, previousStatus, previousPlannedEndDate, savedTask);
+        projectSummaryService.applyTaskChange(previousFigures, new TaskSummaryFigures(savedTask));
+
+        // Dependencies stay inside a villa, so a moved task leaves its links behind
+        if (!Objects.equals(previousVillaId, savedTask.getVillaId())) {
+            schedulingService.removeTaskDependencies(id);
+        }
+
+        // A later task pushes back the tasks waiting for it
+        if (slipped) {
+            schedulingService.propagateDelays(savedTask.getVillaId());
+        }
         
         // Update category stats
         categoryService.updateCategoryStats(task.getCategory().getId());
@@ -433,7 +439,13 @@ public class TaskService {
                 .orElseThrow(() -> new RuntimeException("Task not found with id: " + id));
         
         Long categoryId = task.getCategory().getId();
-        taskRepository.delete(task);
+        Long teamId = task.getTeamId();
+        Task.TaskStatus status = task.getStatus();
+        deletionLogService.recordTaskDeletion(task);
+        projectSummaryService.applyTaskChange(new TaskSummaryFigures(task), null);
+        taskRepository.softDeleteById(id, LocalDateTime.now());
+        teamAvailabilityService.remove(id);
+        teamLeaderboardService.onTaskChanged(teamId, status, null, null);
         
         // Update category stats
         categoryService.updateCategoryStats(categoryId);
@@ -455,19 +467,13 @@ public class TaskService {
         return taskRepository.findByIsPaidFalse();
     }
 
-    public Double getTotalAmountByProjectId(Long projectId) {
-        return taskRepository.getTotalAmountByProjectId(projectId);
-    }
-
-    public Double getPaidAmountByProjectId(Long projectId) {
-        return taskRepository.getPaidAmountByProjectId(projectId);
-    }
-
     @Transactional
     public Task updateTaskProgress(Long id, Integer progress) {
         Task task = taskRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Task not found with id: " + id));
 
+        Task.TaskStatus previousStatus = task.getStatus();
+        TaskSummaryFigures previousFigures = new TaskSummaryFigures(task);
         task.setProgress(progress);
         
         // Auto-update status based on progress
@@ -478,6 +484,8 @@ public class TaskService {
         }
 
         Task savedTask = taskRepository.save(task);
+        trackTeamChanges(savedTask.getTeamId(), previousStatus, savedTask.getPlannedEndDate(), savedTask);
+        projectSummaryService.applyTaskChange(previousFigures, new TaskSummaryFigures(savedTask));
         
         // Update category stats
         categoryService.updateCategoryStats(task.getCategory().getId());
@@ -499,7 +507,20 @@ public class TaskService {
         Task task = taskRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Task not found with id: " + id));
 
+        TaskSummaryFigures previousFigures = new TaskSummaryFigures(task);
         task.setIsPaid(true);
-        return taskRepository.save(task);
+        Task savedTask = taskRepository.save(task);
+
+        // Payment flags do not go through the stats roll-up, so patch the dashboard row here
+        projectSummaryService.applyTaskChange(previousFigures, new TaskSummaryFigures(savedTask));
+        return savedTask;
+    }
+
+    // Keeps the team indexes (bookings, leaderboard, weekly history) in step with a saved task
+    private void trackTeamChanges(Long previousTeamId, Task.TaskStatus previousStatus, LocalDate previousPlannedEndDate,
+                                  Task savedTask) {
+        teamAvailabilityService.update(savedTask);
+        teamLeaderboardService.onTaskChanged(previousTeamId, previousStatus, savedTask.getTeamId(), savedTask.getStatus());
+        teamPerformanceHistoryService.onTaskStatusChanged(savedTask, previousTeamId, previousStatus, previousPlannedEndDate);
     }
-}
\ No newline at end of file
+}
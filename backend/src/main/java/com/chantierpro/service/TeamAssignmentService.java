@@ -0,0 +1,119 @@
+package com.chantierpro.service;
+
+import com.chantierpro.dto.TeamAssignmentResultDTO;
+import com.chantierpro.dto.TeamBooking;
+import com.chantierpro.dto.TeamCandidateDTO;
+import com.chantierpro.entity.Category;
+import com.chantierpro.entity.Task;
+import com.chantierpro.entity.Team;
+import com.chantierpro.repository.CategoryRepository;
+import com.chantierpro.repository.TaskRepository;
+import com.chantierpro.repository.TeamRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Team suggestions and automatic assignment, ranked on the in-memory booking index of
+ * {@link TeamAvailabilityService} instead of querying every team's tasks.
+ */
+@Service
+@Transactional
+public class TeamAssignmentService {
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TeamAvailabilityService teamAvailabilityService;
+
+    @Autowired
+    private TeamLeaderboardService teamLeaderboardService;
+
+    @Autowired
+    private TeamPerformanceHistoryService teamPerformanceHistoryService;
+
+    @Autowired
+    private TeamService teamService;
+
+    /**
+     * Teams of a specialty ranked for a date window (see {@link TeamAvailabilityService#rankTeams}).
+     *
+     * @param villaId Villa the work is for; may be null
+     * @param limit   Maximum number of teams returned
+     */
+    @Transactional(readOnly = true)
+    public List<TeamCandidateDTO> findAvailableTeams(String specialty, LocalDate from, LocalDate to, Long villaId, int limit) {
+        List<Team> teams = teamRepository.findBySpecialtyContainingIgnoreCase(specialty);
+        List<TeamCandidateDTO> ranked = teamAvailabilityService.rankTeams(teams, from, to, villaId);
+        return ranked.subList(0, Math.min(Math.max(limit, 0), ranked.size()));
+    }
+
+    /**
+     * Gives every task of the category without a team the best-ranked team of the specialty
+     * that is free on the task's planned dates. Tasks are handled in planned start order and
+     * each assignment is booked before the next task is ranked, so a team is never given two
+     * overlapping tasks. Tasks without a free team are left unassigned.
+     *
+     * @param categoryId The ID of the category
+     * @param specialty  Specialty the candidate teams must have
+     * @return Assignments made and tasks left unassigned
+     */
+    public TeamAssignmentResultDTO assignTeamsToCategory(Long categoryId, String specialty) {
+        Category category = categoryRepository.findById(categoryId)
+                .orElseThrow(() -> new RuntimeException("Category not found with id: " + categoryId));
+        List<Team> teams = teamRepository.findBySpecialtyContainingIgnoreCase(specialty);
+        Map<Long, Team> teamsById = teams.stream().collect(Collectors.toMap(Team::getId, Function.identity()));
+
+        List<Task> unassigned = taskRepository.findByCategoryId(category.getId()).stream()
+                .filter(task -> task.getTeam() == null)
+                .sorted(Comparator.comparing(Task::getPlannedStartDate).thenComparing(Task::getId))
+                .collect(Collectors.toList());
+
+        TeamAssignmentResultDTO result = new TeamAssignmentResultDTO(categoryId);
+        Set<Long> usedTeamIds = new LinkedHashSet<>();
+        // The index only sees these assignments after commit, so they are passed along explicitly
+        List<TeamBooking> booked = new ArrayList<>();
+        for (Task task : unassigned) {
+            List<TeamCandidateDTO> ranked = teamAvailabilityService.rankTeams(
+                    teams, task.getPlannedStartDate(), task.getPlannedEndDate(), task.getVillaId(), booked);
+            if (ranked.isEmpty() || !ranked.get(0).isFree()) {
+                result.getUnassignedTaskIds().add(task.getId());
+                continue;
+            }
+            Team team = teamsById.get(ranked.get(0).getTeamId());
+            task.setTeam(team);
+            Task saved = taskRepository.save(task);
+            teamAvailabilityService.update(saved);
+            booked.add(new TeamBooking(saved));
+            teamLeaderboardService.onTaskChanged(null, saved.getStatus(), team.getId(), saved.getStatus());
+            teamPerformanceHistoryService.onTaskStatusChanged(saved, null, saved.getStatus(), saved.getPlannedEndDate());
+            usedTeamIds.add(team.getId());
+            result.getAssignments().add(new TeamAssignmentResultDTO.Assignment(
+                    saved.getId(), saved.getName(), team.getId(), team.getName()));
+        }
+
+        for (Long teamId : usedTeamIds) {
+            teamService.updateTeamStats(teamId);
+        }
+        System.out.println("Assigned teams to " + result.getAssignments().size() + "/" + unassigned.size()
+                + " tasks of category " + categoryId);
+        return result;
+    }
+}
@@ -0,0 +1,252 @@
+package com.chantierpro.service;
+
+import com.chantierpro.dto.TeamAvailabilityDTO;
+import com.chantierpro.dto.TeamBooking;
+import com.chantierpro.dto.TeamCandidateDTO;
+import com.chantierpro.dto.TeamConflictDTO;
+import com.chantierpro.entity.Task;
+import com.chantierpro.entity.Team;
+import com.chantierpro.repository.TaskRepository;
+import com.chantierpro.scheduling.IntervalTree;
+import com.chantierpro.util.TransactionHooks;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory index of team bookings: one interval tree per team over the planned dates of its
+ * tasks. Single-task writes update the index in place once their transaction commits; bulk
+ * writes that bypass the entities (imports, clones, soft deletes) mark it stale and it is rebuilt
+ * with one query on next use.
+ */
+@Service
+public class TeamAvailabilityService {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Value("${chantierpro.teams.reject-double-booking:false}")
+    private boolean rejectDoubleBooking;
+
+    private final Map<Long, IntervalTree> trees = new HashMap<>();
+    private final Map<Long, TeamBooking> bookings = new HashMap<>();
+    private final Map<Long, Set<Long>> tasksByProject = new HashMap<>();
+    private volatile boolean stale = true;
+
+    /**
+     * Whether the team has no booking sharing a day with [from, to].
+     */
+    public synchronized TeamAvailabilityDTO getAvailability(Long teamId, LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("'to' must not be before 'from'");
+        }
+        ensureLoaded();
+        List<TeamBooking> overlapping = new ArrayList<>();
+        IntervalTree tree = trees.get(teamId);
+        if (tree != null) {
+            for (Long taskId : tree.overlapping(from, to)) {
+                overlapping.add(bookings.get(taskId));
+            }
+        }
+        overlapping.sort(Comparator.comparing(TeamBooking::getPlannedStartDate));
+        return new TeamAvailabilityDTO(teamId, from, to, overlapping);
+    }
+
+    /**
+     * Ranks teams for a date window from the index alone: free teams first, then teams already
+     * working in the villa, then the least loaded, then the best performance.
+     *
+     * @param villaId Villa the work is for; may be null
+     */
+    public List<TeamCandidateDTO> rankTeams(List<Team> teams, LocalDate from, LocalDate to, Long villaId) {
+        return rankTeams(teams, from, to, villaId, List.of());
+    }
+
+    /**
+     * Same as {@link #rankTeams(List, LocalDate, LocalDate, Long)}, also counting bookings made by
+     * the current transaction that the index will only see after commit.
+     */
+    public synchronized List<TeamCandidateDTO> rankTeams(List<Team> teams, LocalDate from, LocalDate to, Long villaId,
+                                                         Collection<TeamBooking> pending) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("'to' must not be before 'from'");
+        }
+        ensureLoaded();
+        LocalDate today = LocalDate.now();
+        List<TeamCandidateDTO> candidates = new ArrayList<>(teams.size());
+        for (Team team : teams) {
+            IntervalTree tree = trees.get(team.getId());
+            List<TeamBooking> teamBookings = new ArrayList<>();
+            if (tree != null) {
+                for (Long taskId : tree.overlapping(from.isBefore(today) ? from : today, LocalDate.MAX)) {
+                    teamBookings.add(bookings.get(taskId));
+                }
+            }
+            for (TeamBooking booking : pending) {
+                if (team.getId().equals(booking.getTeamId()) && !bookings.containsKey(booking.getTaskId())) {
+                    teamBookings.add(booking);
+                }
+            }
+            int overlapping = 0;
+            long overlapDays = 0;
+            int open = 0;
+            int inVilla = 0;
+            for (TeamBooking booking : teamBookings) {
+                if (!booking.getPlannedStartDate().isAfter(to) && !booking.getPlannedEndDate().isBefore(from)) {
+                    LocalDate start = booking.getPlannedStartDate().isAfter(from) ? booking.getPlannedStartDate() : from;
+                    LocalDate end = booking.getPlannedEndDate().isBefore(to) ? booking.getPlannedEndDate() : to;
+                    overlapping++;
+                    overlapDays += ChronoUnit.DAYS.between(start, end) + 1;
+                }
+                if (!booking.getPlannedEndDate().isBefore(today)) {
+                    open++;
+                    if (villaId != null && villaId.equals(booking.getVillaId())) {
+                        inVilla++;
+                    }
+                }
+            }
+            candidates.add(new TeamCandidateDTO(team, overlapping, overlapDays, open, inVilla));
+        }
+        candidates.sort(Comparator.comparingLong(TeamCandidateDTO::getOverlapDays)
+                .thenComparing(Comparator.comparingInt(TeamCandidateDTO::getVillaTasks).reversed())
+                .thenComparingInt(TeamCandidateDTO::getOpenTasks)
+                .thenComparing(Comparator.comparingInt(TeamCandidateDTO::getPerformance).reversed())
+                .thenComparing(TeamCandidateDTO::getTeamId));
+        return candidates;
+    }
+
+    /**
+     * Every pair of tasks double-booking a team where at least one task belongs to the project.
+     * Pairs inside the project are listed once.
+     */
+    public synchronized List<TeamConflictDTO> getProjectConflicts(Long projectId) {
+        ensureLoaded();
+        List<TeamConflictDTO> conflicts = new ArrayList<>();
+        for (Long taskId : tasksByProject.getOrDefault(projectId, Set.of())) {
+            TeamBooking booking = bookings.get(taskId);
+            for (Long otherId : trees.get(booking.getTeamId())
+                    .overlapping(booking.getPlannedStartDate(), booking.getPlannedEndDate())) {
+                TeamBooking other = bookings.get(otherId);
+                boolean sameProject = projectId.equals(other.getProjectId());
+                if (!otherId.equals(taskId) && (!sameProject || taskId < otherId)) {
+                    conflicts.add(new TeamConflictDTO(booking, other));
+                }
+            }
+        }
+        conflicts.sort(Comparator.comparing(TeamConflictDTO::getTeamId).thenComparing(TeamConflictDTO::getOverlapStart));
+        return conflicts;
+    }
+
+    /**
+     * Rejects a saved task whose team is already booked on its planned dates, when
+     * {@code chantierpro.teams.reject-double-booking} is enabled. The check and the booking happen
+     * under the same lock, so two concurrent assignments cannot both pass; the booking is visible
+     * before commit and a rollback marks the index stale.
+     *
+     * @throws IllegalArgumentException if the team is double-booked
+     */
+    public synchronized void checkAssignment(Task task) {
+        if (!rejectDoubleBooking || !isBooked(task)) {
+            return;
+        }
+        ensureLoaded();
+        IntervalTree tree = trees.get(task.getTeamId());
+        if (tree != null && tree.overlapsAny(task.getPlannedStartDate(), task.getPlannedEndDate(), task.getId())) {
+            throw new IllegalArgumentException("Team " + task.getTeamId() + " is already booked between "
+                    + task.getPlannedStartDate() + " and " + task.getPlannedEndDate());
+        }
+        unindex(task.getId());
+        index(new TeamBooking(task));
+        TransactionHooks.afterRollback(this::invalidate);
+    }
+
+    /**
+     * Records the current team and planned dates of a saved task once its transaction commits.
+     */
+    public void update(Task task) {
+        Long taskId = task.getId();
+        TeamBooking booking = isBooked(task) ? new TeamBooking(task) : null;
+        TransactionHooks.afterCommit(() -> apply(taskId, booking));
+    }
+
+    /**
+     * Drops a deleted task's booking once its transaction commits.
+     */
+    public void remove(Long taskId) {
+        TransactionHooks.afterCommit(() -> apply(taskId, null));
+    }
+
+    /**
+     * Drops the index after writes that bypass the entities; the next read rebuilds it. The index is
+     * dropped again after commit, in case a read rebuilt it before the writes were visible.
+     */
+    public void markStale() {
+        invalidate();
+        TransactionHooks.afterCommit(this::invalidate);
+    }
+
+    private synchronized void invalidate() {
+        stale = true;
+    }
+
+    private synchronized void apply(Long taskId, TeamBooking booking) {
+        if (stale) {
+            return;
+        }
+        unindex(taskId);
+        if (booking != null) {
+            index(booking);
+        }
+    }
+
+    private static boolean isBooked(Task task) {
+        return task.getTeamId() != null && task.getPlannedStartDate() != null && task.getPlannedEndDate() != null;
+    }
+
+    private void ensureLoaded() {
+        if (!stale) {
+            return;
+        }
+        trees.clear();
+        bookings.clear();
+        tasksByProject.clear();
+        List<TeamBooking> all = taskRepository.findAllTeamBookings();
+        for (TeamBooking booking : all) {
+            index(booking);
+        }
+        stale = false;
+        System.out.println("Indexed " + all.size() + " team bookings for " + trees.size() + " teams");
+    }
+
+    private void index(TeamBooking booking) {
+        bookings.put(booking.getTaskId(), booking);
+        trees.computeIfAbsent(booking.getTeamId(), k -> new IntervalTree())
+                .insert(booking.getTaskId(), booking.getPlannedStartDate(), booking.getPlannedEndDate());
+        if (booking.getProjectId() != null) {
+            tasksByProject.computeIfAbsent(booking.getProjectId(), k -> new LinkedHashSet<>()).add(booking.getTaskId());
+        }
+    }
+
+    private void unindex(Long taskId) {
+        TeamBooking booking = bookings.remove(taskId);
+        if (booking == null) {
+            return;
+        }
+        trees.get(booking.getTeamId()).remove(taskId, booking.getPlannedStartDate());
+        Set<Long> projectTasks = tasksByProject.get(booking.getProjectId());
+        if (projectTasks != null) {
+            projectTasks.remove(taskId);
+        }
+    }
+}
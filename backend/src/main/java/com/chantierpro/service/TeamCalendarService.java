@@ -0,0 +1,114 @@
+package com.chantierpro.service;
+
+import com.chantierpro.dto.TeamBooking;
+import com.chantierpro.dto.TeamCalendarDTO;
+import com.chantierpro.entity.Team;
+import com.chantierpro.repository.TaskRepository;
+import com.chantierpro.repository.TeamRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Per-day workload of teams for the planning board.
+ */
+@Service
+@Transactional(readOnly = true)
+public class TeamCalendarService {
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Value("${chantierpro.teams.calendar-max-days:366}")
+    private int maxDays;
+
+    /**
+     * Daily planned task count of each team between two dates (inclusive).
+     * All bookings come from one query; each team's days are filled with a sweep over a
+     * difference array (+1 on the first day of a task, -1 after its last day), so the cost is
+     * O(tasks + teams x days) whatever the number of teams.
+     *
+     * @param teamIds Teams to include; all teams when null or empty
+     * @return One calendar per team, in the order of teamIds (or by team id)
+     */
+    public List<TeamCalendarDTO> getCalendars(Collection<Long> teamIds, LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("'to' must not be before 'from'");
+        }
+        int days = (int) ChronoUnit.DAYS.between(from, to) + 1;
+        if (days > maxDays) {
+            throw new IllegalArgumentException("Calendar range is limited to " + maxDays + " days");
+        }
+
+        List<Team> teams = teamIds == null || teamIds.isEmpty()
+                ? teamRepository.findAll(Sort.by("id"))
+                : teamRepository.findAllById(teamIds);
+        Map<Long, Team> teamsById = new HashMap<>();
+        for (Team team : teams) {
+            teamsById.put(team.getId(), team);
+        }
+        if (teamsById.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, int[]> deltas = new HashMap<>();
+        for (TeamBooking booking : taskRepository.findTeamBookingsBetween(teamsById.keySet(), from, to)) {
+            int[] delta = deltas.computeIfAbsent(booking.getTeamId(), k -> new int[days + 1]);
+            LocalDate start = booking.getPlannedStartDate().isBefore(from) ? from : booking.getPlannedStartDate();
+            LocalDate end = booking.getPlannedEndDate().isAfter(to) ? to : booking.getPlannedEndDate();
+            if (end.isBefore(start)) {
+                continue;
+            }
+            delta[(int) ChronoUnit.DAYS.between(from, start)]++;
+            delta[(int) ChronoUnit.DAYS.between(from, end) + 1]--;
+        }
+
+        Set<Long> order = new LinkedHashSet<>();
+        if (teamIds == null || teamIds.isEmpty()) {
+            teams.forEach(team -> order.add(team.getId()));
+        } else {
+            order.addAll(teamIds);
+        }
+        List<TeamCalendarDTO> calendars = new ArrayList<>(teamsById.size());
+        for (Long teamId : order) {
+            Team team = teamsById.get(teamId);
+            if (team == null) {
+                continue;
+            }
+            int[] load = new int[days];
+            int[] delta = deltas.get(teamId);
+            if (delta != null) {
+                int running = 0;
+                for (int day = 0; day < days; day++) {
+                    running += delta[day];
+                    load[day] = running;
+                }
+            }
+            calendars.add(new TeamCalendarDTO(teamId, team.getName(), from, to, load));
+        }
+        return calendars;
+    }
+
+    public TeamCalendarDTO getCalendar(Long teamId, LocalDate from, LocalDate to) {
+        List<TeamCalendarDTO> calendars = getCalendars(List.of(teamId), from, to);
+        if (calendars.isEmpty()) {
+            throw new RuntimeException("Team not found with id: " + teamId);
+        }
+        return calendars.get(0);
+    }
+}
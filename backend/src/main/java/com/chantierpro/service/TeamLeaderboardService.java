@@ -0,0 +1,235 @@
+package com.chantierpro.service;
+
+import com.chantierpro.dto.LeaderboardEntryDTO;
+import com.chantierpro.dto.TeamStatusCountRow;
+import com.chantierpro.entity.Task;
+import com.chantierpro.entity.Team;
+import com.chantierpro.repository.TaskRepository;
+import com.chantierpro.repository.TeamRepository;
+import com.chantierpro.util.TransactionHooks;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+
+/**
+ * In-memory team performance leaderboard.
+ *
+ * Performance is the share of a team's tasks that are completed, as computed by
+ * TeamService.updateTeamStats (the stored value is kept for teams without tasks).
+ * Teams sit in a set ordered by performance for top-N, and a Fenwick tree over the 0-100
+ * performance range counts teams per value for ranks; the sum is kept for the average.
+ * Task writes adjust the counts of the teams involved once their transaction commits; writes
+ * that bypass the entities mark the board stale and it is rebuilt from one grouped query on next use.
+ */
+@Service
+public class TeamLeaderboardService {
+
+    private static final int MAX_PERFORMANCE = 100;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private final Map<Long, Score> scores = new HashMap<>();
+    private final TreeSet<Score> ranking = new TreeSet<>(
+            Comparator.comparingInt(Score::performance).reversed().thenComparing(score -> score.teamId));
+    // counts[p + 1] holds the Fenwick tree node for performance p
+    private final int[] counts = new int[MAX_PERFORMANCE + 2];
+    private long performanceSum;
+    // Incremented on every load, so a delta can tell whether the board was rebuilt since it was recorded
+    private long generation;
+    private volatile boolean stale = true;
+
+    /**
+     * Best teams first.
+     */
+    public synchronized List<LeaderboardEntryDTO> getTop(int limit) {
+        ensureLoaded();
+        List<LeaderboardEntryDTO> top = new ArrayList<>(Math.min(Math.max(limit, 0), ranking.size()));
+        for (Score score : ranking) {
+            if (top.size() >= limit) {
+                break;
+            }
+            top.add(entry(score));
+        }
+        return top;
+    }
+
+    /**
+     * @throws RuntimeException if the team does not exist
+     */
+    public synchronized LeaderboardEntryDTO getRank(Long teamId) {
+        ensureLoaded();
+        Score score = scores.get(teamId);
+        if (score == null) {
+            throw new RuntimeException("Team not found with id: " + teamId);
+        }
+        return entry(score);
+    }
+
+    /**
+     * Average performance over all teams, or null when there are none.
+     */
+    public synchronized Double getAveragePerformance() {
+        ensureLoaded();
+        return scores.isEmpty() ? null : (double) performanceSum / scores.size();
+    }
+
+    /**
+     * Moves a task's weight from its previous team/status to its current ones once the
+     * transaction commits. Null team or status stands for "no task" (creation, deletion, unassigned).
+     */
+    public void onTaskChanged(Long oldTeamId, Task.TaskStatus oldStatus, Long newTeamId, Task.TaskStatus newStatus) {
+        if (Objects.equals(oldTeamId, newTeamId) && oldStatus == newStatus) {
+            return;
+        }
+        long recordedGeneration = currentGeneration();
+        TransactionHooks.afterCommit(() -> apply(recordedGeneration, oldTeamId, oldStatus, newTeamId, newStatus));
+    }
+
+    /**
+     * Drops the board after writes that bypass the entities; the next read rebuilds it. The board is
+     * dropped again after commit, in case a read rebuilt it before the writes were visible.
+     */
+    public void markStale() {
+        invalidate();
+        TransactionHooks.afterCommit(this::invalidate);
+    }
+
+    private synchronized long currentGeneration() {
+        return stale ? -1 : generation;
+    }
+
+    private synchronized void invalidate() {
+        stale = true;
+    }
+
+    private synchronized void apply(long recordedGeneration, Long oldTeamId, Task.TaskStatus oldStatus,
+                                    Long newTeamId, Task.TaskStatus newStatus) {
+        if (stale) {
+            return;
+        }
+        if (recordedGeneration != generation) {
+            // Rebuilt while the write was in flight: the load may already include it
+            stale = true;
+            return;
+        }
+        if ((oldTeamId != null && !scores.containsKey(oldTeamId)) || (newTeamId != null && !scores.containsKey(newTeamId))) {
+            // A team created since the last load
+            stale = true;
+            return;
+        }
+        if (oldTeamId != null && oldStatus != null) {
+            adjust(scores.get(oldTeamId), oldStatus, -1);
+        }
+        if (newTeamId != null && newStatus != null) {
+            adjust(scores.get(newTeamId), newStatus, 1);
+        }
+    }
+
+    private void adjust(Score score, Task.TaskStatus status, int delta) {
+        detach(score);
+        score.total += delta;
+        if (status == Task.TaskStatus.COMPLETED) {
+            score.completed += delta;
+        } else if (status == Task.TaskStatus.PENDING || status == Task.TaskStatus.IN_PROGRESS) {
+            score.active += delta;
+        }
+        attach(score);
+    }
+
+    private void attach(Score score) {
+        int performance = score.performance();
+        ranking.add(score);
+        performanceSum += performance;
+        for (int i = performance + 1; i < counts.length; i += i & -i) {
+            counts[i]++;
+        }
+    }
+
+    private void detach(Score score) {
+        int performance = score.performance();
+        ranking.remove(score);
+        performanceSum -= performance;
+        for (int i = performance + 1; i < counts.length; i += i & -i) {
+            counts[i]--;
+        }
+    }
+
+    // Number of teams with performance <= p
+    private int countAtMost(int performance) {
+        int count = 0;
+        for (int i = performance + 1; i > 0; i -= i & -i) {
+            count += counts[i];
+        }
+        return count;
+    }
+
+    private LeaderboardEntryDTO entry(Score score) {
+        int performance = score.performance();
+        int rank = scores.size() - countAtMost(performance) + 1;
+        return new LeaderboardEntryDTO(rank, score.teamId, score.name, score.specialty, performance,
+                score.completed, score.total, score.active);
+    }
+
+    private void ensureLoaded() {
+        if (!stale) {
+            return;
+        }
+        scores.clear();
+        ranking.clear();
+        Arrays.fill(counts, 0);
+        performanceSum = 0;
+        for (Team team : teamRepository.findAll()) {
+            scores.put(team.getId(), new Score(team));
+        }
+        for (TeamStatusCountRow row : taskRepository.countAllGroupedByTeamAndStatus()) {
+            Score score = scores.get(row.getTeamId());
+            if (score == null) {
+                continue;
+            }
+            score.total += row.getTasksCount();
+            if (row.getStatus() == Task.TaskStatus.COMPLETED) {
+                score.completed += row.getTasksCount();
+            } else if (row.getStatus() == Task.TaskStatus.PENDING || row.getStatus() == Task.TaskStatus.IN_PROGRESS) {
+                score.active += row.getTasksCount();
+            }
+        }
+        scores.values().forEach(this::attach);
+        generation++;
+        stale = false;
+        System.out.println("Loaded performance leaderboard for " + scores.size() + " teams");
+    }
+
+    private static final class Score {
+        final Long teamId;
+        final String name;
+        final String specialty;
+        final int storedPerformance;
+        long total;
+        long completed;
+        long active;
+
+        Score(Team team) {
+            this.teamId = team.getId();
+            this.name = team.getName();
+            this.specialty = team.getSpecialty();
+            this.storedPerformance = team.getPerformance() != null ? team.getPerformance() : 0;
+        }
+
+        int performance() {
+            int performance = total > 0 ? (int) ((completed * 100) / total) : storedPerformance;
+            return Math.max(0, Math.min(MAX_PERFORMANCE, performance));
+        }
+    }
+}
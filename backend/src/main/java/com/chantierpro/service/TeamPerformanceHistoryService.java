@@ -0,0 +1,112 @@
+package com.chantierpro.service;
+
+import com.chantierpro.dto.TeamTrendDTO;
+import com.chantierpro.entity.Task;
+import com.chantierpro.entity.TeamWeeklyStats;
+import com.chantierpro.repository.TeamWeeklyStatsRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Weekly team performance history. Each time a task becomes COMPLETED, its completion date is
+ * stored on the task and its team's row for that week is incremented with one upsert, as on time
+ * or late against the planned end date. Reopening the task, moving it to another team, or moving
+ * its planned end across the completion day takes the completion back from that week as it was
+ * classified, so the table always counts each completed task once, the
+ * same way {@link #rebuild()} does.
+ */
+@Service
+@Transactional
+public class TeamPerformanceHistoryService {
+
+    @Autowired
+    private TeamWeeklyStatsRepository teamWeeklyStatsRepository;
+
+    /**
+     * Records a change of a saved task's team, status or planned end, setting its completion date.
+     *
+     * @param previousTeamId         Team before the change; null for a new or unassigned task
+     * @param previousStatus         Status before the change; null for a new task
+     * @param previousPlannedEndDate Planned end before the change, which classified the counted completion
+     */
+    public void onTaskStatusChanged(Task task, Long previousTeamId, Task.TaskStatus previousStatus,
+                                    LocalDate previousPlannedEndDate) {
+        LocalDate previousCompletedAt = previousStatus == Task.TaskStatus.COMPLETED ? task.getCompletedAt() : null;
+        LocalDate completedAt = null;
+        if (task.getStatus() == Task.TaskStatus.COMPLETED) {
+            // Kept while the task stays completed; tasks completed before tracking keep none
+            completedAt = previousStatus == Task.TaskStatus.COMPLETED ? previousCompletedAt : LocalDate.now();
+        }
+        boolean wasCounted = previousTeamId != null && previousCompletedAt != null;
+        boolean isCounted = task.getTeamId() != null && completedAt != null;
+        task.setCompletedAt(completedAt);
+        int wasOnTime = wasCounted ? onTime(previousPlannedEndDate, previousCompletedAt) : 0;
+        int isOnTime = isCounted ? onTime(task.getPlannedEndDate(), completedAt) : 0;
+        if (wasCounted && isCounted && previousTeamId.equals(task.getTeamId())
+                && Objects.equals(previousCompletedAt, completedAt) && wasOnTime == isOnTime) {
+            return;
+        }
+        if (wasCounted) {
+            teamWeeklyStatsRepository.removeCompletion(previousTeamId, weekStart(previousCompletedAt), wasOnTime);
+        }
+        if (isCounted) {
+            teamWeeklyStatsRepository.addCompletion(task.getTeamId(), weekStart(completedAt), isOnTime);
+        }
+    }
+
+    /**
+     * Weekly trends of several teams over a date range, read with one query.
+     */
+    @Transactional(readOnly = true)
+    public List<TeamTrendDTO> getTrends(Collection<Long> teamIds, LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("'to' must not be before 'from'");
+        }
+        LocalDate firstWeek = weekStart(from);
+        LocalDate lastWeek = weekStart(to);
+        Map<Long, List<TeamWeeklyStats>> rowsByTeam = new HashMap<>();
+        for (TeamWeeklyStats row : teamWeeklyStatsRepository.findByTeamIdsBetween(teamIds, firstWeek, lastWeek)) {
+            rowsByTeam.computeIfAbsent(row.getTeamId(), k -> new ArrayList<>()).add(row);
+        }
+        List<TeamTrendDTO> trends = new ArrayList<>();
+        for (Long teamId : new LinkedHashSet<>(teamIds)) {
+            trends.add(new TeamTrendDTO(teamId, rowsByTeam.getOrDefault(teamId, List.of()), firstWeek, lastWeek));
+        }
+        return trends;
+    }
+
+    /**
+     * Rebuilds the table from the tasks currently completed. Completed tasks without a completion
+     * date (imports, snapshot imports) first get their last update as one, so that reopening them
+     * later takes back what was counted here.
+     *
+     * @return Number of week rows written
+     */
+    public int rebuild() {
+        teamWeeklyStatsRepository.backfillCompletedAt();
+        teamWeeklyStatsRepository.deleteAllRows();
+        int rows = teamWeeklyStatsRepository.insertFromCompletedTasks();
+        System.out.println("Rebuilt team weekly stats: " + rows + " rows");
+        return rows;
+    }
+
+    private static int onTime(LocalDate plannedEndDate, LocalDate completedAt) {
+        return plannedEndDate == null || !completedAt.isAfter(plannedEndDate) ? 1 : 0;
+    }
+
+    private static LocalDate weekStart(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+}
@@ -1,19 +1,23 @@
 package com.chantierpro.service;
 
-import com.chantierpro.dto.TaskTemplateDTO;
-import com.chantierpro.dto.TeamWithTasksDTO;
-import com.chantierpro.entity.TaskTemplate;
+import com.chantierpro.dto.TaskSummaryFigures;
+import com.chantierpro.dto.TeamStatusCountRow;
+import com.chantierpro.entity.Task;
 import com.chantierpro.entity.Team;
-import com.chantierpro.entity.TeamTaskTemplate;
 import com.chantierpro.repository.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @Transactional
@@ -25,23 +29,35 @@ public class TeamService {
     @Autowired
     private TaskRepository taskRepository;
     
-    @Autowired
-    private VillaRepository villaRepository;
-    
-    @Autowired
-    private CategoryRepository categoryRepository;
-    
     @Autowired
     private TaskTemplateRepository taskTemplateRepository;
     
     @Autowired
     private TeamTaskTemplateRepository teamTaskTemplateRepository;
-    
+
     @Autowired
-    private TaskTemplateService taskTemplateService;
-    
+    private TeamWeeklyStatsRepository teamWeeklyStatsRepository;
+
+    @Autowired
+    private DeletionLogService deletionLogService;
+
+    @Autowired
+    private ProjectSummaryService projectSummaryService;
+
+    @Autowired
+    private CategoryService categoryService;
+
     @Autowired
-    private TeamTaskTemplateService teamTaskTemplateService;
+    private VillaService villaService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TeamAvailabilityService teamAvailabilityService;
+
+    @Autowired
+    private TeamLeaderboardService teamLeaderboardService;
 
     public List<Team> getAllTeams() {
         return teamRepository.findAll();
@@ -56,7 +72,9 @@ public class TeamService {
         if (team.getTasks() != null) {
             team.getTasks().forEach(task -> task.setTeam(team));
         }
-        return teamRepository.save(team);
+        Team savedTeam = teamRepository.save(team);
+        teamLeaderboardService.markStale();
+        return savedTeam;
     }
 
     public Team updateTeam(Long id, Team teamDetails) {
@@ -68,13 +86,37 @@ public class TeamService {
         team.setMembersCount(teamDetails.getMembersCount());
         team.setPerformance(teamDetails.getPerformance());
 
-        return teamRepository.save(team);
+        Team savedTeam = teamRepository.save(team);
+        teamLeaderboardService.markStale();
+        return savedTeam;
     }
 
     public void deleteTeam(Long id) {
-        Team team = teamRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Team not found with id: " + id));
-        teamRepository.delete(team);
+        if (!teamRepository.existsById(id)) {
+            throw new RuntimeException("Team not found with id: " + id);
+        }
+        // The team's tasks go with it as soft deletes, like deleteTask: a tombstone each and the
+        // summary rows patched by their figures, then one roll-up of the categories they left
+        List<Task> tasks = taskRepository.findByTeamIdWithVilla(id);
+        Map<Long, TaskSummaryFigures> removedByProject = new LinkedHashMap<>();
+        Set<Long> categoryIds = new LinkedHashSet<>();
+        for (Task task : tasks) {
+            deletionLogService.recordTaskDeletion(task);
+            TaskSummaryFigures figures = new TaskSummaryFigures(task);
+            removedByProject.merge(figures.getProjectId(), figures, TaskSummaryFigures::plus);
+            categoryIds.add(task.getCategoryId());
+        }
+        removedByProject.values().forEach(figures -> projectSummaryService.applyTaskChange(figures, null));
+        taskRepository.softDeleteByTeamId(id, LocalDateTime.now());
+        teamTaskTemplateRepository.deleteAll(teamTaskTemplateRepository.findByTeamId(id));
+        teamWeeklyStatsRepository.deleteByTeamId(id);
+        teamRepository.deleteById(id);
+
+        villaService.recalculateVillaStatsInBulk(categoryService.recalculateCategoryStatsInBulk(categoryIds))
+                .forEach(projectService::updateProjectStats);
+        System.out.println("Deleted team " + id + " and its " + tasks.size() + " tasks");
+        teamAvailabilityService.markStale();
+        teamLeaderboardService.markStale();
     }
 
     public List<Team> searchTeams(String searchTerm) {
@@ -94,7 +136,7 @@ public class TeamService {
     }
 
     public Double getAveragePerformance() {
-        return teamRepository.getAveragePerformance();
+        return teamLeaderboardService.getAveragePerformance();
     }
 
     @Transactional
@@ -102,27 +144,52 @@ public class TeamService {
         Team team = teamRepository.findById(teamId)
                 .orElseThrow(() -> new RuntimeException("Team not found with id: " + teamId));
 
-        // Count active tasks for this team
-        List<com.chantierpro.entity.Task> activeTasks = taskRepository.findByTeamId(teamId);
-        long activeTasksCount = activeTasks.stream()
-                .filter(task -> task.getStatus() == com.chantierpro.entity.Task.TaskStatus.IN_PROGRESS ||
-                               task.getStatus() == com.chantierpro.entity.Task.TaskStatus.PENDING)
-                .count();
-
-        team.setActiveTasks((int) activeTasksCount);
+        // Task counts per status from one grouped query
+        applyTaskCounts(team, taskRepository.countByTeamIdGroupedByStatus(teamId));
         team.setLastActivity(LocalDateTime.now());
 
-        // Calculate performance based on completed tasks vs total tasks
-        long completedTasks = activeTasks.stream()
-                .filter(task -> task.getStatus() == com.chantierpro.entity.Task.TaskStatus.COMPLETED)
-                .count();
+        teamRepository.save(team);
+    }
 
-        if (!activeTasks.isEmpty()) {
-            int performance = (int) ((completedTasks * 100) / activeTasks.size());
-            team.setPerformance(performance);
+    /**
+     * Recomputes activeTasks and performance of every team from a single GROUP BY over the
+     * tasks table. Unlike {@link #updateTeamStats}, lastActivity is left untouched.
+     *
+     * @return Number of teams updated
+     */
+    @Transactional
+    public int recomputeAllTeamStats() {
+        Map<Long, List<TeamStatusCountRow>> rowsByTeam = new HashMap<>();
+        for (TeamStatusCountRow row : taskRepository.countAllGroupedByTeamAndStatus()) {
+            rowsByTeam.computeIfAbsent(row.getTeamId(), k -> new ArrayList<>()).add(row);
+        }
+        List<Team> teams = teamRepository.findAll();
+        for (Team team : teams) {
+            applyTaskCounts(team, rowsByTeam.getOrDefault(team.getId(), List.of()));
         }
+        teamRepository.saveAll(teams);
+        System.out.println("Recomputed stats of " + teams.size() + " teams");
+        return teams.size();
+    }
 
-        teamRepository.save(team);
+    // Active tasks are pending or in progress; performance is the share of completed tasks
+    // (left as is for a team without tasks)
+    private static void applyTaskCounts(Team team, List<TeamStatusCountRow> rows) {
+        long total = 0;
+        long active = 0;
+        long completed = 0;
+        for (TeamStatusCountRow row : rows) {
+            total += row.getTasksCount();
+            if (row.getStatus() == Task.TaskStatus.IN_PROGRESS || row.getStatus() == Task.TaskStatus.PENDING) {
+                active += row.getTasksCount();
+            } else if (row.getStatus() == Task.TaskStatus.COMPLETED) {
+                completed += row.getTasksCount();
+            }
+        }
+        team.setActiveTasks((int) active);
+        if (total > 0) {
+            team.setPerformance((int) ((completed * 100) / total));
+        }
     }
 
     @Transactional
@@ -133,88 +200,4 @@ public class TeamService {
         team.setLastActivity(LocalDateTime.now());
         return teamRepository.save(team);
     }
-    
-    @Transactional
-    public Team createTeamWithDefaultTasks(TeamWithTasksDTO teamWithTasksDTO) {
-        System.out.println("Creating team with default tasks: " + teamWithTasksDTO.getTeam().getName());
-        
-        // Create the team first
-        Team team = teamWithTasksDTO.getTeam();
-        Team savedTeam = createTeam(team);
-        System.out.println("Team created with ID: " + savedTeam.getId());
-        
-        // Create task templates and associate them with the team
-        if (teamWithTasksDTO.getDefaultTasks() != null && !teamWithTasksDTO.getDefaultTasks().isEmpty()) {
-            for (TaskTemplateDTO taskTemplateDTO : teamWithTasksDTO.getDefaultTasks()) {
-                // Convert DTO to entity
-                TaskTemplate taskTemplate = new TaskTemplate();
-                taskTemplate.setName(taskTemplateDTO.getName());
-                taskTemplate.setDescription(taskTemplateDTO.getDescription());
-                taskTemplate.setDurationDays(taskTemplateDTO.getDurationDays());
-                taskTemplate.setDefaultAmount(taskTemplateDTO.getDefaultAmount());
-                taskTemplate.setCreatedAt(LocalDateTime.now());
-                taskTemplate.setUpdatedAt(LocalDateTime.now());
-                
-                TaskTemplate savedTemplate = taskTemplateService.createTaskTemplate(taskTemplate);
-                
-                // Create the association between team and task template
-                TeamTaskTemplate teamTaskTemplate = new TeamTaskTemplate();
-                teamTaskTemplate.setTeam(savedTeam);
-                teamTaskTemplate.setTaskTemplate(savedTemplate);
-                teamTaskTemplateService.assignTaskTemplateToTeam(teamTaskTemplate);
-                
-                // We need to find a default villa and category to assign to the task
-                // For testing purposes, let's get the first villa and category from the database
-                com.chantierpro.entity.Villa defaultVilla = villaRepository.findAll().stream().findFirst()
-                        .orElseThrow(() -> new RuntimeException("No villas found in the database"));
-                
-                com.chantierpro.entity.Category defaultCategory = categoryRepository.findAll().stream().findFirst()
-                        .orElseThrow(() -> new RuntimeException("No categories found in the database"));
-                
-                // Create an actual Task instance from the template
-                com.chantierpro.entity.Task task = new com.chantierpro.entity.Task();
-                task.setName(savedTemplate.getName());
-                task.setDescription(savedTemplate.getDescription());
-                task.setTeam(savedTeam);
-                task.setTemplate(savedTemplate); // Set the template relationship
-                task.setVilla(defaultVilla); // Set a default villa
-                task.setCategory(defaultCategory); // Set a default category
-                
-                // Set required dates
-                LocalDate today = LocalDate.now();
-                LocalDate endDate = today.plusDays(taskTemplateDTO.getDurationDays() != null ? taskTemplateDTO.getDurationDays() : 7);
-                
-                task.setStartDate(today);
-                task.setEndDate(endDate);
-                task.setPlannedStartDate(today);
-                task.setPlannedEndDate(endDate);
-                
-                // Set other required fields
-                task.setStatus(com.chantierpro.entity.Task.TaskStatus.PENDING); // Set initial status
-                task.setProgress(0); // Set initial progress
-                task.setProgressStatus(com.chantierpro.entity.Task.ProgressStatus.ON_SCHEDULE);
-                task.setIsReceived(false);
-                task.setIsPaid(false);
-                task.setAmount(taskTemplateDTO.getDefaultAmount());
-                task.setCreatedAt(LocalDateTime.now());
-                task.setUpdatedAt(LocalDateTime.now());
-                
-                // Save the task instance
-                try {
-                    com.chantierpro.entity.Task savedTask = taskRepository.save(task);
-                    System.out.println("Task created successfully with ID: " + savedTask.getId() + 
-                                     ", Name: " + savedTask.getName() + 
-                                     ", Team ID: " + savedTask.getTeam().getId());
-                } catch (Exception e) {
-                    System.err.println("Error creating task: " + e.getMessage());
-                    e.printStackTrace();
-                }
-            }
-        }
-        
-        // Update team stats to reflect the new tasks
-        updateTeamStats(savedTeam.getId());
-        
-        return savedTeam;
-    }
-}
\ No newline at end of file
+}
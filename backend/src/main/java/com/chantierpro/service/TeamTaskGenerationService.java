@@ -0,0 +1,260 @@
+package com.chantierpro.service;
+
+import com.chantierpro.dto.TaskGenerationResultDTO;
+import com.chantierpro.dto.TaskTemplateDTO;
+import com.chantierpro.dto.TeamWithTasksDTO;
+import com.chantierpro.entity.Category;
+import com.chantierpro.entity.Task;
+import com.chantierpro.entity.TaskTemplate;
+import com.chantierpro.entity.Team;
+import com.chantierpro.entity.TeamTaskTemplate;
+import com.chantierpro.repository.CategoryRepository;
+import com.chantierpro.repository.TaskBatchRepository;
+import com.chantierpro.repository.TeamRepository;
+import com.chantierpro.repository.TeamTaskTemplateRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Creates tasks from team templates: one task per (template, target category), for many villas at
+ * once, for a single placement or for a new team's default tasks. Tasks are written with JDBC batches
+ * and the stats are rolled up once at the end, instead of saving and rolling up task by task.
+ */
+@Service
+@Transactional
+public class TeamTaskGenerationService {
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private TeamTaskTemplateRepository teamTaskTemplateRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TaskBatchRepository taskBatchRepository;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private TeamAvailabilityService teamAvailabilityService;
+
+    @Autowired
+    private TeamLeaderboardService teamLeaderboardService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TaskTemplateService taskTemplateService;
+
+    @Autowired
+    private TeamTaskTemplateService teamTaskTemplateService;
+
+    @Autowired
+    private TaskPlacementService taskPlacementService;
+
+    @Value("${chantierpro.tasks.generation-batch-size:500}")
+    private int batchSize;
+
+    @Value("${chantierpro.tasks.generation-max-tasks:10000}")
+    private int maxTasks;
+
+    /**
+     * Generates the team's template tasks in the target categories.
+     * Targets are the given categories, plus for every given villa either its category named
+     * {@code categoryName} or, without a name, its first category.
+     *
+     * @param startDate Planned start of every task (today when null); the end follows the template duration
+     * @param dryRun    Only compute the targets and counts, write nothing
+     */
+    @Timed(value = "chantierpro.templates.apply", extraTags = {"source", "team-templates-batch"})
+    public TaskGenerationResultDTO generate(Long teamId, Collection<Long> villaIds, Collection<Long> categoryIds,
+                                            String categoryName, LocalDate startDate, boolean dryRun) {
+        Team team = teamRepository.findById(teamId)
+                .orElseThrow(() -> new RuntimeException("Team not found with id: " + teamId));
+        List<TaskTemplate> templates = teamTaskTemplateRepository.findTemplatesByTeamId(teamId);
+        if (templates.isEmpty()) {
+            throw new IllegalArgumentException("No task templates found for team with id: " + teamId);
+        }
+
+        TaskGenerationResultDTO result = new TaskGenerationResultDTO(teamId, dryRun);
+        List<Category> targets = resolveTargets(villaIds, categoryIds, categoryName, result);
+        if (targets.isEmpty()) {
+            throw new IllegalArgumentException("No target category: give villaIds and/or categoryIds");
+        }
+        for (Category category : targets) {
+            result.getTargets().add(new TaskGenerationResultDTO.Target(category.getVilla().getId(),
+                    category.getVilla().getName(), category.getId(), category.getName()));
+        }
+        result.setTemplatesCount(templates.size());
+        result.setTasksCount(templates.size() * targets.size());
+        checkTasksCount(templates.size(), targets.size());
+        if (dryRun) {
+            return result;
+        }
+
+        insertTasks(team, templates, targets, startDate != null ? startDate : LocalDate.now(), "team-templates-batch");
+        teamService.updateTeamStats(teamId);
+        System.out.println("Generated " + result.getTasksCount() + " tasks for team " + teamId + " ("
+                + templates.size() + " templates x " + targets.size() + " categories)");
+        return result;
+    }
+
+    /**
+     * Creates a team, its task templates and one task per template in the default placement
+     * (see TaskPlacementService). The templates are saved one by one, the tasks go through
+     * {@link #insertTasks}.
+     */
+    public Team createTeamWithDefaultTasks(TeamWithTasksDTO teamWithTasksDTO) {
+        System.out.println("Creating team with default tasks: " + teamWithTasksDTO.getTeam().getName());
+        Team savedTeam = teamService.createTeam(teamWithTasksDTO.getTeam());
+        System.out.println("Team created with ID: " + savedTeam.getId());
+
+        List<TaskTemplateDTO> defaultTasks = teamWithTasksDTO.getDefaultTasks();
+        if (defaultTasks != null && !defaultTasks.isEmpty()) {
+            checkTasksCount(defaultTasks.size(), 1);
+            // Villa and category for the task instances, resolved once for all templates
+            TaskPlacementService.Placement placement = taskPlacementService.resolve(
+                    teamWithTasksDTO.getProjectId(), teamWithTasksDTO.getVillaId(), teamWithTasksDTO.getCategoryId());
+
+            List<TaskTemplate> templates = new ArrayList<>();
+            for (TaskTemplateDTO taskTemplateDTO : defaultTasks) {
+                TaskTemplate taskTemplate = new TaskTemplate();
+                taskTemplate.setName(taskTemplateDTO.getName());
+                taskTemplate.setDescription(taskTemplateDTO.getDescription());
+                taskTemplate.setDurationDays(taskTemplateDTO.getDurationDays());
+                taskTemplate.setDefaultAmount(taskTemplateDTO.getDefaultAmount());
+                taskTemplate.setCreatedAt(LocalDateTime.now());
+                taskTemplate.setUpdatedAt(LocalDateTime.now());
+                TaskTemplate savedTemplate = taskTemplateService.createTaskTemplate(taskTemplate);
+
+                TeamTaskTemplate teamTaskTemplate = new TeamTaskTemplate();
+                teamTaskTemplate.setTeam(savedTeam);
+                teamTaskTemplate.setTaskTemplate(savedTemplate);
+                teamTaskTemplateService.assignTaskTemplateToTeam(teamTaskTemplate);
+                templates.add(savedTemplate);
+            }
+            insertTasks(savedTeam, templates, List.of(placement.getCategory()), LocalDate.now(), "team-defaults");
+        }
+
+        // Update team stats to reflect the new tasks
+        teamService.updateTeamStats(savedTeam.getId());
+        return savedTeam;
+    }
+
+    /**
+     * Writes one task per (template, target category) in JDBC batches, then rolls up the touched
+     * categories once. Team stats are left to the caller.
+     *
+     * @param source Tag of the chantierpro.tasks.generated counter
+     * @return The created tasks, with their generated ids
+     */
+    public List<Task> insertTasks(Team team, List<TaskTemplate> templates, List<Category> targets, LocalDate start,
+                                  String source) {
+        checkTasksCount(templates.size(), targets.size());
+        List<Task> created = new ArrayList<>(templates.size() * targets.size());
+        List<Task> batch = new ArrayList<>(batchSize);
+        Set<Long> touchedCategoryIds = new LinkedHashSet<>();
+        for (Category category : targets) {
+            for (TaskTemplate template : templates) {
+                batch.add(newTask(template, team, category, start));
+                if (batch.size() >= batchSize) {
+                    taskBatchRepository.insertAllReturningIds(batch);
+                    created.addAll(batch);
+                    batch.clear();
+                }
+            }
+            touchedCategoryIds.add(category.getId());
+        }
+        taskBatchRepository.insertAllReturningIds(batch);
+        created.addAll(batch);
+
+        // One roll-up pass for everything that was written
+        categoryService.updateCategoryStatsInBulk(touchedCategoryIds);
+        teamAvailabilityService.markStale();
+        teamLeaderboardService.markStale();
+        meterRegistry.counter("chantierpro.tasks.generated", "source", source).increment(created.size());
+        return created;
+    }
+
+    private void checkTasksCount(int templatesCount, int targetsCount) {
+        long tasksCount = (long) templatesCount * targetsCount;
+        if (tasksCount > maxTasks) {
+            throw new IllegalArgumentException("Generating " + tasksCount + " tasks (" + templatesCount + " templates x "
+                    + targetsCount + " categories) exceeds the limit of " + maxTasks);
+        }
+    }
+
+    private List<Category> resolveTargets(Collection<Long> villaIds, Collection<Long> categoryIds, String categoryName,
+                                          TaskGenerationResultDTO result) {
+        Map<Long, Category> targets = new LinkedHashMap<>();
+        if (categoryIds != null && !categoryIds.isEmpty()) {
+            for (Category category : categoryRepository.findByIdsWithVilla(categoryIds)) {
+                targets.put(category.getId(), category);
+            }
+        }
+        if (villaIds != null && !villaIds.isEmpty()) {
+            Map<Long, Category> chosenByVilla = new LinkedHashMap<>();
+            for (Category category : categoryRepository.findByVillaIdsWithVilla(villaIds)) {
+                Long villaId = category.getVilla().getId();
+                boolean matches = categoryName == null || categoryName.isBlank()
+                        || categoryName.trim().equalsIgnoreCase(category.getName());
+                if (matches && !chosenByVilla.containsKey(villaId)) {
+                    chosenByVilla.put(villaId, category);
+                }
+            }
+            for (Long villaId : new LinkedHashSet<>(villaIds)) {
+                Category category = chosenByVilla.get(villaId);
+                if (category == null) {
+                    result.getSkippedVillaIds().add(villaId);
+                } else {
+                    targets.putIfAbsent(category.getId(), category);
+                }
+            }
+        }
+        return new ArrayList<>(targets.values());
+    }
+
+    private static Task newTask(TaskTemplate template, Team team, Category category, LocalDate start) {
+        LocalDate end = start.plusDays(template.getDurationDays() != null ? template.getDurationDays() : 7);
+        Task task = new Task();
+        task.setName(template.getName());
+        task.setDescription(template.getDescription());
+        task.setTemplate(template);
+        task.setTeam(team);
+        task.setCategory(category);
+        task.setVilla(category.getVilla());
+        task.setAmount(template.getDefaultAmount());
+        task.setStartDate(start);
+        task.setEndDate(end);
+        task.setPlannedStartDate(start);
+        task.setPlannedEndDate(end);
+        task.setStatus(Task.TaskStatus.PENDING);
+        task.setProgress(0);
+        task.setProgressStatus(Task.ProgressStatus.ON_SCHEDULE);
+        task.setIsReceived(false);
+        task.setIsPaid(false);
+        return task;
+    }
+}
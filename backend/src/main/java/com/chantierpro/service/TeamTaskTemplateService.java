@@ -2,7 +2,9 @@ package com.chantierpro.service;
 
 import com.chantierpro.entity.TaskTemplate;
 import com.chantierpro.entity.TeamTaskTemplate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service interface for managing team-task template assignments.
@@ -41,4 +43,12 @@ public interface TeamTaskTemplateService {
      * @return List of task templates assigned to the team
      */
     List<TaskTemplate> getTaskTemplatesByTeamId(Long teamId);
+    
+    /**
+     * Get the task templates of several teams at once.
+     * 
+     * @param teamIds The team IDs
+     * @return Task templates by team ID; every requested team is present, possibly with an empty list
+     */
+    Map<Long, List<TaskTemplate>> getTaskTemplatesByTeamIds(Collection<Long> teamIds);
 }
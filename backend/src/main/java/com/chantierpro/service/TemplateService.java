@@ -2,6 +2,7 @@ package com.chantierpro.service;
 
 import com.chantierpro.entity.*;
 import com.chantierpro.repository.*;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -41,6 +42,15 @@ public class TemplateService {
     @Autowired
     private TaskService taskService;
 
+    @Autowired
+    private TeamAvailabilityService teamAvailabilityService;
+
+    @Autowired
+    private TeamLeaderboardService teamLeaderboardService;
+
+    @Autowired
+    private ProjectSummaryService projectSummaryService;
+
     public List<Template> getAllTemplates() {
         return templateRepository.findAllOrderByUpdatedAtDesc();
     }
@@ -150,6 +160,7 @@ public class TemplateService {
      * Apply a template to a villa - creates categories and tasks from template
      */
     @Transactional
+    @Timed(value = "chantierpro.templates.apply", extraTags = {"source", "villa-template"})
     public void applyTemplateToVilla(Long templateId, Long villaId) {
         Template template = templateRepository.findById(templateId)
                 .orElseThrow(() -> new RuntimeException("Template not found with id: " + templateId));
@@ -222,6 +233,8 @@ public class TemplateService {
                 task.setRemarks(templateTask.getRemarks());
 
                 Task savedTask = taskRepository.save(task);
+                teamAvailabilityService.update(savedTask);
+                teamLeaderboardService.onTaskChanged(null, null, savedTask.getTeamId(), savedTask.getStatus());
                 System.out.println("Created task: " + savedTask.getName() + " (ID: " + savedTask.getId() + ")");
             }
 
@@ -229,6 +242,9 @@ public class TemplateService {
             categoryService.updateCategoryStats(savedCategory.getId());
         }
 
+        // The tasks above were saved without summary deltas, so recount the project's row once
+        projectSummaryService.refresh(villa.getProject().getId());
+
         System.out.println("Template application completed successfully");
     }
 
@@ -0,0 +1,99 @@
+package com.chantierpro.service;
+
+import com.chantierpro.entity.Villa;
+import com.chantierpro.repository.VillaCloneRepository;
+import com.chantierpro.repository.VillaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Duplicates a villa with its categories and tasks, for projects made of identical villa types.
+ */
+@Service
+@Transactional
+public class VillaCloneService {
+
+    @Autowired
+    private VillaRepository villaRepository;
+
+    @Autowired
+    private VillaCloneRepository villaCloneRepository;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TeamAvailabilityService teamAvailabilityService;
+
+    @Autowired
+    private TeamLeaderboardService teamLeaderboardService;
+
+    @Value("${chantierpro.clone.max-count:200}")
+    private int maxCount;
+
+    /**
+     * Creates {@code count} copies of a villa in the same project. The villa rows are created
+     * one by one; categories are copied with one INSERT ... SELECT for all copies and tasks with
+     * one INSERT ... SELECT per copy. Stats are rolled up once at the end.
+     *
+     * @param villaId The ID of the villa to copy
+     * @param count   Number of copies, named "&lt;villa name&gt; (n)"
+     * @return The new villas
+     */
+    public List<Villa> cloneVilla(Long villaId, int count) {
+        if (count < 1 || count > maxCount) {
+            throw new IllegalArgumentException("count must be between 1 and " + maxCount);
+        }
+        Villa source = villaRepository.findById(villaId)
+                .orElseThrow(() -> new RuntimeException("Villa not found with id: " + villaId));
+
+        List<Long> cloneIds = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            Villa clone = new Villa();
+            clone.setProject(source.getProject());
+            clone.setName(source.getName() + " (" + i + ")");
+            clone.setType(source.getType());
+            clone.setSurface(source.getSurface());
+            cloneIds.add(villaRepository.save(clone).getId());
+        }
+
+        List<Long> sourceCategoryIds = villaCloneRepository.findCategoryIds(villaId);
+        Set<Long> categoryIds = new LinkedHashSet<>();
+        int tasks = 0;
+        if (!sourceCategoryIds.isEmpty()) {
+            villaCloneRepository.copyCategories(villaId, cloneIds);
+            for (Long cloneId : cloneIds) {
+                List<Long> copiedCategoryIds = villaCloneRepository.findCategoryIds(cloneId);
+                Map<Long, Long> mapping = new LinkedHashMap<>();
+                for (int i = 0; i < sourceCategoryIds.size(); i++) {
+                    mapping.put(sourceCategoryIds.get(i), copiedCategoryIds.get(i));
+                }
+                tasks += villaCloneRepository.copyTasks(cloneId, mapping);
+                categoryIds.addAll(copiedCategoryIds);
+            }
+        }
+
+        if (categoryIds.isEmpty()) {
+            projectService.updateProjectStats(source.getProject().getId());
+        } else {
+            categoryService.updateCategoryStatsInBulk(categoryIds);
+            teamAvailabilityService.markStale();
+            teamLeaderboardService.markStale();
+        }
+        System.out.println("Cloned villa " + villaId + " " + count + " times (" + categoryIds.size()
+                + " categories, " + tasks + " tasks)");
+        return villaRepository.findAllById(cloneIds);
+    }
+}
@@ -1,17 +1,27 @@
 package com.chantierpro.service;
 
+import com.chantierpro.dto.VillaDashboardDTO;
 import com.chantierpro.entity.Category;
+import com.chantierpro.entity.Task;
 import com.chantierpro.entity.Villa;
 import com.chantierpro.entity.Project;
 import com.chantierpro.repository.VillaRepository;
 import com.chantierpro.repository.ProjectRepository;
 import com.chantierpro.repository.CategoryRepository;
+import com.chantierpro.repository.TaskRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -29,6 +39,18 @@ public class VillaService {
     @Autowired
     private ProjectService projectService;
 
+    @Autowired
+    private DeletionLogService deletionLogService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TeamAvailabilityService teamAvailabilityService;
+
+    @Autowired
+    private TeamLeaderboardService teamLeaderboardService;
+
     public List<Villa> getAllVillas() {
         return villaRepository.findAll();
     }
@@ -77,10 +99,18 @@ public class VillaService {
                 .orElseThrow(() -> new RuntimeException("Villa not found with id: " + id));
         
         Long projectId = villa.getProject().getId();
-        villaRepository.delete(villa);
+        deletionLogService.recordVillaDeletion(villa);
+
+        // Soft delete the whole subtree; SoftDeletePurgeService removes the rows off-peak
+        LocalDateTime now = LocalDateTime.now();
+        taskRepository.softDeleteByVillaId(id, now);
+        categoryRepository.softDeleteByVillaId(id, now);
+        villaRepository.softDeleteById(id, now);
+        teamAvailabilityService.markStale();
+        teamLeaderboardService.markStale();
         
         // Update project stats
-        projectService.updateProjectStats(projectId);
+        projectService.updateProjectStatsAndRecountTasks(projectId);
     }
 
     public List<Villa> searchVillas(Long projectId, String searchTerm) {
@@ -94,6 +124,38 @@ public class VillaService {
         return villaRepository.findByStatus(status);
     }
 
+    /**
+     * Villa screen data in at most three queries (villa, categories, tasks with their team).
+     *
+     * @param villaId The ID of the villa
+     * @param fields  Sections to include among "villa", "categories" and "tasks"; tasks are
+     *                returned nested in their category, so "tasks" implies "categories"
+     */
+    @Transactional(readOnly = true)
+    public VillaDashboardDTO getVillaDashboard(Long villaId, Set<String> fields) {
+        Villa villa = villaRepository.findById(villaId)
+                .orElseThrow(() -> new RuntimeException("Villa not found with id: " + villaId));
+
+        VillaDashboardDTO dashboard = new VillaDashboardDTO();
+        if (fields.contains("villa")) {
+            dashboard.setVilla(new VillaDashboardDTO.VillaStats(villa));
+        }
+        if (fields.contains("categories") || fields.contains("tasks")) {
+            Map<Long, List<VillaDashboardDTO.TaskEntry>> tasksByCategory = null;
+            if (fields.contains("tasks")) {
+                tasksByCategory = taskRepository.findByVillaIdWithTeam(villaId).stream()
+                        .collect(Collectors.groupingBy(Task::getCategoryId,
+                                Collectors.mapping(VillaDashboardDTO.TaskEntry::new, Collectors.toList())));
+            }
+            Map<Long, List<VillaDashboardDTO.TaskEntry>> tasks = tasksByCategory;
+            dashboard.setCategories(categoryRepository.findByVillaId(villaId).stream()
+                    .map(category -> new VillaDashboardDTO.CategoryEntry(category,
+                            tasks != null ? tasks.getOrDefault(category.getId(), List.of()) : null))
+                    .collect(Collectors.toList()));
+        }
+        return dashboard;
+    }
+
     /**
      * Updates the statistics for a villa including progress calculation
      * Progress is calculated as the average of all categories' progression values
@@ -101,7 +163,50 @@ public class VillaService {
      * @param villaId The ID of the villa to update
      */
     @Transactional
+    @Timed(value = "chantierpro.rollup", extraTags = {"level", "villa"})
     public void updateVillaStats(Long villaId) {
+        Villa villa = recalculateVillaStats(villaId);
+
+        // Update project stats if the villa has a valid project
+        if (villa.getProject() != null && villa.getProject().getId() != null) {
+            projectService.updateProjectStats(villa.getProject().getId());
+        }
+    }
+
+    /**
+     * Recalculates each villa once, then each affected project once.
+     *
+     * @param villaIds The IDs of the villas whose categories changed
+     */
+    @Transactional
+    @Timed(value = "chantierpro.rollup", extraTags = {"level", "villa-bulk"})
+    public void updateVillaStatsInBulk(Collection<Long> villaIds) {
+        recalculateVillaStatsInBulk(villaIds).forEach(projectService::updateProjectStatsAndRecountTasks);
+    }
+
+    /**
+     * Recalculates each villa once without touching its project, for callers that roll up
+     * the projects themselves.
+     *
+     * @param villaIds The IDs of the villas whose categories changed
+     * @return The IDs of the projects the villas belong to
+     */
+    @Transactional
+    public Set<Long> recalculateVillaStatsInBulk(Collection<Long> villaIds) {
+        Set<Long> projectIds = new LinkedHashSet<>();
+        for (Long villaId : villaIds) {
+            Villa villa = recalculateVillaStats(villaId);
+            if (villa.getProject() != null && villa.getProject().getId() != null) {
+                projectIds.add(villa.getProject().getId());
+            }
+        }
+        return projectIds;
+    }
+
+    /**
+     * Recalculates a villa's own counters, progress and status without touching its project.
+     */
+    private Villa recalculateVillaStats(Long villaId) {
         try {
             Villa villa = villaRepository.findById(villaId)
                     .orElseThrow(() -> new RuntimeException("Villa not found with id: " + villaId));
@@ -158,12 +263,7 @@ public class VillaService {
                 villa.setStatus(Villa.VillaStatus.NOT_STARTED);
             }
 
-            villaRepository.save(villa);
-            
-            // Update project stats if the villa has a valid project
-            if (villa.getProject() != null && villa.getProject().getId() != null) {
-                projectService.updateProjectStats(villa.getProject().getId());
-            }
+            return villaRepository.save(villa);
         } catch (Exception e) {
             System.err.println("Error updating villa stats for ID " + villaId + ": " + e.getMessage());
             e.printStackTrace();
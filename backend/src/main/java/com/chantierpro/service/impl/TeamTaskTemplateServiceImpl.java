@@ -9,8 +9,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 /**
  * Implementation of the TeamTaskTemplateService interface.
@@ -55,9 +58,22 @@ public class TeamTaskTemplateServiceImpl implements TeamTaskTemplateService {
     
     @Override
     public List<TaskTemplate> getTaskTemplatesByTeamId(Long teamId) {
-        List<TeamTaskTemplate> teamTaskTemplates = teamTaskTemplateRepository.findByTeamId(teamId);
-        return teamTaskTemplates.stream()
-                .map(TeamTaskTemplate::getTaskTemplate)
-                .collect(Collectors.toList());
+        return teamTaskTemplateRepository.findTemplatesByTeamId(teamId);
+    }
+    
+    @Override
+    public Map<Long, List<TaskTemplate>> getTaskTemplatesByTeamIds(Collection<Long> teamIds) {
+        Map<Long, List<TaskTemplate>> templatesByTeam = new LinkedHashMap<>();
+        for (Long teamId : teamIds) {
+            templatesByTeam.put(teamId, new ArrayList<>());
+        }
+        if (teamIds.isEmpty()) {
+            return templatesByTeam;
+        }
+        for (TeamTaskTemplate teamTaskTemplate : teamTaskTemplateRepository.findByTeamIdsWithTemplates(teamIds)) {
+            // The team side stays an uninitialized proxy; reading its id does not load it
+            templatesByTeam.get(teamTaskTemplate.getTeam().getId()).add(teamTaskTemplate.getTaskTemplate());
+        }
+        return templatesByTeam;
     }
 }
@@ -0,0 +1,14 @@
+-- Finish-to-start dependencies between tasks of a villa (see SchedulingService).
+-- Rows are removed with their tasks by BulkDeleteService, so no foreign keys are declared.
+CREATE TABLE IF NOT EXISTS task_dependencies (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    villa_id BIGINT NOT NULL,
+    predecessor_id BIGINT NOT NULL,
+    successor_id BIGINT NOT NULL,
+    lag_days INT NOT NULL DEFAULT 0,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_task_dependencies_pair (predecessor_id, successor_id),
+    INDEX idx_task_dependencies_villa (villa_id),
+    INDEX idx_task_dependencies_successor (successor_id)
+);
@@ -0,0 +1,2 @@
+-- Index the team/planned-date range read by the team calendar endpoints
+CREATE INDEX idx_tasks_team_planned ON tasks (team_id, planned_start_date, planned_end_date);
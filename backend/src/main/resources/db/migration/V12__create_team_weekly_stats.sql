@@ -0,0 +1,12 @@
+-- Weekly completed / on-time / late task counts per team (see TeamPerformanceHistoryService).
+-- Maintained incrementally when a task is completed; week_start is the Monday of the week.
+CREATE TABLE IF NOT EXISTS team_weekly_stats (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    team_id BIGINT NOT NULL,
+    week_start DATE NOT NULL,
+    completed_count INT NOT NULL DEFAULT 0,
+    on_time_count INT NOT NULL DEFAULT 0,
+    late_count INT NOT NULL DEFAULT 0,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_team_weekly_stats_team_week (team_id, week_start)
+);
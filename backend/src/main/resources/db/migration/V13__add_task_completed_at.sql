@@ -0,0 +1,16 @@
+-- Completion date of a task, so the weekly team history can take a completion back when the
+-- task is reopened (see TeamPerformanceHistoryService). Completed tasks get their last update.
+ALTER TABLE tasks ADD COLUMN completed_at DATE NULL;
+
+UPDATE tasks SET completed_at = DATE(updated_at)
+WHERE status = 'COMPLETED' AND updated_at IS NOT NULL;
+
+-- Recount the history from the completion dates, as TeamPerformanceHistoryService.rebuild() does
+DELETE FROM team_weekly_stats;
+
+INSERT INTO team_weekly_stats (team_id, week_start, completed_count, on_time_count, late_count)
+SELECT team_id, DATE_SUB(completed_at, INTERVAL WEEKDAY(completed_at) DAY) AS week_start, COUNT(*),
+       SUM(completed_at <= planned_end_date), SUM(completed_at > planned_end_date)
+FROM tasks
+WHERE status = 'COMPLETED' AND team_id IS NOT NULL AND completed_at IS NOT NULL
+GROUP BY team_id, week_start;
@@ -0,0 +1,5 @@
+-- Index the modification timestamps scanned by the delta-sync endpoint
+CREATE INDEX idx_projects_updated_at ON projects (updated_at);
+CREATE INDEX idx_villas_last_modified ON villas (last_modified);
+CREATE INDEX idx_categories_updated_at ON categories (updated_at);
+CREATE INDEX idx_tasks_updated_at ON tasks (updated_at);
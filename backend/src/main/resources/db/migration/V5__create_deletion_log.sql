@@ -0,0 +1,13 @@
+-- Tombstones for deleted projects, villas, categories and tasks (used by /sync)
+CREATE TABLE IF NOT EXISTS deletion_log (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    entity_type VARCHAR(20) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    project_id BIGINT NULL,
+    villa_id BIGINT NULL,
+    category_id BIGINT NULL,
+    deleted_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_deletion_log_deleted_at (deleted_at),
+    INDEX idx_deletion_log_project_deleted_at (project_id, deleted_at)
+);
@@ -0,0 +1,17 @@
+-- Soft delete: rows are flagged on delete and physically removed later by the purger
+ALTER TABLE projects ADD COLUMN deleted BIT(1) NOT NULL DEFAULT 0, ADD COLUMN deleted_at DATETIME(6) NULL;
+ALTER TABLE villas ADD COLUMN deleted BIT(1) NOT NULL DEFAULT 0, ADD COLUMN deleted_at DATETIME(6) NULL;
+ALTER TABLE categories ADD COLUMN deleted BIT(1) NOT NULL DEFAULT 0, ADD COLUMN deleted_at DATETIME(6) NULL;
+ALTER TABLE tasks ADD COLUMN deleted BIT(1) NOT NULL DEFAULT 0, ADD COLUMN deleted_at DATETIME(6) NULL;
+
+-- Every query now filters on deleted = false: index the flag alongside the parent keys used for lookups,
+-- and on its own for the purger's scans
+CREATE INDEX idx_projects_deleted ON projects (deleted);
+CREATE INDEX idx_villas_project_deleted ON villas (project_id, deleted);
+CREATE INDEX idx_villas_deleted ON villas (deleted);
+CREATE INDEX idx_categories_villa_deleted ON categories (villa_id, deleted);
+CREATE INDEX idx_categories_deleted ON categories (deleted);
+CREATE INDEX idx_tasks_category_deleted ON tasks (category_id, deleted);
+CREATE INDEX idx_tasks_villa_deleted ON tasks (villa_id, deleted);
+CREATE INDEX idx_tasks_team_deleted ON tasks (team_id, deleted);
+CREATE INDEX idx_tasks_deleted ON tasks (deleted);
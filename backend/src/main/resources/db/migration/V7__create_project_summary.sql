@@ -0,0 +1,17 @@
+-- Per-project dashboard figures, refreshed whenever a project's stats are rolled up
+-- (see ProjectSummaryService) and rebuildable from scratch
+CREATE TABLE IF NOT EXISTS project_summary (
+    project_id BIGINT NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    progress INT NOT NULL DEFAULT 0,
+    villas_count INT NOT NULL DEFAULT 0,
+    delayed_villas INT NOT NULL DEFAULT 0,
+    tasks_count INT NOT NULL DEFAULT 0,
+    completed_tasks INT NOT NULL DEFAULT 0,
+    delayed_tasks INT NOT NULL DEFAULT 0,
+    total_amount DECIMAL(15, 2) NOT NULL DEFAULT 0,
+    paid_amount DECIMAL(15, 2) NOT NULL DEFAULT 0,
+    updated_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (project_id)
+);
@@ -0,0 +1,19 @@
+-- Daily earned-value figures per project, villa and team (see EvmService)
+CREATE TABLE IF NOT EXISTS evm_snapshots (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    snapshot_date DATE NOT NULL,
+    project_id BIGINT NOT NULL,
+    scope VARCHAR(10) NOT NULL,
+    scope_id BIGINT NULL,
+    scope_name VARCHAR(255) NULL,
+    budget_at_completion DECIMAL(15, 2) NOT NULL,
+    planned_value DECIMAL(15, 2) NOT NULL,
+    earned_value DECIMAL(15, 2) NOT NULL,
+    actual_cost DECIMAL(15, 2) NOT NULL,
+    spi DECIMAL(10, 4) NULL,
+    cpi DECIMAL(10, 4) NULL,
+    estimate_at_completion DECIMAL(15, 2) NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_evm_snapshots_project_scope_date (project_id, scope, snapshot_date),
+    INDEX idx_evm_snapshots_date (snapshot_date)
+);
@@ -0,0 +1,15 @@
+-- Append-only progress history of projects, villas and categories (see ProgressHistoryService).
+-- A row is only written on days where the values changed; readers carry the last row forward.
+CREATE TABLE IF NOT EXISTS progress_snapshots (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    entity_type VARCHAR(10) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    parent_id BIGINT NULL,
+    snapshot_date DATE NOT NULL,
+    progress INT NOT NULL,
+    total_count INT NOT NULL,
+    completed_count INT NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_progress_snapshots_entity_date (entity_type, entity_id, snapshot_date),
+    INDEX idx_progress_snapshots_parent_date (entity_type, parent_id, snapshot_date)
+);
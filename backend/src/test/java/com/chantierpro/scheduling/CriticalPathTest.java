@@ -0,0 +1,197 @@
+package com.chantierpro.scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CriticalPathTest {
+
+    private static final LocalDate BASE = LocalDate.of(2025, 3, 3);
+
+    @Test
+    public void testSlackAndCriticalFlags() {
+        // A (3 days) and B (2 days) both feed C
+        CriticalPath graph = new CriticalPath(
+                List.of(activity(1, 0, 2), activity(2, 0, 1), activity(3, 3, 4)),
+                List.of(link(1, 3, 0), link(2, 3, 0)));
+        Map<Long, CriticalPath.ScheduledActivity> schedule = byId(graph.schedule());
+
+        CriticalPath.ScheduledActivity a = schedule.get(1L);
+        assertEquals(day(0), a.getEarlyStart());
+        assertEquals(day(2), a.getEarlyFinish());
+        assertEquals(day(0), a.getLateStart());
+        assertEquals(day(2), a.getLateFinish());
+        assertTrue(a.isCritical());
+
+        CriticalPath.ScheduledActivity b = schedule.get(2L);
+        assertEquals(day(0), b.getEarlyStart());
+        assertEquals(day(1), b.getEarlyFinish());
+        assertEquals(day(1), b.getLateStart());
+        assertEquals(day(2), b.getLateFinish());
+        assertEquals(1, b.getSlackDays());
+        assertFalse(b.isCritical());
+
+        CriticalPath.ScheduledActivity c = schedule.get(3L);
+        assertEquals(day(3), c.getEarlyStart());
+        assertEquals(day(4), c.getEarlyFinish());
+        assertTrue(c.isCritical());
+    }
+
+    @Test
+    public void testLagDelaysTheSuccessor() {
+        CriticalPath graph = new CriticalPath(
+                List.of(activity(1, 0, 2), activity(2, 3, 4)),
+                List.of(link(1, 2, 2)));
+        CriticalPath.ScheduledActivity successor = byId(graph.schedule()).get(2L);
+
+        // A ends on day 2, so B may start on day 3 + 2
+        assertEquals(day(5), successor.getEarlyStart());
+        assertEquals(day(6), successor.getEarlyFinish());
+        assertEquals(Map.of(2L, 2L), graph.propagateDelays());
+    }
+
+    @Test
+    public void testOwnStartDateIsAStartNoEarlierThanConstraint() {
+        CriticalPath graph = new CriticalPath(
+                List.of(activity(1, 0, 2), activity(2, 10, 11)),
+                List.of(link(1, 2, 0)));
+        Map<Long, CriticalPath.ScheduledActivity> schedule = byId(graph.schedule());
+
+        assertEquals(day(10), schedule.get(2L).getEarlyStart());
+        assertTrue(schedule.get(2L).isCritical());
+        // A may slip until it ends the day before B's start
+        assertEquals(7, schedule.get(1L).getSlackDays());
+        assertEquals(day(9), schedule.get(1L).getLateFinish());
+        assertTrue(graph.propagateDelays().isEmpty());
+    }
+
+    @Test
+    public void testCycleIsDetected() {
+        CriticalPath graph = new CriticalPath(
+                List.of(activity(1, 0, 1), activity(2, 2, 3), activity(3, 4, 5), activity(4, 0, 0)),
+                List.of(link(1, 2, 0), link(2, 3, 0), link(3, 1, 0)));
+
+        assertTrue(graph.hasCycle());
+        assertThrows(IllegalStateException.class, graph::schedule);
+        assertThrows(IllegalStateException.class, graph::propagateDelays);
+
+        CriticalPath acyclic = new CriticalPath(
+                List.of(activity(1, 0, 1), activity(2, 2, 3), activity(3, 4, 5)),
+                List.of(link(1, 2, 0), link(2, 3, 0), link(1, 3, 0)));
+        assertFalse(acyclic.hasCycle());
+    }
+
+    @Test
+    public void testLinksToUnknownTasksAreIgnored() {
+        CriticalPath graph = new CriticalPath(
+                List.of(activity(1, 0, 2), activity(2, 0, 1)),
+                List.of(link(1, 99, 0), link(98, 2, 5)));
+
+        assertFalse(graph.hasCycle());
+        assertTrue(graph.propagateDelays().isEmpty());
+        assertEquals(day(0), byId(graph.schedule()).get(2L).getEarlyStart());
+    }
+
+    @Test
+    public void testShiftPropagatesDownTheChain() {
+        // B starts before A ends, C waits one day after B, D is independent
+        CriticalPath graph = new CriticalPath(
+                List.of(activity(1, 0, 2), activity(2, 2, 3), activity(3, 4, 5), activity(4, 0, 9)),
+                List.of(link(1, 2, 0), link(2, 3, 1)));
+        Map<Long, Long> shifts = graph.propagateDelays();
+
+        assertEquals(Map.of(2L, 1L, 3L, 2L), shifts);
+    }
+
+    @Test
+    public void testTasksAreNeverPulledEarlier() {
+        CriticalPath graph = new CriticalPath(
+                List.of(activity(1, 0, 2), activity(2, 20, 25), activity(3, 30, 31)),
+                List.of(link(1, 2, 0), link(2, 3, 0)));
+
+        assertTrue(graph.propagateDelays().isEmpty());
+        assertEquals(day(20), byId(graph.schedule()).get(2L).getEarlyStart());
+    }
+
+    @Test
+    public void testMatchesFixedPointOnRandomGraphs() {
+        Random random = new Random(11);
+        for (int round = 0; round < 200; round++) {
+            int n = 1 + random.nextInt(30);
+            List<CriticalPath.Activity> activities = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                int start = random.nextInt(20);
+                activities.add(activity(i, start, start + random.nextInt(6)));
+            }
+            // Links only go from a lower to a higher index, so the graph is acyclic
+            List<CriticalPath.Link> links = new ArrayList<>();
+            for (int k = 0; k < n * 2 && n > 1; k++) {
+                int from = random.nextInt(n - 1);
+                int to = from + 1 + random.nextInt(n - from - 1);
+                links.add(link(from, to, random.nextInt(3)));
+            }
+
+            // Naive relaxation of start >= own start and start >= predecessor end + 1 + lag
+            long[] start = new long[n];
+            long[] duration = new long[n];
+            for (int i = 0; i < n; i++) {
+                start[i] = activities.get(i).getStart().toEpochDay();
+                duration[i] = activities.get(i).getEnd().toEpochDay() - start[i] + 1;
+            }
+            boolean changed = true;
+            while (changed) {
+                changed = false;
+                for (CriticalPath.Link link : links) {
+                    int from = (int) link.getPredecessorId();
+                    int to = (int) link.getSuccessorId();
+                    long required = start[from] + duration[from] + link.getLagDays();
+                    if (start[to] < required) {
+                        start[to] = required;
+                        changed = true;
+                    }
+                }
+            }
+
+            CriticalPath graph = new CriticalPath(activities, links);
+            List<CriticalPath.ScheduledActivity> schedule = graph.schedule();
+            Map<Long, Long> shifts = graph.propagateDelays();
+            boolean anyCritical = false;
+            for (int i = 0; i < n; i++) {
+                CriticalPath.ScheduledActivity scheduled = schedule.get(i);
+                assertEquals(start[i], scheduled.getEarlyStart().toEpochDay(), "early start of " + i + " in round " + round);
+                assertTrue(scheduled.getSlackDays() >= 0, "negative slack of " + i + " in round " + round);
+                long shift = start[i] - activities.get(i).getStart().toEpochDay();
+                assertEquals(shift > 0 ? Long.valueOf(shift) : null, shifts.get((long) i), "shift of " + i + " in round " + round);
+                anyCritical |= scheduled.isCritical();
+            }
+            assertTrue(anyCritical, "no critical task in round " + round);
+        }
+    }
+
+    private static CriticalPath.Activity activity(long id, int startOffset, int endOffset) {
+        return new CriticalPath.Activity(id, day(startOffset), day(endOffset));
+    }
+
+    private static CriticalPath.Link link(long predecessorId, long successorId, int lagDays) {
+        return new CriticalPath.Link(predecessorId, successorId, lagDays);
+    }
+
+    private static Map<Long, CriticalPath.ScheduledActivity> byId(List<CriticalPath.ScheduledActivity> schedule) {
+        Map<Long, CriticalPath.ScheduledActivity> byId = new HashMap<>();
+        for (CriticalPath.ScheduledActivity activity : schedule) {
+            byId.put(activity.getId(), activity);
+        }
+        return byId;
+    }
+
+    private static LocalDate day(int offset) {
+        return BASE.plusDays(offset);
+    }
+}
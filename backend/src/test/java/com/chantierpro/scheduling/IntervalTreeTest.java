@@ -0,0 +1,132 @@
+package com.chantierpro.scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IntervalTreeTest {
+
+    private static final LocalDate BASE = LocalDate.of(2025, 1, 1);
+
+    @Test
+    public void testOverlapIsInclusiveOnBothEnds() {
+        IntervalTree tree = new IntervalTree();
+        tree.insert(1, day(10), day(20));
+
+        assertEquals(List.of(1L), tree.overlapping(day(20), day(25)));
+        assertEquals(List.of(1L), tree.overlapping(day(5), day(10)));
+        assertEquals(List.of(1L), tree.overlapping(day(12), day(12)));
+        assertTrue(tree.overlapping(day(21), day(30)).isEmpty());
+        assertTrue(tree.overlapping(day(1), day(9)).isEmpty());
+    }
+
+    @Test
+    public void testOverlapsAnyExcludesGivenId() {
+        IntervalTree tree = new IntervalTree();
+        tree.insert(1, day(10), day(20));
+
+        assertFalse(tree.overlapsAny(day(10), day(20), 1));
+        assertTrue(tree.overlapsAny(day(10), day(20), 2));
+
+        tree.insert(2, day(15), day(16));
+        assertTrue(tree.overlapsAny(day(10), day(20), 1));
+        assertFalse(tree.overlapsAny(day(17), day(30), 1));
+    }
+
+    @Test
+    public void testSameStartIntervalsAreKeptApartById() {
+        IntervalTree tree = new IntervalTree();
+        for (long id = 1; id <= 50; id++) {
+            tree.insert(id, day(10), day(10 + (int) id));
+        }
+        assertEquals(50, tree.size());
+        assertEquals(50, tree.overlapping(day(10), day(10)).size());
+        assertEquals(21, tree.overlapping(day(40), day(100)).size());
+
+        assertTrue(tree.remove(25, day(10)));
+        assertFalse(tree.remove(25, day(10)));
+        assertFalse(tree.remove(26, day(11)));
+        assertEquals(49, tree.size());
+        assertFalse(tree.overlapping(day(10), day(100)).contains(25L));
+        assertTrue(tree.overlapping(day(60), day(60)).contains(50L));
+    }
+
+    @Test
+    public void testEndBeforeStartIsTreatedAsSingleDay() {
+        IntervalTree tree = new IntervalTree();
+        tree.insert(1, day(10), day(5));
+
+        assertEquals(List.of(1L), tree.overlapping(day(10), day(10)));
+        assertTrue(tree.overlapping(day(5), day(9)).isEmpty());
+    }
+
+    @Test
+    public void testMatchesBruteForceAcrossInsertsAndRemoves() {
+        Random random = new Random(42);
+        IntervalTree tree = new IntervalTree();
+        Map<Long, long[]> oracle = new LinkedHashMap<>();
+        long nextId = 1;
+
+        for (int step = 0; step < 20000; step++) {
+            int op = random.nextInt(10);
+            if (op < 5 || oracle.isEmpty()) {
+                // Few distinct starts, so many intervals share a start and rotations reorder them
+                long start = random.nextInt(60);
+                long end = start + random.nextInt(15);
+                tree.insert(nextId, day(start), day(end));
+                oracle.put(nextId, new long[]{start, end});
+                nextId++;
+            } else if (op < 8) {
+                List<Long> ids = new ArrayList<>(oracle.keySet());
+                long id = ids.get(random.nextInt(ids.size()));
+                assertTrue(tree.remove(id, day(oracle.remove(id)[0])));
+            } else {
+                long from = random.nextInt(80) - 10;
+                long to = from + random.nextInt(20);
+                Set<Long> expected = new HashSet<>();
+                for (Map.Entry<Long, long[]> entry : oracle.entrySet()) {
+                    if (entry.getValue()[0] <= to && entry.getValue()[1] >= from) {
+                        expected.add(entry.getKey());
+                    }
+                }
+                List<Long> actual = tree.overlapping(day(from), day(to));
+                assertEquals(expected.size(), actual.size(), "duplicate or missing ids at step " + step);
+                assertEquals(expected, new HashSet<>(actual), "overlap mismatch at step " + step);
+
+                long excluded = expected.isEmpty() ? -1 : expected.iterator().next();
+                boolean others = expected.size() > (expected.contains(excluded) ? 1 : 0);
+                assertEquals(others, tree.overlapsAny(day(from), day(to), excluded), "overlapsAny mismatch at step " + step);
+            }
+            assertEquals(oracle.size(), tree.size());
+        }
+    }
+
+    @Test
+    public void testRemovingEverythingEmptiesTheTree() {
+        IntervalTree tree = new IntervalTree();
+        for (long id = 0; id < 1000; id++) {
+            tree.insert(id, day(id % 37), day(id % 37 + id % 5));
+        }
+        for (long id = 999; id >= 0; id -= 2) {
+            assertTrue(tree.remove(id, day(id % 37)));
+        }
+        for (long id = 0; id < 1000; id += 2) {
+            assertTrue(tree.remove(id, day(id % 37)));
+        }
+        assertEquals(0, tree.size());
+        assertTrue(tree.overlapping(day(-100), day(100)).isEmpty());
+    }
+
+    private static LocalDate day(long offset) {
+        return BASE.plusDays(offset);
+    }
+}
@@ -0,0 +1,184 @@
+package com.chantierpro.service;
+
+import com.chantierpro.dto.LeaderboardEntryDTO;
+import com.chantierpro.dto.TeamStatusCountRow;
+import com.chantierpro.entity.Task;
+import com.chantierpro.entity.Team;
+import com.chantierpro.repository.TaskRepository;
+import com.chantierpro.repository.TeamRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TeamLeaderboardServiceTest {
+
+    @Mock
+    private TeamRepository teamRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @InjectMocks
+    private TeamLeaderboardService leaderboard;
+
+    @Test
+    public void testTiedTeamsShareARank() {
+        // 1: 2/2 -> 100, 2: 1/2 -> 50, 3: 1/2 -> 50, 4: 0/1 -> 0, 5: no tasks, stored 70
+        load(List.of(team(1, 0), team(2, 0), team(3, 0), team(4, 0), team(5, 70)), List.of(
+                row(1, Task.TaskStatus.COMPLETED, 2),
+                row(2, Task.TaskStatus.COMPLETED, 1), row(2, Task.TaskStatus.IN_PROGRESS, 1),
+                row(3, Task.TaskStatus.COMPLETED, 1), row(3, Task.TaskStatus.PENDING, 1),
+                row(4, Task.TaskStatus.DELAYED, 1)));
+
+        assertEquals(1, leaderboard.getRank(1L).getRank());
+        assertEquals(2, leaderboard.getRank(5L).getRank());
+        assertEquals(3, leaderboard.getRank(2L).getRank());
+        assertEquals(3, leaderboard.getRank(3L).getRank());
+        assertEquals(5, leaderboard.getRank(4L).getRank());
+        assertEquals(54.0, leaderboard.getAveragePerformance(), 1e-9);
+        assertEquals(List.of(1L, 5L, 2L, 3L, 4L), topIds(10));
+        assertEquals(List.of(1L, 5L), topIds(2));
+    }
+
+    @Test
+    public void testTaskChangesMoveTeamsBetweenValues() {
+        load(List.of(team(1, 0), team(2, 0)), List.of(
+                row(1, Task.TaskStatus.COMPLETED, 1), row(1, Task.TaskStatus.PENDING, 1),
+                row(2, Task.TaskStatus.PENDING, 1)));
+        assertEquals(50, leaderboard.getRank(1L).getPerformance());
+        assertEquals(0, leaderboard.getRank(2L).getPerformance());
+
+        // Team 2 completes its task: 0 -> 100, overtaking team 1
+        leaderboard.onTaskChanged(2L, Task.TaskStatus.PENDING, 2L, Task.TaskStatus.COMPLETED);
+        assertEquals(1, leaderboard.getRank(2L).getRank());
+        assertEquals(2, leaderboard.getRank(1L).getRank());
+        assertEquals(75.0, leaderboard.getAveragePerformance(), 1e-9);
+
+        // Team 1's pending task moves to team 2: team 1 is 1/1 -> 100, team 2 is 1/2 -> 50
+        leaderboard.onTaskChanged(1L, Task.TaskStatus.PENDING, 2L, Task.TaskStatus.PENDING);
+        LeaderboardEntryDTO first = leaderboard.getRank(1L);
+        assertEquals(1, first.getRank());
+        assertEquals(100, first.getPerformance());
+        assertEquals(1, first.getTotalTasks());
+        assertEquals(2, leaderboard.getRank(2L).getRank());
+        assertEquals(2, leaderboard.getRank(2L).getTotalTasks());
+
+        // Deleting team 2's pending task ties both teams at 100
+        leaderboard.onTaskChanged(2L, Task.TaskStatus.PENDING, null, null);
+        assertEquals(1, leaderboard.getRank(1L).getRank());
+        assertEquals(1, leaderboard.getRank(2L).getRank());
+        assertEquals(100.0, leaderboard.getAveragePerformance(), 1e-9);
+
+        // A team without tasks falls back to its stored performance
+        leaderboard.onTaskChanged(2L, Task.TaskStatus.COMPLETED, null, null);
+        assertEquals(0, leaderboard.getRank(2L).getPerformance());
+        assertEquals(2, leaderboard.getRank(2L).getRank());
+        verify(teamRepository, times(1)).findAll();
+    }
+
+    @Test
+    public void testUnknownTeamReloadsTheBoard() {
+        load(List.of(team(1, 0)), List.of(row(1, Task.TaskStatus.PENDING, 1)));
+        assertEquals(0, leaderboard.getRank(1L).getPerformance());
+
+        leaderboard.onTaskChanged(null, null, 9L, Task.TaskStatus.COMPLETED);
+        when(teamRepository.findAll()).thenReturn(List.of(team(1, 0), team(9, 0)));
+        when(taskRepository.countAllGroupedByTeamAndStatus()).thenReturn(List.of(
+                row(1, Task.TaskStatus.PENDING, 1), row(9, Task.TaskStatus.COMPLETED, 1)));
+
+        assertEquals(1, leaderboard.getRank(9L).getRank());
+        verify(teamRepository, times(2)).findAll();
+    }
+
+    @Test
+    public void testMatchesBruteForceUnderRandomChanges() {
+        Random random = new Random(7);
+        int teams = 40;
+        long[][] counts = new long[teams + 1][2]; // [total, completed]
+        List<Team> all = new ArrayList<>();
+        for (int id = 1; id <= teams; id++) {
+            all.add(team(id, id % 3 == 0 ? random.nextInt(101) : 0));
+        }
+        load(all, List.of());
+        // Changes only apply to a loaded board; an unloaded one reads them from the database
+        assertNotNull(leaderboard.getAveragePerformance());
+        Task.TaskStatus[] statuses = Task.TaskStatus.values();
+
+        for (int step = 0; step < 3000; step++) {
+            long oldTeam = 1 + random.nextInt(teams);
+            Task.TaskStatus oldStatus = statuses[random.nextInt(statuses.length)];
+            if (random.nextInt(3) == 0 || counts[(int) oldTeam][0] == 0) {
+                // Creation
+                long newTeam = oldTeam;
+                leaderboard.onTaskChanged(null, null, newTeam, oldStatus);
+                counts[(int) newTeam][0]++;
+                counts[(int) newTeam][1] += oldStatus == Task.TaskStatus.COMPLETED ? 1 : 0;
+            } else {
+                // Move an existing task, counted as completed or not, to a random team and status
+                if (oldStatus == Task.TaskStatus.COMPLETED && counts[(int) oldTeam][1] == 0) {
+                    oldStatus = Task.TaskStatus.PENDING;
+                }
+                if (oldStatus != Task.TaskStatus.COMPLETED && counts[(int) oldTeam][0] == counts[(int) oldTeam][1]) {
+                    oldStatus = Task.TaskStatus.COMPLETED;
+                }
+                long newTeam = 1 + random.nextInt(teams);
+                Task.TaskStatus newStatus = statuses[random.nextInt(statuses.length)];
+                leaderboard.onTaskChanged(oldTeam, oldStatus, newTeam, newStatus);
+                counts[(int) oldTeam][0]--;
+                counts[(int) oldTeam][1] -= oldStatus == Task.TaskStatus.COMPLETED ? 1 : 0;
+                counts[(int) newTeam][0]++;
+                counts[(int) newTeam][1] += newStatus == Task.TaskStatus.COMPLETED ? 1 : 0;
+            }
+
+            int[] performance = new int[teams + 1];
+            long sum = 0;
+            for (int id = 1; id <= teams; id++) {
+                performance[id] = counts[id][0] > 0
+                        ? (int) (counts[id][1] * 100 / counts[id][0]) : all.get(id - 1).getPerformance();
+                sum += performance[id];
+            }
+            for (int id = 1; id <= teams; id += 1 + random.nextInt(5)) {
+                int higher = 0;
+                for (int other = 1; other <= teams; other++) {
+                    higher += performance[other] > performance[id] ? 1 : 0;
+                }
+                LeaderboardEntryDTO entry = leaderboard.getRank((long) id);
+                assertEquals(performance[id], entry.getPerformance(), "performance of team " + id + " at step " + step);
+                assertEquals(higher + 1, entry.getRank(), "rank of team " + id + " at step " + step);
+            }
+            assertEquals((double) sum / teams, leaderboard.getAveragePerformance(), 1e-9);
+        }
+        verify(teamRepository, times(1)).findAll();
+    }
+
+    private void load(List<Team> teams, List<TeamStatusCountRow> rows) {
+        when(teamRepository.findAll()).thenReturn(teams);
+        when(taskRepository.countAllGroupedByTeamAndStatus()).thenReturn(rows);
+    }
+
+    private List<Long> topIds(int limit) {
+        return leaderboard.getTop(limit).stream().map(LeaderboardEntryDTO::getTeamId).collect(Collectors.toList());
+    }
+
+    private static Team team(long id, int storedPerformance) {
+        Team team = new Team("Team " + id, "Masonry", 3);
+        team.setId(id);
+        team.setPerformance(storedPerformance);
+        return team;
+    }
+
+    private static TeamStatusCountRow row(long teamId, Task.TaskStatus status, long count) {
+        return new TeamStatusCountRow(teamId, status, count);
+    }
+}
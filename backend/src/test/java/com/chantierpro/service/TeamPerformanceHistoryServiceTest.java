@@ -0,0 +1,76 @@
+package com.chantierpro.service;
+
+import com.chantierpro.entity.Task;
+import com.chantierpro.entity.Team;
+import com.chantierpro.repository.TeamWeeklyStatsRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TeamPerformanceHistoryServiceTest {
+
+    private static final LocalDate COMPLETED_AT = LocalDate.of(2025, 3, 12);
+    private static final LocalDate WEEK = COMPLETED_AT.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+
+    @Mock
+    private TeamWeeklyStatsRepository teamWeeklyStatsRepository;
+
+    @InjectMocks
+    private TeamPerformanceHistoryService history;
+
+    @Test
+    public void testReopeningTakesBackTheBucketItWasCountedIn() {
+        // Counted late against a planned end of the 10th; the update reopens it and moves the end to the 20th
+        Task task = completedTask(LocalDate.of(2025, 3, 20));
+        task.setStatus(Task.TaskStatus.IN_PROGRESS);
+
+        history.onTaskStatusChanged(task, 1L, Task.TaskStatus.COMPLETED, LocalDate.of(2025, 3, 10));
+
+        verify(teamWeeklyStatsRepository).removeCompletion(1L, WEEK, 0);
+        verify(teamWeeklyStatsRepository, never()).addCompletion(anyLong(), any(), anyInt());
+        assertNull(task.getCompletedAt());
+    }
+
+    @Test
+    public void testPlannedEndChangeReclassifiesACompletedTask() {
+        // Counted late, still completed, planned end moved past the completion day
+        Task task = completedTask(LocalDate.of(2025, 3, 20));
+
+        history.onTaskStatusChanged(task, 1L, Task.TaskStatus.COMPLETED, LocalDate.of(2025, 3, 10));
+
+        verify(teamWeeklyStatsRepository).removeCompletion(1L, WEEK, 0);
+        verify(teamWeeklyStatsRepository).addCompletion(1L, WEEK, 1);
+        assertEquals(COMPLETED_AT, task.getCompletedAt());
+    }
+
+    @Test
+    public void testUnchangedClassificationWritesNothing() {
+        // Planned end moves, but the completion stays on time
+        Task task = completedTask(LocalDate.of(2025, 3, 25));
+
+        history.onTaskStatusChanged(task, 1L, Task.TaskStatus.COMPLETED, LocalDate.of(2025, 3, 20));
+
+        verifyNoInteractions(teamWeeklyStatsRepository);
+    }
+
+    private static Task completedTask(LocalDate plannedEndDate) {
+        Team team = new Team("Team 1", "Masonry", 3);
+        team.setId(1L);
+        Task task = new Task();
+        task.setTeam(team);
+        task.setStatus(Task.TaskStatus.COMPLETED);
+        task.setCompletedAt(COMPLETED_AT);
+        task.setPlannedEndDate(plannedEndDate);
+        return task;
+    }
+}
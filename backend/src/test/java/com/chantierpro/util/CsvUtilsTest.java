@@ -0,0 +1,43 @@
+package com.chantierpro.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CsvUtilsTest {
+
+    @Test
+    public void testQuotedLineBreaksSurviveARoundTrip() throws IOException {
+        String description = "First line\nSecond, with \"quotes\"\n";
+        String csv = "id,description,amount\r\n"
+                + "1," + CsvUtils.escape(description) + ",10\r\n"
+                + "2,plain,20\r\n";
+        BufferedReader reader = new BufferedReader(new StringReader(csv));
+
+        assertEquals(List.of("id", "description", "amount"), CsvUtils.parseLine(CsvUtils.readRecord(reader)));
+        assertEquals(List.of("1", description, "10"), CsvUtils.parseLine(CsvUtils.readRecord(reader)));
+        assertEquals(List.of("2", "plain", "20"), CsvUtils.parseLine(CsvUtils.readRecord(reader)));
+        assertNull(CsvUtils.readRecord(reader));
+    }
+
+    @Test
+    public void testEscapedQuotesDoNotOpenAValue() throws IOException {
+        BufferedReader reader = new BufferedReader(new StringReader("\"say \"\"hi\"\"\",2\n3,4\n"));
+
+        assertEquals(List.of("say \"hi\"", "2"), CsvUtils.parseLine(CsvUtils.readRecord(reader)));
+        assertEquals(List.of("3", "4"), CsvUtils.parseLine(CsvUtils.readRecord(reader)));
+    }
+
+    @Test
+    public void testUnterminatedQuoteReadsToTheEnd() throws IOException {
+        BufferedReader reader = new BufferedReader(new StringReader("1,\"open\n2,x\n"));
+
+        assertEquals("1,\"open\n2,x", CsvUtils.readRecord(reader));
+        assertNull(CsvUtils.readRecord(reader));
+    }
+}